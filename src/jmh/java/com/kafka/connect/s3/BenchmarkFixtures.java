@@ -0,0 +1,104 @@
+package com.kafka.connect.s3;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates deterministic fixture data for benchmarks
+ */
+public final class BenchmarkFixtures {
+    private static final String[] EVENT_TYPES = {"view", "click", "purchase", "refund"};
+    private static final String[] REGIONS = {"eu", "us", "apac"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Minimal connector configuration for the given file format
+     */
+    public static Map<String, String> config(String fileFormat) {
+        Map<String, String> props = new HashMap<>();
+        props.put(S3SourceConnectorConfig.S3_BUCKET_NAME_CONFIG, "benchmark-bucket");
+        props.put(S3SourceConnectorConfig.TOPIC_CONFIG, "benchmark-topic");
+        props.put(S3SourceConnectorConfig.AWS_ACCESS_KEY_ID_CONFIG, "benchmark");
+        props.put(S3SourceConnectorConfig.AWS_SECRET_ACCESS_KEY_CONFIG, "benchmark");
+        props.put(S3SourceConnectorConfig.FILE_FORMAT_CONFIG, fileFormat);
+        return props;
+    }
+
+    /**
+     * Build an object of {@code records} records in one of: jsonl, json-array, csv, text
+     */
+    public static byte[] content(String layout, int records) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(records * 128);
+
+        switch (layout) {
+            case "jsonl":
+                for (int i = 0; i < records; i++) {
+                    appendJson(sb, i, random);
+                    sb.append('\n');
+                }
+                break;
+            case "json-array":
+                sb.append('[');
+                for (int i = 0; i < records; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendJson(sb, i, random);
+                }
+                sb.append(']');
+                break;
+            case "csv":
+                sb.append("id,user_id,event_type,region,amount,timestamp\n");
+                for (int i = 0; i < records; i++) {
+                    sb.append(i).append(',')
+                            .append("user-").append(random.nextInt(100000)).append(',')
+                            .append(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]).append(',')
+                            .append(REGIONS[random.nextInt(REGIONS.length)]).append(',')
+                            .append(random.nextInt(100000) / 100.0).append(',')
+                            .append(1700000000000L + i).append('\n');
+                }
+                break;
+            case "text":
+                for (int i = 0; i < records; i++) {
+                    sb.append("2026-10-16T13:00:00Z host-").append(random.nextInt(64))
+                            .append(" app[").append(random.nextInt(32768)).append("]: request ")
+                            .append(i).append(" completed in ").append(random.nextInt(1000)).append(" ms\n");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown fixture layout: " + layout);
+        }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A parsed record as produced by FileFormatParser for the jsonl layout
+     */
+    public static Map<String, Object> record(int id) {
+        Random random = new Random(id);
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", id);
+        record.put("user_id", "user-" + random.nextInt(100000));
+        record.put("event_type", EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]);
+        record.put("region", REGIONS[random.nextInt(REGIONS.length)]);
+        record.put("amount", random.nextInt(100000) / 100.0);
+        record.put("timestamp", 1700000000000L + id);
+        return record;
+    }
+
+    private static void appendJson(StringBuilder sb, int id, Random random) {
+        sb.append("{\"id\":").append(id)
+                .append(",\"user_id\":\"user-").append(random.nextInt(100000)).append('"')
+                .append(",\"event_type\":\"").append(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]).append('"')
+                .append(",\"region\":\"").append(REGIONS[random.nextInt(REGIONS.length)]).append('"')
+                .append(",\"amount\":").append(random.nextInt(100000) / 100.0)
+                .append(",\"timestamp\":").append(1700000000000L + id)
+                .append('}');
+    }
+}
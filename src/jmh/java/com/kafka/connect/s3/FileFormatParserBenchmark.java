@@ -0,0 +1,65 @@
+package com.kafka.connect.s3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of FileFormatParser.parse per format and object size
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileFormatParserBenchmark {
+
+    @Param({"jsonl", "json-array", "csv", "text"})
+    public String layout;
+
+    @Param({"100", "10000", "100000"})
+    public int records;
+
+    @Param({"1"})
+    public int parallelism;
+
+    private FileFormatParser parser;
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String format = layout.startsWith("json") ? "json" : layout;
+        Map<String, String> props = BenchmarkFixtures.config(format);
+        props.put(S3SourceConnectorConfig.JSON_ARRAY_MODE_CONFIG, String.valueOf("json-array".equals(layout)));
+        props.put(S3SourceConnectorConfig.PARSE_PARALLELISM_CONFIG, String.valueOf(parallelism));
+        props.put(S3SourceConnectorConfig.PARSE_PARALLEL_MIN_BYTES_CONFIG, "0");
+
+        parser = new FileFormatParser(new S3SourceConnectorConfig(props));
+        content = BenchmarkFixtures.content(layout, records);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parser.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parse() {
+        return parser.parse(content, "benchmark/object");
+    }
+}
@@ -0,0 +1,77 @@
+package com.kafka.connect.s3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of filtering one 1000-key list page with simple and complex rules
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectFilterBenchmark {
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"simple", "complex"})
+    public String rules;
+
+    private ObjectFilter filter;
+    private List<S3Object> page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, String> props = BenchmarkFixtures.config("json");
+        props.put(S3SourceConnectorConfig.FILTER_BY_LAST_MODIFIED_CONFIG, "true");
+        props.put(S3SourceConnectorConfig.LAST_MODIFIED_AFTER_CONFIG, "2026-10-01T00:00:00Z");
+        props.put(S3SourceConnectorConfig.LAST_MODIFIED_BEFORE_CONFIG, "2026-11-01T00:00:00Z");
+        props.put(S3SourceConnectorConfig.MIN_OBJECT_SIZE_CONFIG, "1");
+        if ("simple".equals(rules)) {
+            props.put(S3SourceConnectorConfig.S3_SUFFIX_CONFIG, ".json");
+        } else {
+            props.put(S3SourceConnectorConfig.S3_SUFFIX_CONFIG, ".json,.json.gz,.jsonl");
+            props.put(S3SourceConnectorConfig.S3_KEY_INCLUDE_CONFIG, "events/dt=*/hour=1?/**,regex:.*/region=(eu|us)/.*");
+            props.put(S3SourceConnectorConfig.S3_KEY_EXCLUDE_CONFIG,
+                    "events/_SUCCESS,events/tmp/**,**/_temporary/**,regex:.*-compacted\\..*");
+        }
+        filter = ObjectFilter.compile(new S3SourceConnectorConfig(props));
+
+        String[] regions = {"eu", "us", "apac"};
+        String[] extensions = {".json", ".json.gz", ".csv"};
+        Instant base = Instant.parse("2026-10-16T00:00:00Z");
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String key = String.format("events/dt=2026-10-%02d/hour=%02d/region=%s/part-%05d%s",
+                    i % 28 + 1, i % 24, regions[i % regions.length], i, extensions[i % extensions.length]);
+            page.add(S3Object.builder()
+                    .key(key)
+                    .size(1024L + i)
+                    .lastModified(base.plusSeconds(i * 60L))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<S3Object> filterPage() {
+        return filter.filter(page);
+    }
+}
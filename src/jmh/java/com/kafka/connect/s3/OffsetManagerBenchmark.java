@@ -0,0 +1,55 @@
+package com.kafka.connect.s3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the OffsetManager lookups done per object and per record
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffsetManagerBenchmark {
+    private static final String OBJECT_KEY = "events/dt=2026-10-16/hour=13/part-00000.json";
+    private static final long LAST_MODIFIED = 1700000000000L;
+    private static final String ETAG = "\"9b2cf535f27731c974343645a3985328\"";
+
+    private OffsetManager offsetManager;
+    private Map<String, Object> storedOffset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        offsetManager = new OffsetManager(S3SourceConnectorConfig.OFFSET_STORAGE_KEY_DEFAULT);
+        storedOffset = offsetManager.createOffset(OBJECT_KEY, LAST_MODIFIED, ETAG);
+    }
+
+    @Benchmark
+    public Map<String, String> getSourcePartition() {
+        return offsetManager.getSourcePartition(OBJECT_KEY);
+    }
+
+    @Benchmark
+    public Map<String, Object> createOffset() {
+        return offsetManager.createOffset(OBJECT_KEY, LAST_MODIFIED, ETAG);
+    }
+
+    @Benchmark
+    public boolean isProcessed() {
+        return offsetManager.isProcessed(storedOffset, OBJECT_KEY, LAST_MODIFIED, ETAG);
+    }
+}
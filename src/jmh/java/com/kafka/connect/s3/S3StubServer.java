@@ -0,0 +1,339 @@
+package com.kafka.connect.s3;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process S3-compatible HTTP stub for load testing.
+ * Implements path-style ListObjectsV2 (including delimiter/CommonPrefixes), GetObject (including If-None-Match,
+ * If-Modified-Since and open-ended ranges), HeadObject, DeleteObject, CopyObject (including
+ * x-amz-copy-source-if-match) and object tagging for a single bucket, with configurable
+ * response latency and SlowDown (503) injection.
+ */
+public class S3StubServer implements AutoCloseable {
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final String bucket;
+    private final long latencyMs;
+    private final double throttleRate;
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public S3StubServer(String bucket, long latencyMs, double throttleRate, int threads) throws IOException {
+        this.bucket = bucket;
+        this.latencyMs = latencyMs;
+        this.throttleRate = throttleRate;
+        // Without TCP_NODELAY small responses stall on delayed ACKs (~40 ms each)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void putObject(String key, byte[] content, Instant lastModified) {
+        objects.put(key, new StoredObject(content, md5Hex(content), lastModified));
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public long bytesServed() {
+        return bytesServed.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate) {
+                throttled.incrementAndGet();
+                sendError(exchange, 503, "SlowDown", "Please reduce your request rate.");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getRawPath();
+            String bucketPath = "/" + bucket;
+            if (!path.startsWith(bucketPath)) {
+                sendError(exchange, 404, "NoSuchBucket", "The specified bucket does not exist");
+                return;
+            }
+
+            String key = path.length() > bucketPath.length() + 1
+                    ? URLDecoder.decode(path.substring(bucketPath.length() + 1), StandardCharsets.UTF_8)
+                    : "";
+            String method = exchange.getRequestMethod();
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (key.isEmpty() && "GET".equals(method)) {
+                listObjects(exchange, query);
+            } else if (query.containsKey("tagging")) {
+                tagging(exchange, key, method);
+            } else if ("DELETE".equals(method)) {
+                objects.remove(key);
+                // The JDK server closes kept-alive connections after a 204, so answer 200 like some S3 clones do
+                send(exchange, 200, "application/xml", new byte[0], false);
+            } else if ("PUT".equals(method) && exchange.getRequestHeaders().containsKey("x-amz-copy-source")) {
+                copyObject(exchange, key);
+            } else if ("GET".equals(method) || "HEAD".equals(method)) {
+                getObject(exchange, key, "HEAD".equals(method));
+            } else {
+                sendError(exchange, 405, "MethodNotAllowed", "The specified method is not allowed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.get("delimiter");
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        String startAfter = query.getOrDefault("continuation-token", query.get("start-after"));
+
+        // A token ending in the delimiter is a common prefix already returned
+        String key = startAfter == null || startAfter.compareTo(prefix) < 0
+                ? objects.ceilingKey(prefix)
+                : delimiter != null && startAfter.endsWith(delimiter)
+                        ? objects.ceilingKey(startAfter + Character.MAX_VALUE)
+                        : objects.higherKey(startAfter);
+
+        StringBuilder contents = new StringBuilder();
+        int count = 0;
+        String lastKey = null;
+        boolean truncated = false;
+        while (key != null && key.startsWith(prefix)) {
+            if (count == maxKeys) {
+                truncated = true;
+                break;
+            }
+
+            int split = delimiter != null ? key.indexOf(delimiter, prefix.length()) : -1;
+            if (split >= 0) {
+                String commonPrefix = key.substring(0, split + delimiter.length());
+                contents.append("<CommonPrefixes><Prefix>").append(escape(commonPrefix)).append("</Prefix></CommonPrefixes>");
+                lastKey = commonPrefix;
+                key = objects.ceilingKey(commonPrefix + Character.MAX_VALUE);
+            } else {
+                StoredObject object = objects.get(key);
+                contents.append("<Contents><Key>").append(escape(key)).append("</Key>")
+                        .append("<LastModified>").append(object.lastModified).append("</LastModified>")
+                        .append("<ETag>&quot;").append(object.etag).append("&quot;</ETag>")
+                        .append("<Size>").append(object.content.length).append("</Size>")
+                        .append("<StorageClass>STANDARD</StorageClass></Contents>");
+                lastKey = key;
+                key = objects.higherKey(key);
+            }
+            count++;
+        }
+
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(bucket).append("</Name>")
+                .append("<Prefix>").append(escape(prefix)).append("</Prefix>")
+                .append("<KeyCount>").append(count).append("</KeyCount>")
+                .append("<MaxKeys>").append(maxKeys).append("</MaxKeys>")
+                .append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (delimiter != null) {
+            xml.append("<Delimiter>").append(escape(delimiter)).append("</Delimiter>");
+        }
+        if (truncated) {
+            xml.append("<NextContinuationToken>").append(escape(lastKey)).append("</NextContinuationToken>");
+        }
+        xml.append(contents).append("</ListBucketResult>");
+
+        send(exchange, 200, "application/xml", xml.toString().getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private void getObject(HttpExchange exchange, String key, boolean headOnly) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            sendError(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+            return;
+        }
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        boolean notModified = ifNoneMatch != null
+                ? ifNoneMatch.equals("\"" + object.etag + "\"")
+                : ifModifiedSince != null && !object.lastModified.truncatedTo(ChronoUnit.SECONDS)
+                        .isAfter(Instant.from(HTTP_DATE.parse(ifModifiedSince)));
+
+        exchange.getResponseHeaders().add("ETag", "\"" + object.etag + "\"");
+        if (notModified) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        exchange.getResponseHeaders().add("Last-Modified", HTTP_DATE.format(object.lastModified));
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null && range.startsWith("bytes=") && range.endsWith("-")) {
+            int start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            if (start >= object.content.length) {
+                sendError(exchange, 416, "InvalidRange", "The requested range is not satisfiable.");
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Range",
+                    "bytes " + start + "-" + (object.content.length - 1) + "/" + object.content.length);
+            send(exchange, 206, "application/octet-stream",
+                    Arrays.copyOfRange(object.content, start, object.content.length), headOnly);
+            return;
+        }
+        send(exchange, 200, "application/octet-stream", object.content, headOnly);
+    }
+
+    private void copyObject(HttpExchange exchange, String key) throws IOException {
+        String source = URLDecoder.decode(exchange.getRequestHeaders().getFirst("x-amz-copy-source"), StandardCharsets.UTF_8);
+        String sourceKey = source.substring(source.indexOf('/', source.startsWith("/") ? 1 : 0) + 1);
+        StoredObject object = objects.get(sourceKey);
+        if (object == null) {
+            sendError(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+            return;
+        }
+        String ifMatch = exchange.getRequestHeaders().getFirst("x-amz-copy-source-if-match");
+        if (ifMatch != null && !ifMatch.replace("\"", "").equals(object.etag)) {
+            sendError(exchange, 412, "PreconditionFailed", "At least one of the pre-conditions you specified did not hold");
+            return;
+        }
+        objects.put(key, new StoredObject(object.content, object.etag, Instant.now()));
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><CopyObjectResult><LastModified>" + Instant.now()
+                + "</LastModified><ETag>&quot;" + object.etag + "&quot;</ETag></CopyObjectResult>";
+        send(exchange, 200, "application/xml", xml.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private void tagging(HttpExchange exchange, String key, String method) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            sendError(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+            return;
+        }
+        if ("PUT".equals(method)) {
+            object.tagging = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        String xml = object.tagging != null ? object.tagging
+                : "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Tagging><TagSet></TagSet></Tagging>";
+        send(exchange, 200, "application/xml", xml.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    /**
+     * Number of objects whose key starts with the prefix
+     */
+    public int countObjects(String prefix) {
+        return (int) objects.keySet().stream().filter(key -> key.startsWith(prefix)).count();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String code, String message) throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>"
+                + message + "</Message><RequestId>stub</RequestId></Error>";
+        send(exchange, status, "application/xml", xml.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body, boolean headOnly)
+            throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("x-amz-request-id", "stub");
+        if (headOnly) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        bytesServed.addAndGet(body.length);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String md5Hex(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static final class StoredObject {
+        final byte[] content;
+        final String etag;
+        final Instant lastModified;
+        volatile String tagging;
+
+        StoredObject(byte[] content, String etag, Instant lastModified) {
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of S3SourceTask.createSourceRecord
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SourceRecordBenchmark {
+    private static final String ETAG = "\"9b2cf535f27731c974343645a3985328\"";
+
+    @Param({"", "user_id"})
+    public String keyField;
+
+    private S3SourceTask task;
+    private Map<String, Object> record;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, String> props = BenchmarkFixtures.config("json");
+        props.put(S3SourceConnectorConfig.KEY_FIELD_CONFIG, keyField);
+        props.put("name", "source-record-benchmark");
+
+        task = new S3SourceTask();
+        task.start(props);
+        record = BenchmarkFixtures.record(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        task.stop();
+    }
+
+    @Benchmark
+    public SourceRecord createSourceRecord() {
+        return task.createSourceRecord(record, "benchmark/object.json", 1700000000000L, ETAG);
+    }
+}
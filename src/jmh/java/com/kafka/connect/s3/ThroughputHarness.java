@@ -0,0 +1,217 @@
+package com.kafka.connect.s3;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: runs S3SourceTask against an in-process S3 stub and
+ * reports records/s, MB/s, p99 poll latency and heap high-water mark.
+ * <p>
+ * Usage: {@code mvn -P benchmarks compile exec:exec@harness -Dharness.args="objects=500 objectSize=1048576"}
+ * <p>
+ * Harness options: {@code objects}, {@code objectSize} (bytes), {@code layout} (jsonl, json-array, csv, text),
+ * {@code latencyMs}, {@code throttleRate} (0..1), {@code durationSec}, {@code stubThreads},
+ * {@code partitioned} (spread keys over {@code dt=}/{@code region=} prefixes).
+ * Any other {@code key=value} pair is passed to the task as connector configuration.
+ */
+public class ThroughputHarness {
+    private static final String BUCKET = "harness-bucket";
+    private static final String[] REGIONS = {"eu", "us", "ap"};
+
+    public static void main(String[] args) throws Exception {
+        // Logback defaults to DEBUG without a configuration file
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        Map<String, String> options = new HashMap<>();
+        options.put("objects", "200");
+        options.put("objectSize", "262144");
+        options.put("layout", "jsonl");
+        options.put("latencyMs", "5");
+        options.put("throttleRate", "0");
+        options.put("durationSec", "30");
+        options.put("stubThreads", "32");
+        options.put("partitioned", "false");
+
+        Map<String, String> overrides = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            if (options.containsKey(key)) {
+                options.put(key, value);
+            } else {
+                overrides.put(key, value);
+            }
+        }
+
+        int objectCount = Integer.parseInt(options.get("objects"));
+        int objectSize = Integer.parseInt(options.get("objectSize"));
+        String layout = options.get("layout");
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("durationSec")));
+
+        try (S3StubServer stub = new S3StubServer(BUCKET, Long.parseLong(options.get("latencyMs")),
+                Double.parseDouble(options.get("throttleRate")), Integer.parseInt(options.get("stubThreads")))) {
+            populate(stub, objectCount, objectSize, layout, Boolean.parseBoolean(options.get("partitioned")));
+            stub.start();
+
+            Map<String, String> props = BenchmarkFixtures.config(layout.startsWith("json") ? "json" : layout);
+            props.put(S3SourceConnectorConfig.S3_BUCKET_NAME_CONFIG, BUCKET);
+            props.put(S3SourceConnectorConfig.S3_ENDPOINT_URL_CONFIG, stub.endpoint());
+            props.put(S3SourceConnectorConfig.S3_PATH_STYLE_ACCESS_CONFIG, "true");
+            props.put(S3SourceConnectorConfig.JSON_ARRAY_MODE_CONFIG, String.valueOf("json-array".equals(layout)));
+            props.put(S3SourceConnectorConfig.MAX_OBJECTS_PER_POLL_CONFIG, String.valueOf(Math.min(objectCount, 1000)));
+            props.put(S3SourceConnectorConfig.POLL_INTERVAL_MS_CONFIG, "100");
+            props.put(S3SourceConnectorConfig.RETRY_BACKOFF_MS_CONFIG, "50");
+            props.put(S3SourceConnectorConfig.RETRY_THROTTLE_BACKOFF_MS_CONFIG, "200");
+            props.put("name", "throughput-harness");
+            props.putAll(overrides);
+
+            run(stub, props, durationNanos);
+        }
+    }
+
+    private static void populate(S3StubServer stub, int objectCount, int objectSize, String layout,
+                                 boolean partitioned) {
+        int sampleRecords = 100;
+        int bytesPerRecord = Math.max(1, BenchmarkFixtures.content(layout, sampleRecords).length / sampleRecords);
+        byte[] content = BenchmarkFixtures.content(layout, Math.max(1, objectSize / bytesPerRecord));
+        String extension = layout.startsWith("json") ? "json" : layout.equals("csv") ? "csv" : "log";
+        Instant lastModified = Instant.now().minusSeconds(3600);
+
+        for (int i = 0; i < objectCount; i++) {
+            String directory = partitioned
+                    ? String.format("harness/dt=2026-10-%02d/region=%s/", i % 10 + 1, REGIONS[i % REGIONS.length])
+                    : "harness/";
+            stub.putObject(String.format("%spart-%06d.%s", directory, i, extension), content, lastModified);
+        }
+        System.out.printf("Stub populated with %d objects of %d bytes (%s)%n", objectCount, content.length, layout);
+    }
+
+    private static void run(S3StubServer stub, Map<String, String> props, long durationNanos) throws Exception {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans();
+        heapPools.removeIf(pool -> pool.getType() != MemoryType.HEAP);
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        HarnessContext context = new HarnessContext(props);
+        S3SourceTask task = new S3SourceTask();
+        task.initialize(context);
+        task.start(props);
+
+        long[] pollNanos = new long[1024];
+        int polls = 0;
+        long records = 0;
+        long start = System.nanoTime();
+        try {
+            while (System.nanoTime() - start < durationNanos) {
+                long pollStart = System.nanoTime();
+                List<SourceRecord> batch = task.poll();
+                long elapsed = System.nanoTime() - pollStart;
+
+                if (polls == pollNanos.length) {
+                    pollNanos = Arrays.copyOf(pollNanos, polls * 2);
+                }
+                pollNanos[polls++] = elapsed;
+
+                if (batch != null) {
+                    records += batch.size();
+                    for (SourceRecord record : batch) {
+                        context.commit(record);
+                        task.commitRecord(record, null);
+                    }
+                    // Stands in for the worker's periodic offset flush
+                    task.commit();
+                }
+            }
+        } finally {
+            task.stop();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] sorted = Arrays.copyOf(pollNanos, polls);
+        Arrays.sort(sorted);
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        System.out.println("---- Throughput harness results ----");
+        System.out.printf("Duration:            %.1f s%n", seconds);
+        System.out.printf("Polls:               %d%n", polls);
+        System.out.printf("Records:             %d (%.0f records/s)%n", records, records / seconds);
+        System.out.printf("S3 bytes served:     %d (%.2f MB/s)%n", stub.bytesServed(), stub.bytesServed() / seconds / (1024 * 1024));
+        System.out.printf("S3 requests:         %d (%d throttled)%n", stub.requests(), stub.throttled());
+        System.out.printf("Poll latency p50:    %.2f ms%n", percentile(sorted, 50) / 1e6);
+        System.out.printf("Poll latency p99:    %.2f ms%n", percentile(sorted, 99) / 1e6);
+        System.out.printf("Poll latency max:    %.2f ms%n", polls > 0 ? sorted[polls - 1] / 1e6 : 0.0);
+        System.out.printf("Heap high-water:     %.1f MB%n", heapPeak / (1024.0 * 1024.0));
+        System.out.printf("Objects left:        %d under %s, %d elsewhere%n", stub.countObjects("harness/"),
+                "harness/", stub.countObjects("") - stub.countObjects("harness/"));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Task context with an in-memory offset store, committed as records are "acked"
+     */
+    private static final class HarnessContext implements SourceTaskContext {
+        private final Map<String, String> configs;
+        private final Map<Map<String, ?>, Map<String, Object>> offsets = new ConcurrentHashMap<>();
+
+        HarnessContext(Map<String, String> configs) {
+            this.configs = configs;
+        }
+
+        @SuppressWarnings("unchecked")
+        void commit(SourceRecord record) {
+            if (record.sourcePartition() != null && record.sourceOffset() != null) {
+                offsets.put(new HashMap<>(record.sourcePartition()), new HashMap<>((Map<String, Object>) record.sourceOffset()));
+            }
+        }
+
+        @Override
+        public Map<String, String> configs() {
+            return configs;
+        }
+
+        @Override
+        public OffsetStorageReader offsetStorageReader() {
+            return new OffsetStorageReader() {
+                @Override
+                public <T> Map<String, Object> offset(Map<String, T> partition) {
+                    return offsets.get(partition);
+                }
+
+                @Override
+                public <T> Map<Map<String, T>, Map<String, Object>> offsets(Collection<Map<String, T>> partitions) {
+                    Map<Map<String, T>, Map<String, Object>> result = new HashMap<>();
+                    for (Map<String, T> partition : partitions) {
+                        result.put(partition, offset(partition));
+                    }
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD limit on the bytes returned from one {@code poll()}, driven by how quickly Kafka
+ * acknowledges them. A batch counts as acknowledged once as many records have been committed
+ * as were emitted up to and including it. The limit starts at the maximum, as polls were only
+ * capped by {@code batch.size} before the limit existed. Each batch acknowledged within the
+ * latency target grows the limit by the minimum; a batch still waiting past the target halves
+ * it, at most once per target interval. With a target of 0 the limit stays at the maximum.
+ * Acks arrive on producer callback threads, so all methods are thread-safe.
+ */
+public class AdaptiveBatchSizer {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBatchSizer.class);
+
+    static final double DECREASE_FACTOR = 0.5;
+
+    private final long minBytes;
+    private final long maxBytes;
+    private final long latencyTargetNanos;
+    private final S3SourceMetrics metrics;
+    private final Deque<Batch> outstanding = new ArrayDeque<>();
+    private long emittedRecords;
+    private long ackedRecords;
+    private long limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveBatchSizer(long minBytes, long maxBytes, long latencyTargetMs, S3SourceMetrics metrics) {
+        this.minBytes = Math.max(1, minBytes);
+        this.maxBytes = Math.max(this.minBytes, maxBytes);
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        this.metrics = metrics;
+        this.limit = this.maxBytes;
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    /**
+     * Bytes to return from the next poll; shrinks first when the oldest batch is overdue
+     */
+    public synchronized long nextLimitBytes() {
+        Batch oldest = outstanding.peek();
+        long now = System.nanoTime();
+        if (oldest != null && now - oldest.emitNanos > latencyTargetNanos) {
+            decrease(now);
+        }
+        return limit;
+    }
+
+    /**
+     * Record the records handed to the worker by one poll
+     */
+    public synchronized void emitted(int records) {
+        if (records == 0) {
+            return;
+        }
+        emittedRecords += records;
+        outstanding.add(new Batch(emittedRecords, System.nanoTime()));
+    }
+
+    /**
+     * Record one record acknowledged through {@code commitRecord}
+     */
+    public synchronized void acked() {
+        ackedRecords++;
+        long now = System.nanoTime();
+        while (!outstanding.isEmpty() && outstanding.peek().lastRecord <= ackedRecords) {
+            long latencyNanos = now - outstanding.poll().emitNanos;
+            metrics.recordAckLatency(latencyNanos);
+            if (latencyNanos > latencyTargetNanos) {
+                decrease(now);
+            } else if (limit < maxBytes) {
+                limit = Math.min(maxBytes, limit + minBytes);
+            }
+        }
+    }
+
+    public synchronized long getLimitBytes() {
+        return limit;
+    }
+
+    private void decrease(long now) {
+        if (latencyTargetNanos == 0 || now - lastDecreaseNanos < latencyTargetNanos) {
+            // Late batches from the same stall count once
+            return;
+        }
+        lastDecreaseNanos = now;
+        long previous = limit;
+        limit = Math.max(minBytes, (long) (limit * DECREASE_FACTOR));
+        log.debug("Kafka acknowledgements lagging, batch limit reduced from {} to {} bytes", previous, limit);
+    }
+
+    private static final class Batch {
+        // Cumulative count of emitted records up to and including this batch
+        final long lastRecord;
+        final long emitNanos;
+
+        Batch(long lastRecord, long emitNanos) {
+            this.lastRecord = lastRecord;
+            this.emitNanos = emitNanos;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD (additive-increase, multiplicative-decrease) limit on in-flight S3 requests.
+ * The limit starts at the initial value, grows by roughly one per window of healthy
+ * responses and is halved when S3 throttles, at most once per latency target interval.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final double DECREASE_FACTOR = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int initialLimit, int maxLimit, long latencyTargetMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    /**
+     * Block until the number of in-flight requests is below the current limit
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * Record a successful request; healthy latency grows the limit
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        if (latencyNanos <= latencyTargetNanos && limit < maxLimit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Record a throttling response; shrinks the limit multiplicatively
+     */
+    public synchronized void onThrottle() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < latencyTargetNanos) {
+            // Throttles from the same burst count once
+            return;
+        }
+        lastDecreaseNanos = now;
+        double previous = limit;
+        limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+        log.debug("S3 throttling detected, concurrency limit reduced from {} to {}", (int) previous, (int) limit);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
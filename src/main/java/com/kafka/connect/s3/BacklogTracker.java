@@ -0,0 +1,150 @@
+package com.kafka.connect.s3;
+
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Objects that were listed but not processed yet, per shard: their count, total size and
+ * oldest last modified time. A shard is a top-level sub-prefix of {@code s3.prefix}, or the
+ * prefix itself for the objects directly under it, as in {@link ShardMonitor}.
+ * Safe for concurrent use, since metrics read it from their own thread.
+ */
+public class BacklogTracker {
+    private final String root;
+    private final Map<String, S3Object> pending = new HashMap<>();
+    private final Map<String, PendingShard> shards = new TreeMap<>();
+
+    public BacklogTracker(S3SourceConnectorConfig config) {
+        this.root = config.getPrefix() == null ? "" : config.getPrefix();
+    }
+
+    /**
+     * Shard an object key belongs to
+     */
+    public String shardOf(String key) {
+        int start = key.startsWith(root) ? root.length() : 0;
+        int slash = key.indexOf('/', start);
+        return slash < 0 ? root : key.substring(0, slash + 1);
+    }
+
+    public synchronized void add(S3Object object) {
+        if (pending.put(object.key(), object) != null) {
+            return;
+        }
+        shards.computeIfAbsent(shardOf(object.key()), shard -> new PendingShard()).add(object);
+    }
+
+    /**
+     * Mark an object as processed; objects that are not pending are ignored
+     */
+    public synchronized void remove(S3Object object) {
+        S3Object removed = pending.remove(object.key());
+        if (removed == null) {
+            return;
+        }
+        String shard = shardOf(removed.key());
+        PendingShard pendingShard = shards.get(shard);
+        pendingShard.remove(removed);
+        if (pendingShard.objects == 0) {
+            shards.remove(shard);
+        }
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+        shards.clear();
+    }
+
+    /**
+     * Backlog of every shard with pending objects
+     */
+    public synchronized Map<String, Backlog> snapshot() {
+        Map<String, Backlog> result = new TreeMap<>();
+        for (Map.Entry<String, PendingShard> entry : shards.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toBacklog());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Backlog summed over all shards
+     */
+    public synchronized Backlog total() {
+        Backlog total = Backlog.EMPTY;
+        for (PendingShard shard : shards.values()) {
+            total = total.plus(shard.toBacklog());
+        }
+        return total;
+    }
+
+    /**
+     * Count, size and oldest last modified time of a set of pending objects
+     */
+    public static final class Backlog {
+        public static final Backlog EMPTY = new Backlog(0, 0, Long.MAX_VALUE);
+
+        private final long objects;
+        private final long bytes;
+        private final long oldestLastModified;
+
+        public Backlog(long objects, long bytes, long oldestLastModified) {
+            this.objects = objects;
+            this.bytes = bytes;
+            this.oldestLastModified = oldestLastModified;
+        }
+
+        public long getObjects() {
+            return objects;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Epoch millis of the oldest pending object, or {@link Long#MAX_VALUE} when nothing is pending
+         */
+        public long getOldestLastModified() {
+            return oldestLastModified;
+        }
+
+        /**
+         * How long the oldest pending object has been waiting since it was written, 0 when nothing is pending
+         */
+        public long lagMs(long nowMs) {
+            return objects == 0 ? 0 : Math.max(0, nowMs - oldestLastModified);
+        }
+
+        public Backlog plus(Backlog other) {
+            return new Backlog(objects + other.objects, bytes + other.bytes,
+                    Math.min(oldestLastModified, other.oldestLastModified));
+        }
+    }
+
+    private static final class PendingShard {
+        long objects;
+        long bytes;
+        // Last modified time to the number of pending objects with it, for the oldest after removals
+        final TreeMap<Long, Integer> lastModified = new TreeMap<>();
+
+        void add(S3Object object) {
+            objects++;
+            bytes += object.size();
+            lastModified.merge(object.lastModified().toEpochMilli(), 1, Integer::sum);
+        }
+
+        void remove(S3Object object) {
+            objects--;
+            bytes -= object.size();
+            lastModified.computeIfPresent(object.lastModified().toEpochMilli(), (time, count) -> count > 1 ? count - 1 : null);
+        }
+
+        Backlog toBacklog() {
+            return new Backlog(objects, bytes, lastModified.isEmpty() ? Long.MAX_VALUE : lastModified.firstKey());
+        }
+    }
+}
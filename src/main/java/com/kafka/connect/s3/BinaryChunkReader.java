@@ -0,0 +1,84 @@
+package com.kafka.connect.s3;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads an object as a sequence of fixed-size chunks straight from its content stream,
+ * so only the chunks handed out are held on the heap. The stream must start at the
+ * first chunk to be read, e.g. through a ranged GET when resuming.
+ */
+public class BinaryChunkReader implements AutoCloseable {
+    private final S3Object s3Object;
+    private final InputStream in;
+    private final int chunkSize;
+    private final int chunkCount;
+    private int nextChunk;
+
+    public BinaryChunkReader(S3Object s3Object, InputStream in, int chunkSize, int firstChunk) {
+        this.s3Object = s3Object;
+        this.in = in;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount(s3Object.size(), chunkSize);
+        this.nextChunk = firstChunk;
+    }
+
+    /**
+     * Number of chunks an object of this size is split into; an empty object is one empty chunk
+     */
+    public static int chunkCount(long size, int chunkSize) {
+        return (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+    }
+
+    public S3Object getObject() {
+        return s3Object;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public boolean hasNext() {
+        return nextChunk < chunkCount;
+    }
+
+    /**
+     * Index of the chunk the next call to {@link #next()} returns
+     */
+    public int nextIndex() {
+        return nextChunk;
+    }
+
+    public byte[] next() throws IOException {
+        long offset = (long) nextChunk * chunkSize;
+        byte[] chunk = new byte[(int) Math.min(chunkSize, s3Object.size() - offset)];
+        int read = 0;
+        while (read < chunk.length) {
+            int n = in.read(chunk, read, chunk.length - read);
+            if (n < 0) {
+                throw new EOFException("Object " + s3Object.key() + " ended at byte " + (offset + read)
+                        + " of " + s3Object.size());
+            }
+            read += n;
+        }
+        nextChunk++;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Abort rather than drain the rest of an unfinished download
+        if (hasNext() && in instanceof ResponseInputStream) {
+            ((ResponseInputStream<?>) in).abort();
+        }
+        in.close();
+    }
+}
@@ -1,36 +1,85 @@
 package com.kafka.connect.s3;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Parses different file formats from S3 objects
+ * Parses different file formats from S3 objects.
+ * Parsing works on {@link ByteBuffer} views, so memory-mapped objects are read
+ * line by line without being copied onto the heap as a whole.
+ * <p>
+ * With {@code parse.parallelism} above 1, large newline-delimited objects (JSON lines, CSV
+ * and text) are split into chunks that end on a line boundary. The chunks are parsed on a
+ * {@link ForkJoinPool} and their records joined back in file order.
+ * <p>
+ * A {@link RecordFilter} is applied while parsing JSON, CSV and text: JSON fields that are
+ * neither projected nor filtered are skipped token by token, CSV lines are only split as far
+ * as the last needed column, and records are checked before their map is allocated.
  */
-public class FileFormatParser {
+public class FileFormatParser implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(FileFormatParser.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+    // Chunks per parsing thread, so uneven chunks still keep every thread busy
+    private static final int CHUNKS_PER_THREAD = 4;
+    static final int MIN_CHUNK_BYTES = 1024 * 1024;
 
     private final S3SourceConnectorConfig config;
+    private final S3SourceMetrics metrics;
+    private final ForkJoinPool parsePool;
+    private final RecordFilter recordFilter;
 
     public FileFormatParser(S3SourceConnectorConfig config) {
+        this(config, S3SourceMetrics.unregistered());
+    }
+
+    public FileFormatParser(S3SourceConnectorConfig config, S3SourceMetrics metrics) {
         this.config = config;
+        this.metrics = metrics;
+        int parallelism = config.getParseParallelism();
+        this.parsePool = parallelism > 1 ? new ForkJoinPool(parallelism, parseThreadFactory(), null, false) : null;
+        this.recordFilter = RecordFilter.compile(config);
     }
 
     /**
      * Parse file content based on configured format
      */
     public List<Map<String, Object>> parse(byte[] content, String objectKey) {
+        return parse(ByteBuffer.wrap(content), objectKey);
+    }
+
+    /**
+     * Parse file content held in a buffer, e.g. a memory-mapped file.
+     * The buffer's position and limit are left untouched.
+     */
+    public List<Map<String, Object>> parse(ByteBuffer content, String objectKey) {
         String format = config.getFileFormat().toLowerCase();
+        long start = System.nanoTime();
+        try {
+            return parse(format, content.duplicate(), objectKey);
+        } finally {
+            metrics.recordParseTime(format, System.nanoTime() - start);
+        }
+    }
 
+    private List<Map<String, Object>> parse(String format, ByteBuffer content, String objectKey) {
         switch (format) {
             case "json":
                 return parseJson(content, objectKey);
@@ -42,46 +91,57 @@ public class FileFormatParser {
                 return parseAvro(content, objectKey);
             case "binary":
                 return parseBinary(content, objectKey);
+            case "framed":
+                throw new IllegalArgumentException("Framed objects are split with parseFrames, not parsed into records");
             default:
                 throw new IllegalArgumentException("Unsupported file format: " + format);
         }
     }
 
-    private List<Map<String, Object>> parseJson(byte[] content, String objectKey) {
+    private List<Map<String, Object>> parseJson(ByteBuffer content, String objectKey) {
         List<Map<String, Object>> records = new ArrayList<>();
-        String contentStr = new String(content, StandardCharsets.UTF_8);
 
         try {
             if (config.getJsonArrayMode()) {
-                // Parse as JSON array
-                JsonNode rootNode = objectMapper.readTree(contentStr);
-                if (rootNode.isArray()) {
-                    for (JsonNode node : rootNode) {
-                        Map<String, Object> record = objectMapper.convertValue(node, 
-                            new TypeReference<Map<String, Object>>() {});
-                        records.add(record);
+                // Stream the array element by element instead of building a tree of the whole file
+                try (JsonParser parser = objectMapper.getFactory()
+                        .createParser(new ByteBufferBackedInputStream(content))) {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            addJsonRecord(parser, records);
+                        }
+                        if (parser.currentToken() != JsonToken.END_ARRAY) {
+                            throw new IllegalStateException("Expected JSON objects in array but found "
+                                    + parser.currentToken());
+                        }
+                    } else if (token != null) {
+                        // Single object
+                        addJsonRecord(parser, records);
                     }
-                } else {
-                    // Single object
-                    Map<String, Object> record = objectMapper.convertValue(rootNode, 
-                        new TypeReference<Map<String, Object>>() {});
-                    records.add(record);
                 }
             } else {
                 // Each line is a JSON object (JSONL format)
-                String[] lines = contentStr.split("\n");
-                for (String line : lines) {
+                return parseLines(content, (line, chunkRecords) -> {
                     line = line.trim();
                     if (!line.isEmpty()) {
                         try {
-                            Map<String, Object> record = objectMapper.readValue(line, 
-                                new TypeReference<Map<String, Object>>() {});
-                            records.add(record);
+                            if (recordFilter == null) {
+                                chunkRecords.add(objectMapper.readValue(line, MAP_TYPE));
+                            } else {
+                                try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+                                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                                        throw new IllegalStateException("Expected a JSON object but found "
+                                                + parser.currentToken());
+                                    }
+                                    addJsonRecord(parser, chunkRecords);
+                                }
+                            }
                         } catch (Exception e) {
                             log.warn("Failed to parse JSON line in {}: {}", objectKey, line, e);
                         }
                     }
-                }
+                });
             }
         } catch (Exception e) {
             log.error("Failed to parse JSON from {}", objectKey, e);
@@ -91,30 +151,98 @@ public class FileFormatParser {
         return records;
     }
 
-    private List<Map<String, Object>> parseCsv(byte[] content, String objectKey) {
-        List<Map<String, Object>> records = new ArrayList<>();
+    /**
+     * Read the JSON object the parser is positioned on and add it unless it is filtered out
+     */
+    private void addJsonRecord(JsonParser parser, List<Map<String, Object>> records) throws IOException {
+        if (recordFilter == null) {
+            records.add(objectMapper.readValue(parser, MAP_TYPE));
+            return;
+        }
+        Map<String, Object> record = readFilteredJson(parser);
+        if (record != null) {
+            records.add(record);
+        }
+    }
+
+    /**
+     * Read the fields of one JSON object that the record filter needs, skipping the values of
+     * all others without building them. Returns null if the object does not match.
+     */
+    private Map<String, Object> readFilteredJson(JsonParser parser) throws IOException {
+        Map<String, Object> record = null;
+        int matched = 0;
+        boolean rejected = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (rejected || !recordFilter.reads(field)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            Object value = null;
+            boolean valueRead = false;
+            if (recordFilter.filters(field)) {
+                Object tested;
+                if (token.isScalarValue()) {
+                    tested = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                } else {
+                    value = objectMapper.readValue(parser, Object.class);
+                    valueRead = true;
+                    tested = value;
+                }
+                if (!recordFilter.test(field, tested)) {
+                    // Keep consuming tokens up to the end of the object, without reading values
+                    rejected = true;
+                    continue;
+                }
+                matched++;
+            }
+
+            if (recordFilter.keeps(field)) {
+                if (!valueRead) {
+                    value = objectMapper.readValue(parser, Object.class);
+                }
+                if (record == null) {
+                    record = new LinkedHashMap<>();
+                }
+                record.put(field, value);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (rejected || matched < recordFilter.getPredicateFields().size()) {
+            return null;
+        }
+        return record != null ? record : new LinkedHashMap<>();
+    }
+
+    private List<Map<String, Object>> parseCsv(ByteBuffer content, String objectKey) {
         String delimiter = config.getCsvDelimiter();
-        boolean hasHeader = config.getCsvHeader();
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
-            
-            String[] headers = null;
-            String line;
+        try {
+            // The header is the first non-empty line; the rest can be split freely
+            String[] headers = config.getCsvHeader() ? readCsvHeader(content, delimiter) : null;
+            CsvColumns columns = recordFilter != null ? new CsvColumns(recordFilter, headers) : null;
 
-            while ((line = reader.readLine()) != null) {
+            return parseLines(content, (line, records) -> {
                 line = line.trim();
                 if (line.isEmpty()) {
-                    continue;
+                    return;
                 }
 
-                String[] values = line.split(delimiter, -1);
-
-                if (hasHeader && headers == null) {
-                    headers = values;
-                    continue;
+                if (columns != null) {
+                    Map<String, Object> record = columns.toRecord(line, delimiter);
+                    if (record != null) {
+                        records.add(record);
+                    }
+                    return;
                 }
 
+                String[] values = line.split(delimiter, -1);
+
                 Map<String, Object> record = new HashMap<>();
                 if (headers != null) {
                     for (int i = 0; i < headers.length && i < values.length; i++) {
@@ -127,43 +255,429 @@ public class FileFormatParser {
                     }
                 }
                 records.add(record);
-            }
+            });
         } catch (Exception e) {
             log.error("Failed to parse CSV from {}", objectKey, e);
             throw new RuntimeException("CSV parsing failed", e);
         }
-
-        return records;
     }
 
-    private List<Map<String, Object>> parseText(byte[] content, String objectKey) {
-        List<Map<String, Object>> records = new ArrayList<>();
-        String contentStr = new String(content, StandardCharsets.UTF_8);
-        String[] lines = contentStr.split("\n");
+    /**
+     * Read the first non-empty line as the header and move the buffer past it.
+     * Returns null for a buffer without one.
+     */
+    private static String[] readCsvHeader(ByteBuffer content, String delimiter) {
+        int start = content.position();
+        int end = content.limit();
+        while (start < end) {
+            int lineEnd = lineEnd(content, start, end);
+            String line = decode(content, start, lineEnd).trim();
+            start = Math.min(lineEnd + 1, end);
+            if (!line.isEmpty()) {
+                content.position(start);
+                return line.split(delimiter, -1);
+            }
+        }
+        content.position(end);
+        return null;
+    }
 
-        for (String line : lines) {
+    private List<Map<String, Object>> parseText(ByteBuffer content, String objectKey) {
+        return parseLines(content, (line, records) -> {
             line = line.trim();
             if (!line.isEmpty()) {
+                if (recordFilter != null && !recordFilter.matchesSingleField("line", line)) {
+                    return;
+                }
                 Map<String, Object> record = new HashMap<>();
-                record.put("line", line);
+                if (recordFilter == null || recordFilter.keeps("line")) {
+                    record.put("line", line);
+                }
                 records.add(record);
             }
+        });
+    }
+
+    /**
+     * Parse each line of a buffer into zero or more records, in parallel chunks when the
+     * buffer is large enough and a parse pool is configured
+     */
+    private List<Map<String, Object>> parseLines(ByteBuffer content, LineParser lineParser) {
+        int size = content.remaining();
+        if (parsePool == null || size < config.getParseParallelMinBytes()) {
+            List<Map<String, Object>> records = new ArrayList<>();
+            forEachLine(content, line -> lineParser.parse(line, records));
+            return records;
+        }
+
+        int chunkCount = Math.max(1, Math.min(parsePool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+        List<ForkJoinTask<List<Map<String, Object>>>> chunks = new ArrayList<>(chunkCount);
+        int end = content.limit();
+        int chunkStart = content.position();
+        for (int i = 1; i <= chunkCount && chunkStart < end; i++) {
+            // Each chunk ends just after the first newline at or past its nominal end
+            int nominalEnd = i == chunkCount ? end : content.position() + (int) ((long) size * i / chunkCount);
+            int chunkEnd = nominalEnd >= end ? end : Math.min(lineEnd(content, Math.max(nominalEnd, chunkStart), end) + 1, end);
+            ByteBuffer chunk = content.duplicate();
+            chunk.position(chunkStart).limit(chunkEnd);
+            chunks.add(parsePool.submit(() -> {
+                List<Map<String, Object>> records = new ArrayList<>();
+                forEachLine(chunk, line -> lineParser.parse(line, records));
+                return records;
+            }));
+            chunkStart = chunkEnd;
         }
 
+        // Join in submission order, which is file order
+        List<List<Map<String, Object>>> results = new ArrayList<>(chunks.size());
+        int total = 0;
+        for (ForkJoinTask<List<Map<String, Object>>> chunk : chunks) {
+            List<Map<String, Object>> records = chunk.join();
+            results.add(records);
+            total += records.size();
+        }
+        List<Map<String, Object>> records = new ArrayList<>(total);
+        for (List<Map<String, Object>> chunkRecords : results) {
+            records.addAll(chunkRecords);
+        }
         return records;
     }
 
-    private List<Map<String, Object>> parseAvro(byte[] content, String objectKey) {
+    private List<Map<String, Object>> parseAvro(ByteBuffer content, String objectKey) {
         // Avro parsing would require additional dependencies
         // For now, return as binary
         log.warn("Avro parsing not fully implemented, treating as binary");
         return parseBinary(content, objectKey);
     }
 
-    private List<Map<String, Object>> parseBinary(byte[] content, String objectKey) {
+    private List<Map<String, Object>> parseBinary(ByteBuffer content, String objectKey) {
+        int size = content.remaining();
         Map<String, Object> record = new HashMap<>();
-        record.put("data", Base64.getEncoder().encodeToString(content));
-        record.put("size", content.length);
+        record.put("data", StandardCharsets.ISO_8859_1.decode(Base64.getEncoder().encode(content)).toString());
+        record.put("size", size);
         return Collections.singletonList(record);
     }
+
+    /**
+     * Split a length-prefixed object into frames. Each frame is copied out as raw bytes
+     * without being decoded; only with {@code framed.key.protobuf.field} set is it scanned
+     * as a Protobuf message to find its key. The buffer's position and limit are left untouched.
+     */
+    public List<Frame> parseFrames(ByteBuffer content, String objectKey) {
+        long start = System.nanoTime();
+        try {
+            return readFrames(content.duplicate(), objectKey);
+        } catch (Exception e) {
+            log.error("Failed to split frames of {}", objectKey, e);
+            throw new RuntimeException("Framed parsing failed", e);
+        } finally {
+            metrics.recordParseTime("framed", System.nanoTime() - start);
+        }
+    }
+
+    private List<Frame> readFrames(ByteBuffer content, String objectKey) {
+        content.order("little".equals(config.getFramedByteOrder()) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        String encoding = config.getFramedLengthEncoding();
+        int headerBytes = config.getFramedHeaderBytes();
+        int keyField = config.getFramedKeyProtobufField();
+
+        List<Frame> frames = new ArrayList<>();
+        while (content.hasRemaining()) {
+            int frameStart = content.position();
+            content.position(Math.min(frameStart + headerBytes, content.limit()));
+            long length = readLength(content, encoding);
+            if (length < 0 || length > content.remaining()) {
+                throw new IllegalStateException("Frame at byte " + frameStart + " of " + objectKey + " declares "
+                        + length + " bytes but only " + content.remaining() + " remain");
+            }
+            byte[] value = new byte[(int) length];
+            content.get(value);
+            frames.add(new Frame(value, keyField > 0 ? protobufField(value, keyField) : null));
+        }
+        return frames;
+    }
+
+    private static long readLength(ByteBuffer content, String encoding) {
+        switch (encoding) {
+            case "varint":
+                return readVarint(content);
+            case "fixed16":
+                return Short.toUnsignedInt(content.getShort());
+            case "fixed32":
+                return Integer.toUnsignedLong(content.getInt());
+            case "fixed64":
+                return content.getLong();
+            default:
+                throw new IllegalArgumentException("Unsupported length encoding: " + encoding);
+        }
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Value of a top-level field of a Protobuf message as a string, or null if the message
+     * does not have it or cannot be read. The last occurrence wins, as in Protobuf.
+     */
+    static String protobufField(byte[] message, int fieldNumber) {
+        ByteBuffer buffer = ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN);
+        String value = null;
+        try {
+            while (buffer.hasRemaining()) {
+                long tag = readVarint(buffer);
+                boolean match = (tag >>> 3) == fieldNumber;
+                switch ((int) (tag & 0x7)) {
+                    case 0:
+                        long varint = readVarint(buffer);
+                        value = match ? Long.toString(varint) : value;
+                        break;
+                    case 1:
+                        long fixed64 = buffer.getLong();
+                        value = match ? Long.toString(fixed64) : value;
+                        break;
+                    case 2:
+                        long length = readVarint(buffer);
+                        if (length < 0 || length > buffer.remaining()) {
+                            return null;
+                        }
+                        if (match) {
+                            value = new String(message, buffer.position(), (int) length, StandardCharsets.UTF_8);
+                        }
+                        buffer.position(buffer.position() + (int) length);
+                        break;
+                    case 5:
+                        int fixed32 = buffer.getInt();
+                        value = match ? Integer.toString(fixed32) : value;
+                        break;
+                    default:
+                        // Groups are deprecated and not supported
+                        return value;
+                }
+            }
+        } catch (BufferUnderflowException | IllegalStateException e) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Index of the next '\n' at or after {@code from}, or {@code end} if there is none
+     */
+    private static int lineEnd(ByteBuffer content, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (content.get(i) == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static String decode(ByteBuffer content, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        ByteBuffer slice = content.duplicate();
+        slice.position(start).limit(end);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Split a buffer on '\n' and decode each line as UTF-8, without the '\r' of CRLF line ends.
+     * Only one line at a time is materialized on the heap.
+     */
+    static void forEachLine(ByteBuffer content, Consumer<String> consumer) {
+        int start = content.position();
+        int end = content.limit();
+        byte[] scratch = content.hasArray() ? null : new byte[256];
+
+        for (int i = start; i <= end; i++) {
+            if (i < end && content.get(i) != '\n') {
+                continue;
+            }
+            if (i == end && start == end) {
+                break;
+            }
+
+            int length = i - start;
+            if (length > 0 && content.get(i - 1) == '\r') {
+                length--;
+            }
+            if (content.hasArray()) {
+                consumer.accept(new String(content.array(), content.arrayOffset() + start, length, StandardCharsets.UTF_8));
+            } else {
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                ByteBuffer slice = content.duplicate();
+                slice.position(start).limit(start + length);
+                slice.get(scratch, 0, length);
+                consumer.accept(new String(scratch, 0, length, StandardCharsets.UTF_8));
+            }
+            start = i + 1;
+        }
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory parseThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("s3-parse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        if (parsePool != null) {
+            parsePool.shutdownNow();
+        }
+    }
+
+    /**
+     * Column positions a {@link RecordFilter} needs from CSV lines, resolved once per object
+     * from the header, or from {@code column_<n>} names when there is none
+     */
+    private static final class CsvColumns {
+        private final RecordFilter filter;
+        private final String[] headers;
+        private final String[] predicateFields;
+        private final int[] predicateIndexes;
+        // Names of kept columns by index, null entries for skipped ones; null when all are kept
+        private final String[] keptNames;
+        private final int splitLimit;
+
+        CsvColumns(RecordFilter filter, String[] headers) {
+            this.filter = filter;
+            this.headers = headers;
+
+            List<String> filtered = filter.getPredicateFields();
+            predicateFields = filtered.toArray(new String[0]);
+            predicateIndexes = new int[predicateFields.length];
+            int lastNeeded = -1;
+            for (int i = 0; i < predicateFields.length; i++) {
+                predicateIndexes[i] = columnIndex(predicateFields[i], headers);
+                lastNeeded = Math.max(lastNeeded, predicateIndexes[i]);
+            }
+
+            if (filter.keepsAllFields()) {
+                keptNames = null;
+                splitLimit = -1;
+                return;
+            }
+            Map<Integer, String> kept = new HashMap<>();
+            if (headers != null) {
+                for (int i = 0; i < headers.length; i++) {
+                    if (filter.keeps(headers[i].trim())) {
+                        kept.put(i, headers[i].trim());
+                    }
+                }
+            } else {
+                for (String field : filter.getFields()) {
+                    int index = columnIndex(field, null);
+                    if (index >= 0) {
+                        kept.put(index, field);
+                    }
+                }
+            }
+            for (int index : kept.keySet()) {
+                lastNeeded = Math.max(lastNeeded, index);
+            }
+            keptNames = new String[lastNeeded + 1];
+            for (Map.Entry<Integer, String> entry : kept.entrySet()) {
+                keptNames[entry.getKey()] = entry.getValue();
+            }
+            // Columns after the last needed one stay unsplit in the final element
+            splitLimit = lastNeeded + 2;
+        }
+
+        private static int columnIndex(String name, String[] headers) {
+            if (headers != null) {
+                for (int i = 0; i < headers.length; i++) {
+                    if (headers[i].trim().equals(name)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            if (name.startsWith("column_")) {
+                try {
+                    return Integer.parseInt(name.substring("column_".length()));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Filter and project one non-empty line; returns null if it does not match
+         */
+        Map<String, Object> toRecord(String line, String delimiter) {
+            String[] values = line.split(delimiter, splitLimit);
+            for (int i = 0; i < predicateIndexes.length; i++) {
+                int index = predicateIndexes[i];
+                if (index < 0 || index >= values.length || !filter.test(predicateFields[i], values[index].trim())) {
+                    return null;
+                }
+            }
+
+            Map<String, Object> record = new HashMap<>();
+            if (keptNames != null) {
+                for (int i = 0; i < keptNames.length && i < values.length; i++) {
+                    if (keptNames[i] != null) {
+                        record.put(keptNames[i], values[i].trim());
+                    }
+                }
+            } else if (headers != null) {
+                for (int i = 0; i < headers.length && i < values.length; i++) {
+                    record.put(headers[i].trim(), values[i].trim());
+                }
+            } else {
+                for (int i = 0; i < values.length; i++) {
+                    record.put("column_" + i, values[i].trim());
+                }
+            }
+            return record;
+        }
+    }
+
+    /**
+     * One record of a framed object: its raw bytes and, if configured, the key found in them
+     */
+    public static final class Frame {
+        private final byte[] value;
+        private final String key;
+
+        public Frame(byte[] value, String key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+
+        /**
+         * Key read from the frame, or null
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Turns one line into zero or more records; called concurrently for different chunks
+     */
+    private interface LineParser {
+        void parse(String line, List<Map<String, Object>> records);
+    }
 }
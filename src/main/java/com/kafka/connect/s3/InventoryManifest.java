@@ -0,0 +1,159 @@
+package com.kafka.connect.s3;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.config.ConfigException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An S3 Inventory report: the {@code manifest.json} and the inventory files it lists.
+ * The manifest is read from {@code s3://bucket/key} or from a local path. Inventory files
+ * of an S3 manifest are read from its destination bucket; those of a local manifest are
+ * looked up by file name in the manifest's directory.
+ */
+public class InventoryManifest {
+    private static final Logger log = LoggerFactory.getLogger(InventoryManifest.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String S3_SCHEME = "s3://";
+    private static final String BUCKET_ARN_PREFIX = "arn:aws:s3:::";
+
+    private final String sourceBucket;
+    private final String destinationBucket;
+    private final Path localDirectory;
+    private final List<String> columns;
+    private final List<InventoryFile> files;
+    private final Instant creationTime;
+
+    private InventoryManifest(String sourceBucket, String destinationBucket, Path localDirectory,
+                              List<String> columns, List<InventoryFile> files, Instant creationTime) {
+        this.sourceBucket = sourceBucket;
+        this.destinationBucket = destinationBucket;
+        this.localDirectory = localDirectory;
+        this.columns = columns;
+        this.files = files;
+        this.creationTime = creationTime;
+    }
+
+    /**
+     * Load and validate the manifest at a location given as {@code s3://bucket/key} or a local path
+     */
+    public static InventoryManifest load(String location, S3ClientWrapper s3Client) throws IOException {
+        String destinationBucket = null;
+        Path localDirectory = null;
+        byte[] content;
+        if (location.startsWith(S3_SCHEME)) {
+            String path = location.substring(S3_SCHEME.length());
+            int slash = path.indexOf('/');
+            if (slash <= 0) {
+                throw new ConfigException(S3SourceConnectorConfig.INVENTORY_MANIFEST_CONFIG, location,
+                        "Expected s3://bucket/key");
+            }
+            content = s3Client.getObjectContent(path.substring(0, slash), path.substring(slash + 1));
+        } else {
+            Path manifestPath = Paths.get(location);
+            localDirectory = manifestPath.toAbsolutePath().getParent();
+            content = Files.readAllBytes(manifestPath);
+        }
+
+        JsonNode manifest = objectMapper.readTree(content);
+        String fileFormat = manifest.path("fileFormat").asText();
+        if (!"CSV".equalsIgnoreCase(fileFormat)) {
+            throw new ConfigException(S3SourceConnectorConfig.INVENTORY_MANIFEST_CONFIG, location,
+                    "Inventory format " + fileFormat + " is not supported; configure the inventory report as CSV");
+        }
+
+        if (localDirectory == null) {
+            destinationBucket = manifest.path("destinationBucket").asText();
+            if (destinationBucket.startsWith(BUCKET_ARN_PREFIX)) {
+                destinationBucket = destinationBucket.substring(BUCKET_ARN_PREFIX.length());
+            }
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (String column : manifest.path("fileSchema").asText().split(",")) {
+            columns.add(column.trim());
+        }
+        if (!columns.contains("Key")) {
+            throw new ConfigException(S3SourceConnectorConfig.INVENTORY_MANIFEST_CONFIG, location,
+                    "Inventory schema has no Key column: " + columns);
+        }
+
+        List<InventoryFile> files = new ArrayList<>();
+        for (JsonNode file : manifest.path("files")) {
+            files.add(new InventoryFile(file.path("key").asText(), file.path("size").asLong()));
+        }
+
+        Instant creationTime = Instant.ofEpochMilli(manifest.path("creationTimestamp").asLong());
+        InventoryManifest result = new InventoryManifest(manifest.path("sourceBucket").asText(), destinationBucket,
+                localDirectory, Collections.unmodifiableList(columns), Collections.unmodifiableList(files), creationTime);
+        log.info("Loaded inventory of bucket {} taken at {}: {} files, columns {}", result.sourceBucket,
+                creationTime, files.size(), columns);
+        return result;
+    }
+
+    /**
+     * Raw, usually gzip-compressed, content of one inventory file
+     */
+    public byte[] readFile(InventoryFile file, S3ClientWrapper s3Client) throws IOException {
+        if (localDirectory != null) {
+            return Files.readAllBytes(localDirectory.resolve(Paths.get(file.getKey()).getFileName()));
+        }
+        return s3Client.getObjectContent(destinationBucket, file.getKey());
+    }
+
+    public String getSourceBucket() {
+        return sourceBucket;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<InventoryFile> getFiles() {
+        return files;
+    }
+
+    /**
+     * Time the inventory was taken; objects modified later may be missing from it
+     */
+    public Instant getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * One inventory file listed in the manifest
+     */
+    public static final class InventoryFile {
+        private final String key;
+        private final long size;
+
+        public InventoryFile(String key, long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
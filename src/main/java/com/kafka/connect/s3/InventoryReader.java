@@ -0,0 +1,215 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the objects of a bucket from the CSV files of an S3 Inventory report instead of
+ * listing them. Rows go through the same prefix, partition and object filters as listed
+ * objects; delete markers and noncurrent versions are skipped.
+ */
+public class InventoryReader implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(InventoryReader.class);
+
+    private final InventoryManifest manifest;
+    private final S3ClientWrapper s3Client;
+    private final ObjectFilter objectFilter;
+    private final PartitionFilter partitionFilter;
+    private final String prefix;
+    private final int batchSize;
+    private final Deque<InventoryManifest.InventoryFile> pendingFiles = new ArrayDeque<>();
+
+    private final int keyColumn;
+    private final int sizeColumn;
+    private final int lastModifiedColumn;
+    private final int etagColumn;
+    private final int isLatestColumn;
+    private final int isDeleteMarkerColumn;
+
+    private BufferedReader currentFile;
+    private long rowsRead = 0;
+    private long objectsAccepted = 0;
+
+    /**
+     * @param assignedFiles keys of the inventory files this task reads, or null for all of them
+     */
+    public InventoryReader(InventoryManifest manifest, Collection<String> assignedFiles,
+                           S3ClientWrapper s3Client, S3SourceConnectorConfig config) {
+        this.manifest = manifest;
+        this.s3Client = s3Client;
+        this.objectFilter = ObjectFilter.compile(config);
+        this.partitionFilter = PartitionFilter.parse(config.getPartitionFilter());
+        this.prefix = config.getPrefix() == null ? "" : config.getPrefix();
+        this.batchSize = config.getMaxObjectsPerPoll();
+
+        Set<String> assigned = assignedFiles != null ? new HashSet<>(assignedFiles) : null;
+        for (InventoryManifest.InventoryFile file : manifest.getFiles()) {
+            if (assigned == null || assigned.contains(file.getKey())) {
+                pendingFiles.add(file);
+            }
+        }
+
+        List<String> columns = manifest.getColumns();
+        keyColumn = columns.indexOf("Key");
+        sizeColumn = columns.indexOf("Size");
+        lastModifiedColumn = columns.indexOf("LastModifiedDate");
+        etagColumn = columns.indexOf("ETag");
+        isLatestColumn = columns.indexOf("IsLatest");
+        isDeleteMarkerColumn = columns.indexOf("IsDeleteMarker");
+
+        log.info("Reading {} of {} inventory files", pendingFiles.size(), manifest.getFiles().size());
+    }
+
+    /**
+     * Up to {@code max.objects.per.poll} objects from the inventory, possibly fewer at the end
+     * of a file. Returns null once every assigned file has been read.
+     */
+    public List<S3Object> nextBatch() throws IOException {
+        List<S3Object> batch = new ArrayList<>();
+        while (batch.size() < batchSize) {
+            if (currentFile == null) {
+                InventoryManifest.InventoryFile file = pendingFiles.poll();
+                if (file == null) {
+                    break;
+                }
+                log.debug("Reading inventory file {}", file);
+                currentFile = open(manifest.readFile(file, s3Client));
+            }
+
+            String line = currentFile.readLine();
+            if (line == null) {
+                currentFile.close();
+                currentFile = null;
+                // End of file ends the batch so the next file is only fetched when needed
+                if (!batch.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            rowsRead++;
+            S3Object object = parseRow(line);
+            if (object != null) {
+                batch.add(object);
+            }
+        }
+
+        if (batch.isEmpty() && currentFile == null && pendingFiles.isEmpty()) {
+            log.info("Inventory read: {} rows, {} objects accepted", rowsRead, objectsAccepted);
+            return null;
+        }
+        objectsAccepted += batch.size();
+        return batch;
+    }
+
+    private S3Object parseRow(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() <= keyColumn
+                || "false".equalsIgnoreCase(field(fields, isLatestColumn))
+                || "true".equalsIgnoreCase(field(fields, isDeleteMarkerColumn))) {
+            return null;
+        }
+
+        String key = decodeKey(fields.get(keyColumn));
+        if (!key.startsWith(prefix) || key.endsWith("/")
+                || partitionFilter != null && !partitionFilter.acceptsKey(key, prefix)) {
+            return null;
+        }
+
+        String size = field(fields, sizeColumn);
+        String lastModified = field(fields, lastModifiedColumn);
+        String etag = field(fields, etagColumn);
+        S3Object object = S3Object.builder()
+                .key(key)
+                .size(size == null || size.isEmpty() ? 0L : Long.parseLong(size))
+                .lastModified(lastModified == null || lastModified.isEmpty() ? Instant.EPOCH : Instant.parse(lastModified))
+                // Listings quote ETags, so offsets see the same value either way
+                .eTag(etag == null || etag.isEmpty() ? null : "\"" + etag + "\"")
+                .build();
+        return objectFilter.test(object) ? object : null;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    /**
+     * Inventory keys are URL-encoded
+     */
+    private static String decodeKey(String key) {
+        try {
+            return URLDecoder.decode(key, StandardCharsets.UTF_8.name());
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            return key;
+        }
+    }
+
+    /**
+     * Split one inventory CSV line; every field is double-quoted with quotes doubled inside
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static BufferedReader open(byte[] content) throws IOException {
+        InputStream in = new ByteArrayInputStream(content);
+        if (content.length >= 2 && (content[0] & 0xff) == 0x1f && (content[1] & 0xff) == 0x8b) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void close() {
+        if (currentFile != null) {
+            try {
+                currentFile.close();
+            } catch (IOException e) {
+                log.debug("Failed to close inventory file", e);
+            }
+            currentFile = null;
+        }
+    }
+}
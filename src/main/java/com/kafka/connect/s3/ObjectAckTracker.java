@@ -0,0 +1,106 @@
+package com.kafka.connect.s3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tracks which emitted objects still have records waiting for a Kafka acknowledgement.
+ * An object is complete once every record produced from it has been acked through
+ * {@link org.apache.kafka.connect.source.SourceTask#commitRecord}.
+ * Acks arrive on producer callback threads, so all methods are thread-safe.
+ */
+public class ObjectAckTracker {
+    private final Map<String, PendingObject> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CompletedObject> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Start tracking the records emitted for an object.
+     * An object emitted again while still in flight accumulates the new records.
+     */
+    public void track(String objectKey, String etag, int records) {
+        if (records == 0) {
+            completed.add(new CompletedObject(objectKey, etag));
+            return;
+        }
+        inFlight.merge(objectKey, new PendingObject(etag, records), (existing, added) -> {
+            existing.outstanding += added.outstanding;
+            existing.etag = added.etag;
+            return existing;
+        });
+    }
+
+    /**
+     * Record one acknowledged record of an object; untracked keys are ignored
+     */
+    public void ack(String objectKey) {
+        inFlight.computeIfPresent(objectKey, (key, pending) -> {
+            if (--pending.outstanding > 0) {
+                return pending;
+            }
+            completed.add(new CompletedObject(key, pending.etag));
+            return null;
+        });
+    }
+
+    /**
+     * Stop tracking an object whose remaining records will not be emitted.
+     * It is not reported as completed.
+     */
+    public void forget(String objectKey) {
+        inFlight.remove(objectKey);
+    }
+
+    public boolean isInFlight(String objectKey) {
+        return inFlight.containsKey(objectKey);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Remove and return the objects completed since the last call
+     */
+    public List<CompletedObject> drainCompleted() {
+        List<CompletedObject> result = new ArrayList<>();
+        CompletedObject object;
+        while ((object = completed.poll()) != null) {
+            result.add(object);
+        }
+        return result;
+    }
+
+    private static final class PendingObject {
+        String etag;
+        int outstanding;
+
+        PendingObject(String etag, int outstanding) {
+            this.etag = etag;
+            this.outstanding = outstanding;
+        }
+    }
+
+    /**
+     * An object whose records have all been acknowledged
+     */
+    public static final class CompletedObject {
+        private final String key;
+        private final String etag;
+
+        CompletedObject(String key, String etag) {
+            this.key = key;
+            this.etag = etag;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
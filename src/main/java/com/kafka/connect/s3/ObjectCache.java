@@ -0,0 +1,252 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local on-disk cache of downloaded S3 objects with LRU eviction.
+ * Entries are keyed by (bucket, key, etag) and read back as memory-mapped buffers,
+ * so reprocessing a recent object is served from the page cache instead of S3.
+ * Content is written to a temporary file without holding the lock; only the rename into
+ * place, the index update and eviction are serialized.
+ */
+public class ObjectCache {
+    private static final Logger log = LoggerFactory.getLogger(ObjectCache.class);
+
+    private static final String ENTRY_SUFFIX = ".obj";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ObjectCache(String directory, long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(this.directory);
+            loadExistingEntries();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize object cache in " + directory, e);
+        }
+
+        log.info("Object cache initialized in {} with {} entries ({} of {} bytes)",
+                directory, entries.size(), totalBytes, maxBytes);
+    }
+
+    /**
+     * Get a cached object as a read-only memory-mapped buffer, or null if it is not cached
+     */
+    public synchronized ByteBuffer get(String bucket, String key, String etag) {
+        String entry = entryName(bucket, key, etag);
+        if (!entries.containsKey(entry)) {
+            return null;
+        }
+
+        Path path = directory.resolve(entry);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            entries.get(entry);
+            // Persist recency so LRU order survives restarts
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return buffer;
+        } catch (IOException e) {
+            log.warn("Failed to read cached object {}, dropping cache entry", key, e);
+            remove(entry);
+            return null;
+        }
+    }
+
+    /**
+     * Store an object; objects larger than the whole cache are not cached
+     */
+    public void put(String bucket, String key, String etag, byte[] content) {
+        put(bucket, key, etag, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * Store the remaining bytes of a buffer without copying them onto the heap, e.g. a pooled
+     * download buffer; the buffer's position is left unchanged
+     */
+    public void put(String bucket, String key, String etag, ByteBuffer content) {
+        int length = content.remaining();
+        if (length > maxBytes) {
+            return;
+        }
+
+        String entry = entryName(bucket, key, etag);
+        if (contains(entry)) {
+            return;
+        }
+
+        // A unique name, since several threads may fetch the same object
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, entry, TEMP_SUFFIX);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer source = content.duplicate();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to cache object {}", key, e);
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            return;
+        }
+        if (!adopt(entry, temp, length, key)) {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Move an already downloaded file into the cache.
+     * Returns true if the file now belongs to the cache; otherwise the caller still owns it.
+     */
+    public boolean putFile(String bucket, String key, String etag, Path file) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            log.warn("Failed to cache object {}", key, e);
+            return false;
+        }
+        if (size > maxBytes) {
+            return false;
+        }
+
+        return adopt(entryName(bucket, key, etag), file, size, key);
+    }
+
+    private synchronized boolean contains(String entry) {
+        return entries.containsKey(entry);
+    }
+
+    private synchronized boolean adopt(String entry, Path source, long size, String key) {
+        if (entries.containsKey(entry)) {
+            // Another thread cached it first
+            return false;
+        }
+        Path target = directory.resolve(entry);
+        try {
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to cache object {}", key, e);
+            return false;
+        }
+
+        entries.put(entry, size);
+        totalBytes += size;
+        evict();
+        return true;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(directory.resolve(eldest.getKey()));
+        }
+    }
+
+    private void remove(String entry) {
+        Long size = entries.remove(entry);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(directory.resolve(entry));
+    }
+
+    private void loadExistingEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // Leftover from an interrupted write
+                    deleteQuietly(path);
+                } else if (name.endsWith(ENTRY_SUFFIX)) {
+                    files.add(path);
+                }
+            }
+        }
+
+        files.sort(Comparator.comparingLong(ObjectCache::lastModifiedMillis));
+        for (Path path : files) {
+            long size = Files.size(path);
+            entries.put(path.getFileName().toString(), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String entryName(String bucket, String key, String etag) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((bucket + "\n" + key + "\n" + etag).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2 + ENTRY_SUFFIX.length());
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.append(ENTRY_SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete cache file {}", path, e);
+        }
+    }
+}
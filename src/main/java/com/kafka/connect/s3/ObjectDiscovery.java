@@ -0,0 +1,315 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pages through the objects of the bucket in key order, one listing cycle at a time.
+ * A cycle covers the configured prefix, or the shards of it assigned to the task, and only
+ * the partitions that pass {@code partition.filter} when one is configured.
+ * <p>
+ * With {@code list.parallelism} above 1 the prefix is split into disjoint sub-prefixes that
+ * are listed concurrently. Pages are still handed out prefix by prefix in key order; the
+ * next prefixes are listed ahead into bounded queues while the current one is consumed.
+ * <p>
+ * For the {@code fair} schedule policy the prefix is always split, and pages are handed
+ * out round-robin across the sub-prefixes being listed instead, so that the
+ * {@link ObjectScheduler} sees objects of several prefixes at once.
+ * <p>
+ * With an S3 Inventory report, its objects are handed out first. Listing then only hands out
+ * objects modified after the inventory was taken, less {@link #INVENTORY_OVERLAP} because
+ * an inventory can miss objects written shortly before it.
+ */
+public class ObjectDiscovery implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ObjectDiscovery.class);
+
+    // Sub-prefixes to aim for per listing thread, so one large prefix does not serialize the cycle
+    private static final int PREFIXES_PER_THREAD = 4;
+    // Pages a listing thread may run ahead of the consumer on its prefix
+    private static final int PREFETCH_PAGES = 2;
+    private static final S3ClientWrapper.ListingPage END_OF_PREFIX =
+            new S3ClientWrapper.ListingPage(Collections.emptyList(), null);
+    static final Duration INVENTORY_OVERLAP = Duration.ofDays(1);
+
+    private final S3ClientWrapper s3Client;
+    private final S3SourceConnectorConfig config;
+    private final PartitionFilter partitionFilter;
+    private final List<S3ClientWrapper.ListingPrefix> shards;
+    private final int parallelism;
+    private final boolean interleave;
+    private final ExecutorService listingPool;
+    private InventoryReader inventory;
+    private Instant modifiedSince;
+
+    private Deque<Cursor> pendingPrefixes;
+    private final Deque<PrefixListing> inFlight = new ArrayDeque<>();
+
+    public ObjectDiscovery(S3ClientWrapper s3Client, S3SourceConnectorConfig config) {
+        this(s3Client, config, null);
+    }
+
+    /**
+     * @param shards prefixes assigned to this task, or null to cover the whole configured prefix
+     */
+    public ObjectDiscovery(S3ClientWrapper s3Client, S3SourceConnectorConfig config,
+                           List<S3ClientWrapper.ListingPrefix> shards) {
+        this(s3Client, config, shards, null, null);
+    }
+
+    /**
+     * @param inventory inventory read before the first listing cycle, or null to start listing right away
+     * @param inventoryTime time the inventory was taken
+     */
+    public ObjectDiscovery(S3ClientWrapper s3Client, S3SourceConnectorConfig config,
+                           List<S3ClientWrapper.ListingPrefix> shards, InventoryReader inventory, Instant inventoryTime) {
+        this.inventory = inventory;
+        this.modifiedSince = inventory != null ? inventoryTime.minus(INVENTORY_OVERLAP) : null;
+        this.s3Client = s3Client;
+        this.config = config;
+        this.shards = shards;
+        this.partitionFilter = PartitionFilter.parse(config.getPartitionFilter());
+        this.parallelism = config.getListParallelism();
+        this.interleave = "fair".equals(config.getSchedulePolicy());
+        this.listingPool = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, listingThreadFactory()) : null;
+
+        if (partitionFilter != null) {
+            log.info("Partition pruning enabled on columns {}", partitionFilter.getColumns());
+        }
+        if (listingPool != null) {
+            log.info("Listing prefixes with {} parallel threads", parallelism);
+        }
+    }
+
+    /**
+     * Next page of filtered objects, which may be empty when the filters reject a whole page.
+     * Returns null once the current listing cycle is exhausted; the following call starts a new cycle.
+     */
+    public List<S3Object> nextBatch() throws InterruptedException, IOException {
+        if (inventory != null) {
+            List<S3Object> objects = inventory.nextBatch();
+            if (objects != null) {
+                return objects;
+            }
+            inventory.close();
+            inventory = null;
+            log.info("Inventory backfill complete, listing objects modified since {}", modifiedSince);
+            return Collections.emptyList();
+        }
+
+        if (pendingPrefixes == null) {
+            startCycle();
+        }
+
+        List<S3Object> objects = listingPool != null ? nextPageParallel() : nextPageSequential();
+        if (objects == null) {
+            log.debug("Listing cycle complete for bucket {}", config.getBucketName());
+            pendingPrefixes = null;
+        } else {
+            if (partitionFilter != null) {
+                objects = acceptedPartitions(objects);
+            }
+            if (modifiedSince != null) {
+                objects = modifiedSince(objects);
+            }
+        }
+        return objects;
+    }
+
+    // Flat-listed leaves may still contain partitions that discovery did not get to prune
+    private List<S3Object> acceptedPartitions(List<S3Object> objects) {
+        List<S3Object> result = new ArrayList<>(objects.size());
+        for (S3Object object : objects) {
+            if (partitionFilter.acceptsKey(object.key(), config.getPrefix())) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether every object of the inventory has been handed out, or there was no inventory
+     */
+    public boolean isBackfillComplete() {
+        return inventory == null;
+    }
+
+    private List<S3Object> modifiedSince(List<S3Object> objects) {
+        List<S3Object> result = new ArrayList<>(objects.size());
+        for (S3Object object : objects) {
+            if (!object.lastModified().isBefore(modifiedSince)) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    private List<S3Object> nextPageSequential() {
+        Cursor cursor = pendingPrefixes.peek();
+        if (cursor == null) {
+            return null;
+        }
+
+        S3ClientWrapper.ListingPage page = s3Client.listObjects(cursor.prefix, cursor.continuationToken);
+        cursor.continuationToken = page.getNextContinuationToken();
+        if (cursor.continuationToken == null) {
+            pendingPrefixes.poll();
+        } else if (interleave) {
+            pendingPrefixes.add(pendingPrefixes.poll());
+        }
+        return page.getObjects();
+    }
+
+    private List<S3Object> nextPageParallel() throws InterruptedException {
+        while (inFlight.size() < parallelism && !pendingPrefixes.isEmpty()) {
+            PrefixListing listing = new PrefixListing(pendingPrefixes.poll());
+            listing.future = listingPool.submit(listing);
+            inFlight.add(listing);
+        }
+
+        PrefixListing head = inFlight.peek();
+        if (head == null) {
+            return null;
+        }
+
+        S3ClientWrapper.ListingPage page = head.pages.take();
+        if (page == END_OF_PREFIX) {
+            inFlight.poll();
+            if (head.failure != null) {
+                // Resume from the last page handed out on the next poll
+                requeueInFlight(head);
+                throw head.failure;
+            }
+            return Collections.emptyList();
+        }
+
+        head.cursor.continuationToken = page.getNextContinuationToken();
+        if (interleave) {
+            inFlight.add(inFlight.poll());
+        }
+        return page.getObjects();
+    }
+
+    private void requeueInFlight(PrefixListing failed) {
+        List<Cursor> cursors = new ArrayList<>();
+        cursors.add(failed.cursor);
+        for (PrefixListing listing : inFlight) {
+            listing.cancel();
+            cursors.add(listing.cursor);
+        }
+        inFlight.clear();
+
+        for (int i = cursors.size() - 1; i >= 0; i--) {
+            pendingPrefixes.addFirst(cursors.get(i));
+        }
+    }
+
+    private void startCycle() {
+        int targetPrefixes = parallelism > 1 || interleave ? Math.max(parallelism, 1) * PREFIXES_PER_THREAD : 1;
+        pendingPrefixes = new ArrayDeque<>();
+        List<S3ClientWrapper.ListingPrefix> prefixes = shards != null
+                ? s3Client.discoverPrefixes(shards, partitionFilter, targetPrefixes)
+                : s3Client.discoverPrefixes(partitionFilter, targetPrefixes);
+        for (S3ClientWrapper.ListingPrefix prefix : prefixes) {
+            pendingPrefixes.add(new Cursor(prefix));
+        }
+    }
+
+    private ThreadFactory listingThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "s3-list-" + config.getBucketName() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        if (inventory != null) {
+            inventory.close();
+        }
+        for (PrefixListing listing : inFlight) {
+            listing.cancel();
+        }
+        inFlight.clear();
+        if (listingPool != null) {
+            listingPool.shutdownNow();
+        }
+    }
+
+    /**
+     * A prefix and the token of the first page not yet handed out
+     */
+    private static final class Cursor {
+        final S3ClientWrapper.ListingPrefix prefix;
+        String continuationToken;
+
+        Cursor(S3ClientWrapper.ListingPrefix prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * Lists all pages of one prefix into a bounded queue, ending with {@link #END_OF_PREFIX}
+     */
+    private final class PrefixListing implements Runnable {
+        final Cursor cursor;
+        final BlockingQueue<S3ClientWrapper.ListingPage> pages = new ArrayBlockingQueue<>(PREFETCH_PAGES);
+        volatile RuntimeException failure;
+        volatile boolean cancelled;
+        Future<?> future;
+
+        PrefixListing(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            String token = cursor.continuationToken;
+            try {
+                do {
+                    S3ClientWrapper.ListingPage page = s3Client.listObjects(cursor.prefix, token);
+                    pages.put(page);
+                    token = page.getNextContinuationToken();
+                } while (token != null && !cancelled);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            if (!cancelled) {
+                try {
+                    pages.put(END_OF_PREFIX);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Object filters compiled once from the connector configuration.
+ * Checks run cheapest first: size, last modified, suffixes, exclusions that reduce to
+ * plain string checks, and regular expressions last. Key patterns are {@code glob:} or
+ * {@code regex:} expressions; a pattern without a prefix is a glob.
+ */
+public class ObjectFilter implements Predicate<S3Object> {
+    private static final String GLOB_PREFIX = "glob:";
+    private static final String REGEX_PREFIX = "regex:";
+
+    private final List<Predicate<S3Object>> checks;
+
+    private ObjectFilter(List<Predicate<S3Object>> checks) {
+        this.checks = checks;
+    }
+
+    public static ObjectFilter compile(S3SourceConnectorConfig config) {
+        List<Predicate<S3Object>> checks = new ArrayList<>();
+
+        long minSize = config.getMinObjectSize();
+        long maxSize = config.getMaxObjectSize();
+        if (minSize > 0 || maxSize < Long.MAX_VALUE) {
+            checks.add(obj -> obj.size() >= minSize && obj.size() <= maxSize);
+        }
+
+        if (config.getFilterByLastModified()) {
+            Instant after = parseInstant(config.getLastModifiedAfter(), S3SourceConnectorConfig.LAST_MODIFIED_AFTER_CONFIG);
+            Instant before = parseInstant(config.getLastModifiedBefore(), S3SourceConnectorConfig.LAST_MODIFIED_BEFORE_CONFIG);
+            if (after != null) {
+                checks.add(obj -> !obj.lastModified().isBefore(after));
+            }
+            if (before != null) {
+                checks.add(obj -> !obj.lastModified().isAfter(before));
+            }
+        }
+
+        List<String> suffixes = config.getSuffixes();
+        if (suffixes.size() == 1) {
+            String suffix = suffixes.get(0);
+            checks.add(obj -> obj.key().endsWith(suffix));
+        } else if (!suffixes.isEmpty()) {
+            String[] suffixArray = suffixes.toArray(new String[0]);
+            checks.add(obj -> endsWithAny(obj.key(), suffixArray));
+        }
+
+        // Exclusions split into exact keys, plain string checks and regular expressions
+        Set<String> excludedKeys = new HashSet<>();
+        List<KeyMatcher> excludes = new ArrayList<>();
+        for (String exclude : config.getKeyExcludes()) {
+            KeyMatcher matcher = compilePattern(exclude, S3SourceConnectorConfig.S3_KEY_EXCLUDE_CONFIG);
+            if (matcher.literal != null) {
+                excludedKeys.add(matcher.literal);
+            } else {
+                excludes.add(matcher);
+            }
+        }
+        if (!excludedKeys.isEmpty()) {
+            checks.add(obj -> !excludedKeys.contains(obj.key()));
+        }
+        List<Predicate<String>> cheapExcludes = predicates(excludes, false);
+        if (!cheapExcludes.isEmpty()) {
+            checks.add(obj -> !matchesAny(obj.key(), cheapExcludes));
+        }
+
+        List<KeyMatcher> includes = new ArrayList<>();
+        for (String include : config.getKeyIncludes()) {
+            includes.add(compilePattern(include, S3SourceConnectorConfig.S3_KEY_INCLUDE_CONFIG));
+        }
+        if (!includes.isEmpty()) {
+            List<Predicate<String>> includePredicates = predicates(includes, false);
+            includePredicates.addAll(predicates(includes, true));
+            checks.add(obj -> matchesAny(obj.key(), includePredicates));
+        }
+
+        List<Predicate<String>> regexExcludes = predicates(excludes, true);
+        if (!regexExcludes.isEmpty()) {
+            checks.add(obj -> !matchesAny(obj.key(), regexExcludes));
+        }
+
+        return new ObjectFilter(checks);
+    }
+
+    @Override
+    public boolean test(S3Object object) {
+        for (int i = 0; i < checks.size(); i++) {
+            if (!checks.get(i).test(object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Objects that pass every filter; returns the input list itself when nothing is filtered
+     */
+    public List<S3Object> filter(List<S3Object> objects) {
+        if (checks.isEmpty()) {
+            return objects;
+        }
+        List<S3Object> result = new ArrayList<>(objects.size());
+        for (S3Object object : objects) {
+            if (test(object)) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Validate a list of key patterns without keeping the result
+     */
+    static void validatePatterns(String name, Object value) {
+        if (value instanceof List) {
+            for (Object pattern : (List<?>) value) {
+                compilePattern(pattern.toString(), name);
+            }
+        }
+    }
+
+    private static KeyMatcher compilePattern(String pattern, String configName) {
+        if (pattern.startsWith(REGEX_PREFIX)) {
+            String expression = pattern.substring(REGEX_PREFIX.length());
+            Pattern regex = compileRegex(expression, configName);
+            String inner = expression.length() > 4 ? expression.substring(2, expression.length() - 2) : null;
+            if (inner != null && expression.startsWith(".*") && expression.endsWith(".*")
+                    && "*+?{".indexOf(inner.charAt(0)) < 0 && !inner.endsWith("\\")
+                    && !hasTopLevelAlternation(inner)) {
+                // ".*X.*" is a substring search; find() avoids backtracking from the end of the key
+                Pattern unanchored = compileRegex(inner, configName);
+                return new KeyMatcher(key -> isSingleLine(key)
+                        ? unanchored.matcher(key).find()
+                        : regex.matcher(key).matches(), true, null);
+            }
+            return new KeyMatcher(key -> regex.matcher(key).matches(), true, null);
+        }
+
+        String glob = pattern.startsWith(GLOB_PREFIX) ? pattern.substring(GLOB_PREFIX.length()) : pattern;
+        boolean leadingAny = glob.startsWith("**");
+        boolean trailingAny = glob.length() > 2 && glob.endsWith("**");
+        String core = glob.substring(leadingAny ? 2 : 0, glob.length() - (trailingAny ? 2 : 0));
+
+        // Most globs reduce to a plain string check
+        if (isLiteral(core)) {
+            if (leadingAny && trailingAny) {
+                return new KeyMatcher(key -> key.contains(core), false, null);
+            } else if (leadingAny) {
+                return new KeyMatcher(key -> key.endsWith(core), false, null);
+            } else if (trailingAny) {
+                return new KeyMatcher(key -> key.startsWith(core), false, null);
+            }
+            return new KeyMatcher(core::equals, false, core);
+        }
+
+        Pattern regex = globToRegex(glob);
+        String literalPrefix = glob.substring(0, firstWildcard(glob));
+        return new KeyMatcher(key -> key.startsWith(literalPrefix) && regex.matcher(key).matches(), true, null);
+    }
+
+    private static List<Predicate<String>> predicates(List<KeyMatcher> matchers, boolean regex) {
+        List<Predicate<String>> predicates = new ArrayList<>();
+        for (KeyMatcher matcher : matchers) {
+            if (matcher.regex == regex) {
+                predicates.add(matcher.predicate);
+            }
+        }
+        return predicates;
+    }
+
+    private static Pattern compileRegex(String regex, String configName) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ConfigException(configName, regex, "Invalid regular expression: " + e.getDescription());
+        }
+    }
+
+    /**
+     * Glob to regex: {@code **} matches across '/', {@code *} within one path segment,
+     * {@code ?} one character and {@code [...]} a character class. Wildcards match line breaks
+     * too, as the string checks that most globs reduce to do.
+     */
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '[':
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        String body = glob.substring(i + 1, end);
+                        regex.append('[').append(body.startsWith("!") ? "^" + body.substring(1) : body).append(']');
+                        i = end;
+                    }
+                    break;
+                default:
+                    if ("\\.^$+{}()|".indexOf(c) >= 0) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether '.' in a regular expression matches every character of the key
+     */
+    private static boolean isSingleLine(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLiteral(String glob) {
+        return firstWildcard(glob) == glob.length();
+    }
+
+    private static int firstWildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?' || c == '[') {
+                return i;
+            }
+        }
+        return glob.length();
+    }
+
+    private static Instant parseInstant(String value, String configName) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ConfigException(configName, value, "Expected an ISO 8601 timestamp such as 2026-10-01T00:00:00Z");
+        }
+    }
+
+    private static boolean endsWithAny(String key, String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (key.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(String key, List<Predicate<String>> predicates) {
+        for (int i = 0; i < predicates.size(); i++) {
+            if (predicates.get(i).test(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class KeyMatcher {
+        final Predicate<String> predicate;
+        final boolean regex;
+        // Set for exact-key patterns, which are checked through a hash set instead
+        final String literal;
+
+        KeyMatcher(Predicate<String> predicate, boolean regex, String literal) {
+            this.predicate = predicate;
+            this.regex = regex;
+            this.literal = literal;
+        }
+    }
+}
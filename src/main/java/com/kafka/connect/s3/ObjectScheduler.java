@@ -0,0 +1,223 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Decides the order in which discovered objects are downloaded. The {@code listing} policy
+ * hands out objects in listing order, a batch at a time. The other policies buffer up to
+ * {@code schedule.lookahead.objects} objects from discovery and hand them out a batch at a time:
+ * <ul>
+ *   <li>{@code oldest}: by last modified time, so the longest-waiting data goes first</li>
+ *   <li>{@code smallest}: by size, so small objects are not held up behind huge ones</li>
+ *   <li>{@code fair}: start-time fair queueing across the top-level prefixes below
+ *   {@code s3.prefix}, so a prefix with a large backlog cannot starve the others. A prefix's
+ *   share follows its weight in {@code schedule.fair.weights} and is charged by object size
+ *   plus {@link ShardMonitor#OBJECT_WEIGHT_BYTES} per object.</li>
+ * </ul>
+ * A batch is {@code max.objects.per.poll} objects unless {@link #setBatchSize(int)} changes it.
+ * The buffer drains completely before the end of a listing cycle is reported, so no object
+ * waits longer than one cycle.
+ */
+public class ObjectScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ObjectScheduler.class);
+
+    private final ObjectSource source;
+    private final String policy;
+    private final String root;
+    private final int lookahead;
+    private int batchSize;
+    private final Map<String, Double> weights;
+
+    private final PriorityQueue<S3Object> ordered;
+    private final Deque<S3Object> listed = new ArrayDeque<>();
+    private final Map<String, FairQueue> fairQueues = new TreeMap<>();
+    private int buffered = 0;
+    private double virtualTime = 0;
+    private boolean cycleDone = false;
+
+    /**
+     * @param source listing pages to schedule, such as {@link ObjectDiscovery#nextBatch()}
+     */
+    public ObjectScheduler(ObjectSource source, S3SourceConnectorConfig config) {
+        this.source = source;
+        this.policy = config.getSchedulePolicy();
+        this.root = config.getPrefix() == null ? "" : config.getPrefix();
+        this.lookahead = config.getScheduleLookaheadObjects();
+        this.batchSize = config.getMaxObjectsPerPoll();
+        this.weights = parseWeights(config.getScheduleFairWeights());
+
+        switch (policy) {
+            case "oldest":
+                ordered = new PriorityQueue<>(Comparator.comparing(S3Object::lastModified)
+                        .thenComparing(S3Object::key));
+                break;
+            case "smallest":
+                ordered = new PriorityQueue<>(Comparator.comparing(S3Object::size)
+                        .thenComparing(S3Object::lastModified)
+                        .thenComparing(S3Object::key));
+                break;
+            default:
+                ordered = null;
+        }
+        if (!"listing".equals(policy)) {
+            log.info("Scheduling objects {} first with a lookahead of {} objects", policy, lookahead);
+        }
+    }
+
+    /**
+     * Parse {@code name=weight} entries of {@code schedule.fair.weights}
+     */
+    public static Map<String, Double> parseWeights(List<String> entries) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            int eq = entry.lastIndexOf('=');
+            double weight;
+            try {
+                weight = eq > 0 ? Double.parseDouble(entry.substring(eq + 1).trim()) : -1;
+            } catch (NumberFormatException e) {
+                weight = -1;
+            }
+            if (weight <= 0) {
+                throw new ConfigException(S3SourceConnectorConfig.SCHEDULE_FAIR_WEIGHTS_CONFIG, entry,
+                        "Expected prefix=weight with a positive weight, e.g. 'logs=4'");
+            }
+            weights.put(entry.substring(0, eq).trim(), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Next objects to process, which may be empty. Returns null once the listing cycle is
+     * exhausted and every buffered object has been handed out, like {@link ObjectDiscovery#nextBatch()}.
+     */
+    public List<S3Object> nextBatch() throws InterruptedException, IOException {
+        int fillTarget = "listing".equals(policy) ? batchSize : Math.max(lookahead, batchSize);
+        while (buffered < fillTarget && !cycleDone) {
+            List<S3Object> objects = source.nextBatch();
+            if (objects == null) {
+                cycleDone = true;
+                break;
+            }
+            for (S3Object object : objects) {
+                add(object);
+            }
+            if (objects.isEmpty()) {
+                // Return to the task between filtered-out pages, as listing does
+                break;
+            }
+        }
+
+        if (buffered == 0) {
+            if (cycleDone) {
+                cycleDone = false;
+                return null;
+            }
+            return new ArrayList<>();
+        }
+
+        List<S3Object> batch = new ArrayList<>(Math.min(batchSize, buffered));
+        while (batch.size() < batchSize && buffered > 0) {
+            batch.add(take());
+        }
+        return batch;
+    }
+
+    /**
+     * Change the number of objects handed out per batch, starting with the next one
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    private void add(S3Object object) {
+        buffered++;
+        if ("listing".equals(policy)) {
+            listed.add(object);
+            return;
+        }
+        if (ordered != null) {
+            ordered.add(object);
+            return;
+        }
+        String group = group(object.key());
+        fairQueues.computeIfAbsent(group, g -> new FairQueue(weights.getOrDefault(g, 1.0))).objects.add(object);
+    }
+
+    private S3Object take() {
+        buffered--;
+        if ("listing".equals(policy)) {
+            return listed.poll();
+        }
+        if (ordered != null) {
+            return ordered.poll();
+        }
+
+        // Serve the queue whose next object would start earliest in virtual time
+        FairQueue next = null;
+        double nextStart = Double.MAX_VALUE;
+        for (FairQueue queue : fairQueues.values()) {
+            double start = Math.max(virtualTime, queue.finish);
+            if (start < nextStart) {
+                next = queue;
+                nextStart = start;
+            }
+        }
+        S3Object object = next.objects.poll();
+        virtualTime = nextStart;
+        next.finish = nextStart + (object.size() + ShardMonitor.OBJECT_WEIGHT_BYTES) / next.weight;
+
+        // An idle prefix keeps no credit from before it went idle
+        Iterator<FairQueue> queues = fairQueues.values().iterator();
+        while (queues.hasNext()) {
+            if (queues.next().objects.isEmpty()) {
+                queues.remove();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Top-level prefix of a key below the configured prefix, without the trailing slash;
+     * empty for objects directly under it
+     */
+    private String group(String key) {
+        int start = key.startsWith(root) ? root.length() : 0;
+        int slash = key.indexOf('/', start);
+        return slash < 0 ? "" : key.substring(start, slash);
+    }
+
+    /**
+     * Pages of listed objects, with null marking the end of a listing cycle
+     */
+    public interface ObjectSource {
+        List<S3Object> nextBatch() throws InterruptedException, IOException;
+    }
+
+    private static final class FairQueue {
+        final Deque<S3Object> objects = new ArrayDeque<>();
+        final double weight;
+        double finish;
+
+        FairQueue(double weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -38,21 +38,83 @@ public class OffsetManager {
         return partition;
     }
 
+    /**
+     * Source partition marking an S3 Inventory file as consumed by the backfill
+     */
+    public Map<String, String> getInventoryPartition(String inventoryFileKey) {
+        Map<String, String> partition = new HashMap<>();
+        partition.put("bucket", offsetStorageKey);
+        partition.put("inventory_file", inventoryFileKey);
+        return partition;
+    }
+
+    /**
+     * Offset for {@link #getInventoryPartition}: every object of the file from the inventory
+     * taken at {@code creationTime} has been emitted and acknowledged
+     */
+    public Map<String, Object> createInventoryOffset(long creationTime) {
+        Map<String, Object> offset = new HashMap<>();
+        offset.put("inventory_created", creationTime);
+        offset.put("processed_at", System.currentTimeMillis());
+        return offset;
+    }
+
+    /**
+     * Check if an inventory file's offset shows it was consumed from the inventory taken at {@code creationTime}
+     */
+    public boolean isInventoryConsumed(Map<String, Object> sourceOffset, long creationTime) {
+        Object created = sourceOffset != null ? sourceOffset.get("inventory_created") : null;
+        return created instanceof Number && ((Number) created).longValue() == creationTime;
+    }
+
+    /**
+     * Object key of a source partition created by {@link #getSourcePartition}
+     */
+    public String getObjectKey(Map<String, ?> sourcePartition) {
+        Object key = sourcePartition != null ? sourcePartition.get("key") : null;
+        return key != null ? key.toString() : null;
+    }
+
     /**
      * Check if object has been processed (for incremental mode)
      */
     public boolean isProcessed(Map<String, Object> sourceOffset, String objectKey, long lastModified) {
+        return isProcessed(sourceOffset, objectKey, lastModified, null);
+    }
+
+    /**
+     * Check if object has been processed, preferring the ETag over the last modified time.
+     * An object re-uploaded with identical content keeps its ETag and is not reprocessed.
+     */
+    public boolean isProcessed(Map<String, Object> sourceOffset, String objectKey, long lastModified, String etag) {
         if (sourceOffset == null) {
             return false;
         }
 
         String processedKey = (String) sourceOffset.get("object_key");
         Long processedTimestamp = (Long) sourceOffset.get("last_modified");
+        String processedEtag = (String) sourceOffset.get("etag");
 
         if (processedKey == null || !processedKey.equals(objectKey)) {
             return false;
         }
 
+        if (Boolean.FALSE.equals(sourceOffset.get("complete"))) {
+            log.debug("Object {} was only partially emitted, will resume", objectKey);
+            return false;
+        }
+
+        if (etag != null && processedEtag != null) {
+            if (!etag.equals(processedEtag)) {
+                log.debug("Object {} content changed (ETag {} -> {}), will reprocess", objectKey, processedEtag, etag);
+                return false;
+            }
+            if (processedTimestamp != null && lastModified > processedTimestamp) {
+                log.debug("Object {} was re-uploaded with identical content, skipping", objectKey);
+            }
+            return true;
+        }
+
         // In incremental mode, reprocess if file was modified
         if (processedTimestamp != null && lastModified > processedTimestamp) {
             log.debug("Object {} was modified after last processing, will reprocess", objectKey);
@@ -62,14 +124,81 @@ public class OffsetManager {
         return true;
     }
 
+    /**
+     * Index of the first record still to be emitted for an object whose offset shows it was
+     * only partially emitted with the same content, or 0 to start from the beginning
+     */
+    public int getResumeRecord(Map<String, Object> sourceOffset, long lastModified, String etag) {
+        if (sourceOffset == null || !Boolean.FALSE.equals(sourceOffset.get("complete"))) {
+            return 0;
+        }
+        Object record = sourceOffset.get("record");
+        if (!(record instanceof Number)) {
+            return 0;
+        }
+
+        String processedEtag = getEtag(sourceOffset);
+        Long processedTimestamp = getLastModified(sourceOffset);
+        boolean unchanged = etag != null && processedEtag != null
+                ? etag.equals(processedEtag)
+                : processedTimestamp != null && lastModified <= processedTimestamp;
+        return unchanged ? ((Number) record).intValue() + 1 : 0;
+    }
+
+    /**
+     * ETag stored in a source offset, or null for offsets written without one
+     */
+    public String getEtag(Map<String, Object> sourceOffset) {
+        return sourceOffset != null ? (String) sourceOffset.get("etag") : null;
+    }
+
+    /**
+     * Last modified timestamp stored in a source offset, or null if absent
+     */
+    public Long getLastModified(Map<String, Object> sourceOffset) {
+        return sourceOffset != null ? (Long) sourceOffset.get("last_modified") : null;
+    }
+
     /**
      * Create source offset with last modified timestamp
      */
     public Map<String, Object> createOffset(String objectKey, long lastModified) {
+        return createOffset(objectKey, lastModified, null);
+    }
+
+    /**
+     * Create source offset with last modified timestamp and ETag
+     */
+    public Map<String, Object> createOffset(String objectKey, long lastModified, String etag) {
+        return createOffset(objectKey, lastModified, etag, 0, true);
+    }
+
+    /**
+     * Create source offset for one record of an object. The record index and whether it is the
+     * object's last record let a restart resume inside an object instead of skipping or replaying it.
+     */
+    public Map<String, Object> createOffset(String objectKey, long lastModified, String etag,
+                                            int recordIndex, boolean complete) {
         Map<String, Object> offset = new HashMap<>();
         offset.put("object_key", objectKey);
         offset.put("last_modified", lastModified);
+        if (etag != null) {
+            offset.put("etag", etag);
+        }
+        offset.put("record", recordIndex);
+        offset.put("complete", complete);
         offset.put("processed_at", System.currentTimeMillis());
         return offset;
     }
+
+    /**
+     * Create source offset for a record that packs records {@code firstRecord} to
+     * {@code lastRecord} of an object. Resuming continues after {@code lastRecord}.
+     */
+    public Map<String, Object> createOffset(String objectKey, long lastModified, String etag,
+                                            int firstRecord, int lastRecord, boolean complete) {
+        Map<String, Object> offset = createOffset(objectKey, lastModified, etag, lastRecord, complete);
+        offset.put("first_record", firstRecord);
+        return offset;
+    }
 }
@@ -0,0 +1,195 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Predicates on Hive-style partition path segments ({@code name=value/}).
+ * Parsed from a ';'-separated expression such as
+ * {@code dt >= 2026-10-01; hour < 20; region in (eu, us)}.
+ * Values are compared numerically when both sides are numbers, otherwise as strings,
+ * which orders ISO-8601 dates correctly.
+ */
+public class PartitionFilter {
+    private static final Pattern IN_PATTERN =
+            Pattern.compile("^\\s*([\\w.-]+)\\s+(not\\s+in|in)\\s*\\((.*)\\)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMPARISON_PATTERN =
+            Pattern.compile("^\\s*([\\w.-]+)\\s*(>=|<=|!=|=|>|<)\\s*(.+?)\\s*$");
+
+    private final Map<String, List<Predicate>> predicatesByColumn;
+
+    private PartitionFilter(Map<String, List<Predicate>> predicatesByColumn) {
+        this.predicatesByColumn = predicatesByColumn;
+    }
+
+    /**
+     * Parse a filter expression; returns null for an empty expression
+     */
+    public static PartitionFilter parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return null;
+        }
+
+        Map<String, List<Predicate>> predicates = new HashMap<>();
+        for (String clause : expression.split(";")) {
+            if (clause.trim().isEmpty()) {
+                continue;
+            }
+            Predicate predicate = parseClause(clause);
+            predicates.computeIfAbsent(predicate.column, c -> new ArrayList<>()).add(predicate);
+        }
+        return new PartitionFilter(predicates);
+    }
+
+    /**
+     * Split a path segment such as {@code dt=2026-10-16/} into column and value,
+     * or return null if the segment is not partition-style
+     */
+    public static String[] parseSegment(String segment) {
+        String trimmed = segment.endsWith("/") ? segment.substring(0, segment.length() - 1) : segment;
+        int eq = trimmed.indexOf('=');
+        if (eq <= 0 || trimmed.indexOf('/') >= 0) {
+            return null;
+        }
+        return new String[]{trimmed.substring(0, eq), trimmed.substring(eq + 1)};
+    }
+
+    /**
+     * Whether a partition with this column value can contain matching objects.
+     * Columns without predicates always match.
+     */
+    public boolean accepts(String column, String value) {
+        List<Predicate> predicates = predicatesByColumn.get(column);
+        if (predicates == null) {
+            return true;
+        }
+        for (Predicate predicate : predicates) {
+            if (!predicate.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether every partition-style directory of a key below {@code root} passes the filter,
+     * for keys that were not reached through pruned listings
+     */
+    public boolean acceptsKey(String key, String root) {
+        int start = root != null && key.startsWith(root) ? root.length() : 0;
+        int end;
+        while ((end = key.indexOf('/', start)) >= 0) {
+            String[] partition = parseSegment(key.substring(start, end));
+            if (partition != null && !accepts(partition[0], partition[1])) {
+                return false;
+            }
+            start = end + 1;
+        }
+        return true;
+    }
+
+    public Set<String> getColumns() {
+        return Collections.unmodifiableSet(predicatesByColumn.keySet());
+    }
+
+    private static Predicate parseClause(String clause) {
+        Matcher in = IN_PATTERN.matcher(clause);
+        if (in.matches()) {
+            Set<String> values = new HashSet<>();
+            for (String value : in.group(3).split(",")) {
+                values.add(unquote(value.trim()));
+            }
+            boolean negated = in.group(2).toLowerCase().startsWith("not");
+            return new Predicate(in.group(1), negated ? "not in" : "in", null, values);
+        }
+
+        Matcher comparison = COMPARISON_PATTERN.matcher(clause);
+        if (comparison.matches()) {
+            return new Predicate(comparison.group(1), comparison.group(2), unquote(comparison.group(3)), null);
+        }
+
+        throw new ConfigException("Invalid partition filter clause: '" + clause.trim()
+                + "'. Expected e.g. 'dt >= 2026-10-01' or 'region in (eu, us)'");
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("'") && value.endsWith("'")
+                || value.startsWith("\"") && value.endsWith("\""))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static int compare(String left, String right) {
+        BigDecimal leftNumber = toNumber(left);
+        BigDecimal rightNumber = toNumber(right);
+        if (leftNumber != null && rightNumber != null) {
+            return leftNumber.compareTo(rightNumber);
+        }
+        return left.compareTo(right);
+    }
+
+    private static BigDecimal toNumber(String value) {
+        if (value.isEmpty() || !(Character.isDigit(value.charAt(0)) || value.charAt(0) == '-')) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Predicate {
+        final String column;
+        final String operator;
+        final String operand;
+        final Set<String> values;
+
+        Predicate(String column, String operator, String operand, Set<String> values) {
+            this.column = column;
+            this.operator = operator;
+            this.operand = operand;
+            this.values = values;
+        }
+
+        boolean test(String value) {
+            switch (operator) {
+                case "in":
+                    return values.contains(value);
+                case "not in":
+                    return !values.contains(value);
+                case "=":
+                    return compare(value, operand) == 0;
+                case "!=":
+                    return compare(value, operand) != 0;
+                case "<":
+                    return compare(value, operand) < 0;
+                case "<=":
+                    return compare(value, operand) <= 0;
+                case ">":
+                    return compare(value, operand) > 0;
+                case ">=":
+                    return compare(value, operand) >= 0;
+                default:
+                    throw new IllegalStateException("Unknown operator " + operator);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return column + " " + operator + " " + (values != null ? Arrays.toString(values.toArray()) : operand);
+        }
+    }
+}
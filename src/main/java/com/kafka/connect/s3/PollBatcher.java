@@ -0,0 +1,90 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fills polls under {@code batch.size} and the byte limit, counting each record of an object as
+ * an equal share of its size. Records of the last object taken that did not fit wait here for
+ * the next polls, which return them before any other object is read. They stay on the heap
+ * until emitted, as objects are parsed whole.
+ */
+public class PollBatcher {
+    private final int batchSize;
+    private final Deque<SourceRecord> pending = new ArrayDeque<>();
+    // Bytes each pending record stands for
+    private long pendingRecordBytes = 1;
+    // Size of pending, for metrics read from their own thread
+    private volatile int pendingCount;
+
+    public PollBatcher(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Number of pending records; safe to call from any thread
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Pending records for the next poll, at least one
+     */
+    public List<SourceRecord> nextPending(long limitBytes) {
+        List<SourceRecord> records = new ArrayList<>();
+        long room = Math.min(batchSize, limitBytes / pendingRecordBytes);
+        while (!pending.isEmpty() && (records.isEmpty() || records.size() < room)) {
+            records.add(pending.poll());
+        }
+        pendingCount = pending.size();
+        return records;
+    }
+
+    /**
+     * Add the records of one object, or of a run of small objects, to a poll while it has room
+     * for them; the rest become pending. An empty poll always takes at least one record.
+     * Returns the bytes of the records added.
+     */
+    public long add(List<SourceRecord> objectRecords, long objectBytes, List<SourceRecord> records, long roomBytes) {
+        if (objectRecords.isEmpty()) {
+            return 0;
+        }
+        long recordBytes = Math.max(1, objectBytes / objectRecords.size());
+        long room = Math.min(batchSize - records.size(), Math.max(0, roomBytes) / recordBytes);
+        int taken = (int) Math.min(objectRecords.size(), Math.max(room, records.isEmpty() ? 1 : 0));
+
+        records.addAll(objectRecords.subList(0, taken));
+        if (taken < objectRecords.size()) {
+            pending.addAll(objectRecords.subList(taken, objectRecords.size()));
+            pendingRecordBytes = recordBytes;
+            pendingCount = pending.size();
+            return taken * recordBytes;
+        }
+        return objectBytes;
+    }
+
+    /**
+     * End of the run of small objects starting at {@code start}, which is small itself: the run
+     * grows while its size is below {@code roomBytes}, so it stops at the first object reaching it
+     */
+    public static int smallRunEnd(List<S3Object> objects, int start, long roomBytes, Predicate<S3Object> isSmall) {
+        int end = start + 1;
+        long runBytes = objects.get(start).size();
+        while (end < objects.size() && isSmall.test(objects.get(end)) && runBytes < roomBytes) {
+            runBytes += objects.get(end).size();
+            end++;
+        }
+        return end;
+    }
+}
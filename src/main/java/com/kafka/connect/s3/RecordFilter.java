@@ -0,0 +1,117 @@
+package com.kafka.connect.s3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Field projection and predicates on top-level record fields, applied by the parser so that
+ * unwanted fields are never materialized and filtered-out records never become maps.
+ * Predicates use the {@link PartitionFilter} syntax, e.g. {@code event_type = purchase; amount >= 100};
+ * a record without a filtered field does not match.
+ */
+public class RecordFilter {
+    private final Set<String> fields;
+    private final PartitionFilter predicates;
+    private final List<String> predicateFields;
+
+    private RecordFilter(Set<String> fields, PartitionFilter predicates) {
+        this.fields = fields;
+        this.predicates = predicates;
+        this.predicateFields = predicates != null
+                ? Collections.unmodifiableList(new ArrayList<>(predicates.getColumns()))
+                : Collections.emptyList();
+    }
+
+    /**
+     * Compile the projection and filter of a configuration; returns null when neither is set
+     */
+    public static RecordFilter compile(S3SourceConnectorConfig config) {
+        PartitionFilter predicates = PartitionFilter.parse(config.getRecordFilter());
+        Set<String> fields = null;
+        for (String field : config.getRecordFields()) {
+            if (!field.trim().isEmpty()) {
+                if (fields == null) {
+                    fields = new HashSet<>();
+                }
+                fields.add(field.trim());
+            }
+        }
+        if (fields == null && predicates == null) {
+            return null;
+        }
+
+        // Key and partition extraction read the record after parsing
+        if (fields != null) {
+            addIfSet(fields, config.getKeyField());
+            addIfSet(fields, config.getPartitionField());
+        }
+        return new RecordFilter(fields, predicates);
+    }
+
+    private static void addIfSet(Set<String> fields, String field) {
+        if (field != null && !field.isEmpty()) {
+            fields.add(field);
+        }
+    }
+
+    public boolean keepsAllFields() {
+        return fields == null;
+    }
+
+    /**
+     * Projected fields, or null when all fields are kept
+     */
+    public Set<String> getFields() {
+        return fields != null ? Collections.unmodifiableSet(fields) : null;
+    }
+
+    /**
+     * Whether a field is part of the emitted record
+     */
+    public boolean keeps(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Whether a field has predicates
+     */
+    public boolean filters(String field) {
+        return predicates != null && predicates.getColumns().contains(field);
+    }
+
+    /**
+     * Whether the parser has to read a field's value at all
+     */
+    public boolean reads(String field) {
+        return keeps(field) || filters(field);
+    }
+
+    /**
+     * Fields with predicates; a record must contain each of them to match
+     */
+    public List<String> getPredicateFields() {
+        return predicateFields;
+    }
+
+    /**
+     * Whether a field value passes the field's predicates; a null value never does
+     */
+    public boolean test(String field, Object value) {
+        return value != null && (predicates == null || predicates.accepts(field, String.valueOf(value)));
+    }
+
+    /**
+     * Whether a record made of just this one field matches
+     */
+    public boolean matchesSingleField(String field, Object value) {
+        for (String filtered : predicateFields) {
+            if (!filtered.equals(field) || !test(field, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
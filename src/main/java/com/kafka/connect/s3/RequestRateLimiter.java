@@ -0,0 +1,50 @@
+package com.kafka.connect.s3;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter for S3 requests.
+ * Allows bursts of up to one second worth of permits and spaces out the rest.
+ * A rate of zero or less disables limiting.
+ */
+public class RequestRateLimiter {
+    private final double permitsPerSecond;
+    private final double nanosPerPermit;
+    private double storedPermits;
+    private long lastRefillNanos;
+
+    public RequestRateLimiter(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanosPerPermit = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+        this.storedPermits = Math.max(0, permitsPerSecond);
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Block until a permit is available
+     */
+    public void acquire() throws InterruptedException {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            storedPermits = Math.min(permitsPerSecond, storedPermits + (now - lastRefillNanos) / nanosPerPermit);
+            lastRefillNanos = now;
+
+            // A negative balance reserves future permits for callers already waiting
+            storedPermits -= 1;
+            waitNanos = storedPermits >= 0 ? 0 : (long) (-storedPermits * nanosPerPermit);
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
@@ -0,0 +1,160 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry engine for S3 operations.
+ * Uses decorrelated-jitter exponential backoff, a longer base delay for
+ * throttling responses (503 SlowDown) and a token-bucket retry budget shared
+ * by every operation issued through the same task.
+ */
+public class RetryEngine {
+    private static final Logger log = LoggerFactory.getLogger(RetryEngine.class);
+
+    // Token costs follow the AWS "standard" retry mode
+    static final int RETRY_COST = 5;
+    static final int THROTTLE_RETRY_COST = 10;
+    static final int SUCCESS_REFUND = 1;
+
+    private final int maxRetries;
+    private final long baseBackoffMs;
+    private final long throttleBackoffMs;
+    private final long maxBackoffMs;
+    private final int budgetCapacity;
+    private final S3SourceMetrics metrics;
+    private int budgetTokens;
+
+    public RetryEngine(S3SourceConnectorConfig config, S3SourceMetrics metrics) {
+        this.metrics = metrics;
+        this.maxRetries = config.getMaxRetries();
+        // The configured cap wins over larger base delays
+        this.maxBackoffMs = Math.max(1L, config.getRetryBackoffMaxMs());
+        this.baseBackoffMs = Math.min(maxBackoffMs, Math.max(1L, config.getRetryBackoffMs()));
+        this.throttleBackoffMs = Math.min(maxBackoffMs, Math.max(baseBackoffMs, config.getRetryThrottleBackoffMs()));
+        this.budgetCapacity = config.getRetryBudgetTokens();
+        this.budgetTokens = budgetCapacity;
+    }
+
+    /**
+     * Execute an operation, retrying transient failures while attempts and budget remain
+     */
+    public <T> T execute(RetryableOperation<T> operation, String operationName, String key) {
+        int attempts = 0;
+        int lastCost = 0;
+        long previousBackoffMs = baseBackoffMs;
+
+        while (true) {
+            try {
+                T result = operation.execute();
+                refund(lastCost > 0 ? lastCost : SUCCESS_REFUND);
+                return result;
+            } catch (SdkException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                attempts++;
+
+                boolean throttled = isThrottling(e);
+                int cost = throttled ? THROTTLE_RETRY_COST : RETRY_COST;
+
+                if (attempts > maxRetries) {
+                    throw failure(String.format("Failed to execute %s after %d attempts",
+                            operationName, attempts), key, e);
+                }
+                if (!tryAcquire(cost)) {
+                    throw failure(String.format("Retry budget exhausted, failed to execute %s after %d attempts",
+                            operationName, attempts), key, e);
+                }
+                lastCost = cost;
+                metrics.recordRetry(throttled);
+
+                long backoffMs = nextBackoffMs(previousBackoffMs, throttled);
+                previousBackoffMs = backoffMs;
+
+                log.warn("Retry attempt {}/{} for {} in {} ms{}: {}", attempts, maxRetries, operationName,
+                        backoffMs, throttled ? " (throttled)" : "", e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted during retry", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decorrelated jitter: sleep = min(cap, random(base, previous * 3))
+     */
+    long nextBackoffMs(long previousBackoffMs, boolean throttled) {
+        long base = throttled ? throttleBackoffMs : baseBackoffMs;
+        long upper = Math.min(maxBackoffMs, Math.max(base, previousBackoffMs) * 3);
+        if (upper <= base) {
+            return base;
+        }
+        return ThreadLocalRandom.current().nextLong(base, upper + 1);
+    }
+
+    static boolean isThrottling(SdkException e) {
+        if (e instanceof AwsServiceException) {
+            AwsServiceException ase = (AwsServiceException) e;
+            String errorCode = ase.awsErrorDetails() != null ? ase.awsErrorDetails().errorCode() : null;
+            return ase.isThrottlingException()
+                    || ase.statusCode() == 503
+                    || "SlowDown".equals(errorCode);
+        }
+        return false;
+    }
+
+    static boolean isRetryable(SdkException e) {
+        if (e instanceof SdkClientException) {
+            // Network errors, timeouts and truncated responses
+            return true;
+        }
+        if (e instanceof AwsServiceException) {
+            AwsServiceException ase = (AwsServiceException) e;
+            int status = ase.statusCode();
+            String errorCode = ase.awsErrorDetails() != null ? ase.awsErrorDetails().errorCode() : null;
+            return isThrottling(e)
+                    || status >= 500
+                    || "RequestTimeout".equals(errorCode)
+                    || "RequestTimeTooSkewed".equals(errorCode);
+        }
+        return e.retryable();
+    }
+
+    private synchronized boolean tryAcquire(int cost) {
+        if (budgetTokens < cost) {
+            return false;
+        }
+        budgetTokens -= cost;
+        return true;
+    }
+
+    private synchronized void refund(int amount) {
+        budgetTokens = Math.min(budgetCapacity, budgetTokens + amount);
+    }
+
+    synchronized int availableTokens() {
+        return budgetTokens;
+    }
+
+    private RuntimeException failure(String message, String key, SdkException cause) {
+        if (key != null) {
+            message += " for key: " + key;
+        }
+        log.error(message, cause);
+        return new RuntimeException(message, cause);
+    }
+
+    @FunctionalInterface
+    interface RetryableOperation<T> {
+        T execute() throws SdkException;
+    }
+}
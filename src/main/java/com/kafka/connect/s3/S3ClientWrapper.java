@@ -6,56 +6,127 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.retry.RetryPolicy;
-import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
 import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
- * Wrapper for AWS S3 client with retry logic and error handling
+ * Wrapper for AWS S3 client with retry logic and error handling.
+ * All retries go through {@link RetryEngine}; the SDK's own retry policy is disabled.
  */
 public class S3ClientWrapper implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(S3ClientWrapper.class);
 
+    private static final String DELIMITER = "/";
+    private static final int MAX_KEYS_PER_PAGE = 1000;
+
     private final S3Client s3Client;
     private final S3SourceConnectorConfig config;
-    private final int maxRetries;
-    private final long retryBackoffMs;
+    private final RetryEngine retryEngine;
+    private final RequestRateLimiter getRateLimiter;
+    private final RequestRateLimiter listRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final S3SourceMetrics metrics;
+    private final ObjectFilter objectFilter;
 
     public S3ClientWrapper(S3SourceConnectorConfig config) {
+        this(config, S3SourceMetrics.unregistered());
+    }
+
+    public S3ClientWrapper(S3SourceConnectorConfig config, S3SourceMetrics metrics) {
         this.config = config;
-        this.maxRetries = config.getMaxRetries();
-        this.retryBackoffMs = config.getRetryBackoffMs();
+        this.metrics = metrics;
+        this.objectFilter = ObjectFilter.compile(config);
+        this.retryEngine = new RetryEngine(config, metrics);
+        this.getRateLimiter = new RequestRateLimiter(config.getGetRateLimit());
+        this.listRateLimiter = new RequestRateLimiter(config.getListRateLimit());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(config.getMinConcurrency(),
+                config.getInitialConcurrency(), config.getMaxConcurrency(), config.getConcurrencyLatencyTargetMs());
+
+        metrics.addGauge("concurrency-limit", "Current adaptive limit on in-flight S3 requests",
+                (metricConfig, now) -> concurrencyLimiter.getLimit());
+        metrics.addGauge("requests-in-flight", "S3 requests currently in flight",
+                (metricConfig, now) -> concurrencyLimiter.getInFlight());
+        metrics.addGauge("retry-budget-tokens", "Tokens left in the retry budget",
+                (metricConfig, now) -> retryEngine.availableTokens());
 
         AwsCredentialsProvider credentialsProvider = createCredentialsProvider(config);
-        
-        RetryPolicy retryPolicy = RetryPolicy.builder()
-                .numRetries(maxRetries)
-                .backoffStrategy(FixedDelayBackoffStrategy.create(Duration.ofMillis(retryBackoffMs)))
-                .build();
 
-        SdkHttpClient httpClient = UrlConnectionHttpClient.builder()
-                .connectionTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
-                .socketTimeout(Duration.ofMillis(config.getSocketTimeoutMs()))
-                .build();
+        SdkHttpClient httpClient = createHttpClient(config);
 
-        this.s3Client = S3Client.builder()
+        S3ClientBuilder clientBuilder = S3Client.builder()
                 .region(Region.of(config.getRegion()))
                 .credentialsProvider(credentialsProvider)
                 .httpClient(httpClient)
-                .overrideConfiguration(b -> b.retryPolicy(retryPolicy))
-                .build();
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(config.getPathStyleAccess())
+                        .build())
+                // Retries are handled by RetryEngine only, so SDK retries must not multiply them
+                .overrideConfiguration(b -> b.retryPolicy(RetryPolicy.none()));
+
+        String endpointUrl = config.getEndpointUrl();
+        if (endpointUrl != null && !endpointUrl.isEmpty()) {
+            clientBuilder.endpointOverride(URI.create(endpointUrl));
+        }
+
+        this.s3Client = clientBuilder.build();
+
+        log.info("S3Client initialized for bucket: {}, region: {}, endpoint: {}", config.getBucketName(),
+                config.getRegion(), endpointUrl == null || endpointUrl.isEmpty() ? "default" : endpointUrl);
+    }
+
+    private SdkHttpClient createHttpClient(S3SourceConnectorConfig config) {
+        if ("url-connection".equals(config.getHttpClient())) {
+            log.info("Using URL connection HTTP client");
+            return UrlConnectionHttpClient.builder()
+                    .connectionTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                    .socketTimeout(Duration.ofMillis(config.getSocketTimeoutMs()))
+                    .build();
+        }
 
-        log.info("S3Client initialized for bucket: {}, region: {}", config.getBucketName(), config.getRegion());
+        // Apache HttpClient sockets use TCP_NODELAY by default
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+                .connectionTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                .socketTimeout(Duration.ofMillis(config.getSocketTimeoutMs()))
+                .maxConnections(config.getHttpMaxConnections())
+                .connectionAcquisitionTimeout(Duration.ofMillis(config.getHttpConnectionAcquisitionTimeoutMs()))
+                .connectionMaxIdleTime(Duration.ofMillis(config.getHttpConnectionMaxIdleMs()))
+                .tcpKeepAlive(config.getHttpTcpKeepAlive())
+                .useIdleConnectionReaper(true);
+
+        long ttlMs = config.getHttpConnectionTtlMs();
+        if (ttlMs > 0) {
+            builder.connectionTimeToLive(Duration.ofMillis(ttlMs));
+        }
+
+        log.info("Using Apache HTTP client with max {} connections", config.getHttpMaxConnections());
+        return builder.build();
     }
 
     private AwsCredentialsProvider createCredentialsProvider(S3SourceConnectorConfig config) {
@@ -86,42 +157,297 @@ public class S3ClientWrapper implements AutoCloseable {
      * List S3 objects matching the configured filters
      */
     public List<S3Object> listObjects(String continuationToken) {
+        return listObjects(new ListingPrefix(config.getPrefix(), null), continuationToken).getObjects();
+    }
+
+    /**
+     * List one page of objects under a prefix, applying the configured filters.
+     * With a delimiter only the objects directly under the prefix are returned.
+     */
+    public ListingPage listObjects(ListingPrefix listingPrefix, String continuationToken) {
+        ListObjectsV2Response response = listPage(listingPrefix.getPrefix(), listingPrefix.getDelimiter(),
+                continuationToken, config.getMaxObjectsPerPoll());
+
+        // Apply filters
+        List<S3Object> objects = filterObjects(response.contents());
+
+        log.debug("Listed {} objects under '{}' from S3 bucket {}", objects.size(),
+                listingPrefix.getPrefix(), config.getBucketName());
+        return new ListingPage(objects, response.isTruncated() ? response.nextContinuationToken() : null);
+    }
+
+    /**
+     * Split the configured prefix into disjoint sub-prefixes with delimiter listings.
+     * Hive-style {@code name=value/} partitions rejected by the filter are pruned without
+     * being listed; other prefixes are split further until about {@code targetPrefixes}
+     * exist, so they can be listed in parallel. A prefix whose delimiter listing has a full
+     * page of plain objects is not paged further but listed flat, so partitions below it
+     * must be filtered by key. Returns the prefixes to list, in key order.
+     */
+    public List<ListingPrefix> discoverPrefixes(PartitionFilter filter, int targetPrefixes) {
+        return discoverPrefixes(Collections.singletonList(new ListingPrefix(config.getPrefix(), null)),
+                filter, targetPrefixes);
+    }
+
+    /**
+     * Split the given shard prefixes like {@link #discoverPrefixes(PartitionFilter, int)}.
+     * Prefixes with a delimiter cover a single level and are listed as they are.
+     */
+    public List<ListingPrefix> discoverPrefixes(List<ListingPrefix> roots, PartitionFilter filter, int targetPrefixes) {
+        List<ListingPrefix> result = new ArrayList<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        for (ListingPrefix root : roots) {
+            if (root.getDelimiter() != null) {
+                result.add(root);
+            } else {
+                toVisit.add(root.getPrefix());
+            }
+        }
+        int visited = 0;
+        int pruned = 0;
+
+        while (!toVisit.isEmpty()) {
+            String prefix = toVisit.poll();
+            boolean enoughPrefixes = result.size() + toVisit.size() + 1 >= targetPrefixes;
+            if (filter == null && enoughPrefixes) {
+                result.add(new ListingPrefix(prefix, null));
+                continue;
+            }
+            visited++;
+
+            List<String> children = new ArrayList<>();
+            boolean hasObjects = false;
+            boolean objectsOnly = false;
+            String token = null;
+            do {
+                ListObjectsV2Response response = listPage(prefix, DELIMITER, token, MAX_KEYS_PER_PAGE);
+                hasObjects |= !response.contents().isEmpty();
+                for (CommonPrefix commonPrefix : response.commonPrefixes()) {
+                    children.add(commonPrefix.prefix());
+                }
+                token = response.isTruncated() ? response.nextContinuationToken() : null;
+                // A full page of plain objects marks a leaf; paging on would cost as much as listing it.
+                // Sub-prefixes on later pages are then listed flat and filtered by key.
+                objectsOnly = token != null && !response.contents().isEmpty() && response.commonPrefixes().isEmpty();
+            } while (token != null && !objectsOnly);
+
+            boolean partitioned = filter != null && children.stream()
+                    .anyMatch(child -> PartitionFilter.parseSegment(child.substring(prefix.length())) != null);
+            if (children.isEmpty() || objectsOnly || !partitioned && enoughPrefixes) {
+                // Leaf: everything below it is listed flat
+                result.add(new ListingPrefix(prefix, null));
+                continue;
+            }
+
+            if (hasObjects) {
+                // Objects next to the sub-prefixes, e.g. _SUCCESS markers
+                result.add(new ListingPrefix(prefix, DELIMITER));
+            }
+            for (String child : children) {
+                String[] partition = partitioned ? PartitionFilter.parseSegment(child.substring(prefix.length())) : null;
+                if (partitioned && partition == null) {
+                    result.add(new ListingPrefix(child, null));
+                } else if (partition != null && !filter.accepts(partition[0], partition[1])) {
+                    log.debug("Pruned partition {}", child);
+                    pruned++;
+                } else {
+                    toVisit.add(child);
+                }
+            }
+        }
+
+        result.sort(Comparator.comparing(ListingPrefix::getPrefix));
+        log.info("Prefix discovery visited {} prefixes, pruned {} partitions, {} prefixes left to list",
+                visited, pruned, result.size());
+        return result;
+    }
+
+    /**
+     * Top-level shards of the configured prefix: one per sub-prefix, plus the prefix itself
+     * with a delimiter when objects sit directly under it. Sub-prefixes that are
+     * {@code name=value/} partitions rejected by the filter are left out.
+     */
+    public List<ListingPrefix> listShards(PartitionFilter filter) {
+        String root = config.getPrefix() == null ? "" : config.getPrefix();
+        List<ListingPrefix> shards = new ArrayList<>();
+        boolean hasObjects = false;
+        String token = null;
+        do {
+            ListObjectsV2Response response = listPage(root, DELIMITER, token, MAX_KEYS_PER_PAGE);
+            hasObjects |= !response.contents().isEmpty();
+            for (CommonPrefix commonPrefix : response.commonPrefixes()) {
+                String child = commonPrefix.prefix();
+                String[] partition = filter != null ? PartitionFilter.parseSegment(child.substring(root.length())) : null;
+                if (partition == null || filter.accepts(partition[0], partition[1])) {
+                    shards.add(new ListingPrefix(child, null));
+                }
+            }
+            token = response.isTruncated() ? response.nextContinuationToken() : null;
+        } while (token != null);
+
+        if (hasObjects) {
+            shards.add(0, new ListingPrefix(root, DELIMITER));
+        }
+        return shards;
+    }
+
+    /**
+     * Count the objects under a prefix that pass the configured filters, and their total size.
+     * Costs one LIST request per 1000 keys.
+     */
+    public PrefixStats measurePrefix(ListingPrefix listingPrefix) {
+        return measurePrefix(listingPrefix, null);
+    }
+
+    /**
+     * Measure a prefix like {@link #measurePrefix(ListingPrefix)}, also handing each page of
+     * filtered objects to {@code pages} when it is not null
+     */
+    public PrefixStats measurePrefix(ListingPrefix listingPrefix, Consumer<List<S3Object>> pages) {
+        long objects = 0;
+        long bytes = 0;
+        String token = null;
+        do {
+            ListObjectsV2Response response = listPage(listingPrefix.getPrefix(), listingPrefix.getDelimiter(),
+                    token, MAX_KEYS_PER_PAGE);
+            List<S3Object> page = filterObjects(response.contents());
+            for (S3Object object : page) {
+                objects++;
+                bytes += object.size();
+            }
+            if (pages != null) {
+                pages.accept(page);
+            }
+            token = response.isTruncated() ? response.nextContinuationToken() : null;
+        } while (token != null);
+        return new PrefixStats(objects, bytes);
+    }
+
+    private ListObjectsV2Response listPage(String prefix, String delimiter, String continuationToken, int maxKeys) {
         return executeWithRetry(() -> {
             ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
                     .bucket(config.getBucketName())
-                    .maxKeys(config.getMaxObjectsPerPoll());
+                    .maxKeys(maxKeys);
 
-            if (config.getPrefix() != null && !config.getPrefix().isEmpty()) {
-                requestBuilder.prefix(config.getPrefix());
+            if (prefix != null && !prefix.isEmpty()) {
+                requestBuilder.prefix(prefix);
+            }
+
+            if (delimiter != null) {
+                requestBuilder.delimiter(delimiter);
             }
 
             if (continuationToken != null && !continuationToken.isEmpty()) {
                 requestBuilder.continuationToken(continuationToken);
             }
 
+            long start = System.nanoTime();
             ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
-            List<S3Object> objects = response.contents();
-
-            // Apply filters
-            objects = filterObjects(objects);
-
-            log.debug("Listed {} objects from S3 bucket {}", objects.size(), config.getBucketName());
-            return objects;
-        }, "listObjects");
+            metrics.recordListLatency(System.nanoTime() - start);
+            return response;
+        }, "listObjects", prefix, listRateLimiter);
     }
 
     /**
      * Get object content as byte array
      */
     public byte[] getObjectContent(String key) {
+        return getObjectContent(config.getBucketName(), key);
+    }
+
+    /**
+     * Get the content of an object in another bucket, such as an S3 Inventory destination
+     */
+    public byte[] getObjectContent(String bucket, String key) {
         return executeWithRetry(() -> {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(config.getBucketName())
-                    .key(key)
-                    .build();
+            GetObjectRequest request = getObjectRequest(bucket, key, null);
+
+            long start = System.nanoTime();
+            byte[] content = s3Client.getObjectAsBytes(request).asByteArray();
+            metrics.recordGet(System.nanoTime() - start, content.length);
+            return content;
+        }, "getObjectContent", key, getRateLimiter);
+    }
 
-            return s3Client.getObjectAsBytes(request).asByteArray();
-        }, "getObjectContent", key);
+    /**
+     * Stream object content to a local file without holding it on the heap
+     */
+    public Path downloadToFile(String key, Path target) {
+        return executeWithRetry(() -> {
+            GetObjectRequest request = getObjectRequest(config.getBucketName(), key, null);
+
+            long start = System.nanoTime();
+            long bytes;
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+                bytes = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw SdkClientException.create("Failed to download " + key + " to " + target, e);
+            }
+            metrics.recordGet(System.nanoTime() - start, bytes);
+            return target;
+        }, "downloadToFile", key, getRateLimiter);
+    }
+
+    /**
+     * Open the content stream of an object from {@code startByte} on. The caller closes the stream.
+     */
+    public ResponseInputStream<GetObjectResponse> openObjectStream(String key, long startByte) {
+        return executeWithRetry(() -> {
+            GetObjectRequest request = getObjectRequest(config.getBucketName(), key,
+                    startByte > 0 ? "bytes=" + startByte + "-" : null);
+
+            long start = System.nanoTime();
+            ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request);
+            Long length = in.response().contentLength();
+            metrics.recordGet(System.nanoTime() - start, length != null ? length : 0L);
+            return in;
+        }, "openObjectStream", key, getRateLimiter);
+    }
+
+    /**
+     * Read an object into {@code buffer}, so small objects can reuse pooled buffers instead of
+     * allocating one array each. Content that outgrew the buffer since it was listed is read
+     * into a larger array.
+     */
+    public ByteBuffer getObjectContent(String key, byte[] buffer) {
+        return executeWithRetry(() -> {
+            GetObjectRequest request = getObjectRequest(config.getBucketName(), key, null);
+
+            long start = System.nanoTime();
+            ByteBuffer content;
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+                content = readFully(in, buffer);
+            } catch (IOException e) {
+                throw SdkClientException.create("Failed to read " + key, e);
+            }
+            metrics.recordGet(System.nanoTime() - start, content.remaining());
+            return content;
+        }, "getObjectContent", key, getRateLimiter);
+    }
+
+    private static ByteBuffer readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int n;
+        while (length < buffer.length && (n = in.read(buffer, length, buffer.length - length)) >= 0) {
+            length += n;
+        }
+        if (length < buffer.length || (n = in.read()) < 0) {
+            return ByteBuffer.wrap(buffer, 0, length);
+        }
+
+        ByteArrayOutputStream grown = new ByteArrayOutputStream(buffer.length * 2);
+        grown.write(buffer, 0, length);
+        grown.write(n);
+        in.transferTo(grown);
+        return ByteBuffer.wrap(grown.toByteArray());
+    }
+
+    private static GetObjectRequest getObjectRequest(String bucket, String key, String range) {
+        return GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range(range)
+                .build();
     }
 
     /**
@@ -135,7 +461,7 @@ public class S3ClientWrapper implements AutoCloseable {
                     .build();
 
             return s3Client.headObject(request);
-        }, "getObjectMetadata", key);
+        }, "getObjectMetadata", key, getRateLimiter);
     }
 
     /**
@@ -153,85 +479,191 @@ public class S3ClientWrapper implements AutoCloseable {
         }
     }
 
-    private List<S3Object> filterObjects(List<S3Object> objects) {
-        return objects.stream()
-                .filter(obj -> {
-                    // Filter by suffix
-                    if (config.getSuffix() != null && !config.getSuffix().isEmpty()) {
-                        if (!obj.key().endsWith(config.getSuffix())) {
-                            return false;
-                        }
-                    }
-
-                    // Filter by size
-                    long size = obj.size();
-                    if (size < config.getMinObjectSize() || size > config.getMaxObjectSize()) {
-                        return false;
-                    }
-
-                    // Filter by last modified time
-                    if (config.getFilterByLastModified()) {
-                        Instant lastModified = obj.lastModified();
-                        if (config.getLastModifiedAfter() != null && !config.getLastModifiedAfter().isEmpty()) {
-                            Instant after = Instant.parse(config.getLastModifiedAfter());
-                            if (lastModified.isBefore(after)) {
-                                return false;
-                            }
-                        }
-                        if (config.getLastModifiedBefore() != null && !config.getLastModifiedBefore().isEmpty()) {
-                            Instant before = Instant.parse(config.getLastModifiedBefore());
-                            if (lastModified.isAfter(before)) {
-                                return false;
-                            }
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private <T> T executeWithRetry(RetryableOperation<T> operation, String operationName) {
-        return executeWithRetry(operation, operationName, null);
-    }
-
-    private <T> T executeWithRetry(RetryableOperation<T> operation, String operationName, String key) {
-        int attempts = 0;
-        Exception lastException = null;
-
-        while (attempts <= maxRetries) {
+    /**
+     * Delete an object. Mutations share the GET/HEAD rate limit.
+     */
+    public void deleteObject(String key) {
+        executeWithRetry(() -> s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(config.getBucketName())
+                .key(key)
+                .build()), "deleteObject", key, getRateLimiter);
+    }
+
+    /**
+     * Delete an object only if its ETag still matches, so a version uploaded since cannot be
+     * deleted unread. DeleteObject has no If-Match in this SDK, so the ETag is checked with a
+     * HEAD request first; an upload between the two requests is not detected.
+     * Returns false, without deleting, when the object changed or is gone.
+     */
+    public boolean deleteObjectIfMatch(String key, String etag) {
+        if (etag != null) {
             try {
-                return operation.execute();
-            } catch (SdkException e) {
-                lastException = e;
-                attempts++;
-                
-                if (attempts > maxRetries) {
-                    String message = String.format("Failed to execute %s after %d attempts", 
-                            operationName, attempts);
-                    if (key != null) {
-                        message += " for key: " + key;
-                    }
-                    log.error(message, e);
-                    throw new RuntimeException(message, e);
+                if (!sameEtag(getObjectMetadata(key).eTag(), etag)) {
+                    return false;
                 }
+            } catch (NoSuchKeyException e) {
+                return false;
+            }
+        }
+        deleteObject(key);
+        return true;
+    }
 
-                log.warn("Retry attempt {}/{} for {}: {}", attempts, maxRetries, operationName, e.getMessage());
-                try {
-                    Thread.sleep(retryBackoffMs * attempts); // Exponential backoff
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted during retry", ie);
-                }
+    /**
+     * Add or replace one tag on an object, keeping its other tags
+     */
+    public void tagObject(String key, String tagKey, String tagValue) {
+        List<Tag> tags = new ArrayList<>(executeWithRetry(() -> s3Client.getObjectTagging(
+                GetObjectTaggingRequest.builder()
+                        .bucket(config.getBucketName())
+                        .key(key)
+                        .build()).tagSet(), "getObjectTagging", key, getRateLimiter));
+        tags.removeIf(tag -> tag.key().equals(tagKey));
+        tags.add(Tag.builder().key(tagKey).value(tagValue).build());
+
+        executeWithRetry(() -> s3Client.putObjectTagging(PutObjectTaggingRequest.builder()
+                .bucket(config.getBucketName())
+                .key(key)
+                .tagging(Tagging.builder().tagSet(tags).build())
+                .build()), "putObjectTagging", key, getRateLimiter);
+    }
+
+    /**
+     * Move an object within the bucket by copying and deleting it, only if its ETag still
+     * matches: the copy is conditional on it, and the delete as in {@link #deleteObjectIfMatch}.
+     * Returns false, without copying, when the object changed or is gone.
+     * Single-request copies are limited to 5 GB by S3.
+     */
+    public boolean moveObject(String key, String targetKey, String etag) {
+        try {
+            executeWithRetry(() -> s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(config.getBucketName())
+                    .sourceKey(key)
+                    .copySourceIfMatch(etag)
+                    .destinationBucket(config.getBucketName())
+                    .destinationKey(targetKey)
+                    .build()), "copyObject", key, getRateLimiter);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 412 || e.statusCode() == 404) {
+                return false;
             }
+            throw e;
+        }
+        if (!deleteObjectIfMatch(key, etag)) {
+            log.info("Object {} changed after it was copied to {}, keeping the new version", key, targetKey);
         }
+        return true;
+    }
+
+    /**
+     * Compare ETags with or without their surrounding quotes
+     */
+    static boolean sameEtag(String left, String right) {
+        return left != null && right != null && unquote(left).equals(unquote(right));
+    }
 
-        throw new RuntimeException("Failed to execute " + operationName, lastException);
+    private static String unquote(String etag) {
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")
+                ? etag.substring(1, etag.length() - 1) : etag;
+    }
+
+    private List<S3Object> filterObjects(List<S3Object> objects) {
+        return objectFilter.filter(objects);
     }
 
-    @FunctionalInterface
-    private interface RetryableOperation<T> {
-        T execute() throws SdkException;
+    private <T> T executeWithRetry(RetryEngine.RetryableOperation<T> operation, String operationName,
+                                   String key, RequestRateLimiter rateLimiter) {
+        return retryEngine.execute(() -> executeLimited(operation, rateLimiter), operationName, key);
+    }
+
+    /**
+     * Run a single attempt under the request rate limit and the adaptive concurrency limit
+     */
+    private <T> T executeLimited(RetryEngine.RetryableOperation<T> operation, RequestRateLimiter rateLimiter) {
+        try {
+            rateLimiter.acquire();
+            concurrencyLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for S3 request permit", e);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = operation.execute();
+            concurrencyLimiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (SdkException e) {
+            if (RetryEngine.isThrottling(e)) {
+                concurrencyLimiter.onThrottle();
+            }
+            throw e;
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * A prefix to list, optionally restricted to one level by a delimiter
+     */
+    public static final class ListingPrefix {
+        private final String prefix;
+        private final String delimiter;
+
+        public ListingPrefix(String prefix, String delimiter) {
+            this.prefix = prefix == null ? "" : prefix;
+            this.delimiter = delimiter;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public String getDelimiter() {
+            return delimiter;
+        }
+    }
+
+    /**
+     * Filtered objects from one list page and the token for the next page, or null at the end
+     */
+    public static final class ListingPage {
+        private final List<S3Object> objects;
+        private final String nextContinuationToken;
+
+        public ListingPage(List<S3Object> objects, String nextContinuationToken) {
+            this.objects = objects;
+            this.nextContinuationToken = nextContinuationToken;
+        }
+
+        public List<S3Object> getObjects() {
+            return objects;
+        }
+
+        public String getNextContinuationToken() {
+            return nextContinuationToken;
+        }
+    }
+
+    /**
+     * Number and total size of the objects under a prefix
+     */
+    public static final class PrefixStats {
+        private final long objects;
+        private final long bytes;
+
+        public PrefixStats(long objects, long bytes) {
+            this.objects = objects;
+            this.bytes = bytes;
+        }
+
+        public long getObjects() {
+            return objects;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
     }
 
     @Override
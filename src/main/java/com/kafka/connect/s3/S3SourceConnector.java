@@ -1,15 +1,22 @@
 package com.kafka.connect.s3;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
+import org.apache.kafka.connect.source.ConnectorTransactionBoundaries;
+import org.apache.kafka.connect.source.ExactlyOnceSupport;
 import org.apache.kafka.connect.source.SourceConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Main connector class for S3 Source Connector
@@ -17,8 +24,22 @@ import java.util.Map;
  */
 public class S3SourceConnector extends SourceConnector {
     private static final Logger log = LoggerFactory.getLogger(S3SourceConnector.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Task property holding the JSON array of shard prefixes assigned to the task
+     */
+    public static final String TASK_SHARDS_CONFIG = "task.shards";
+
+    /**
+     * Task property holding the JSON array of S3 Inventory file keys assigned to the task
+     */
+    public static final String TASK_INVENTORY_FILES_CONFIG = "task.inventory.files";
 
     private Map<String, String> configProps;
+    private ShardMonitor shardMonitor;
+    private S3SourceConnectorMetrics metrics;
+    private InventoryManifest inventoryManifest;
 
     @Override
     public void start(Map<String, String> props) {
@@ -26,12 +47,29 @@ public class S3SourceConnector extends SourceConnector {
         configProps = props;
         
         // Validate configuration
+        S3SourceConnectorConfig config;
         try {
-            new S3SourceConnectorConfig(props);
+            config = new S3SourceConnectorConfig(props);
         } catch (Exception e) {
             log.error("Invalid configuration: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to start connector due to invalid configuration", e);
         }
+
+        if (config.getTasksMax() > 1) {
+            // Several tasks share the prefix out by top-level sub-prefix
+            metrics = new S3SourceConnectorMetrics(props.getOrDefault("name", config.getBucketName()));
+            shardMonitor = new ShardMonitor(config, context(), metrics);
+
+            String manifest = config.getInventoryManifest();
+            if (manifest != null && !manifest.isEmpty()) {
+                // Inventory files are split between tasks; a single task reads the manifest itself
+                try (S3ClientWrapper s3Client = new S3ClientWrapper(config)) {
+                    inventoryManifest = InventoryManifest.load(manifest, s3Client);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read inventory manifest " + manifest, e);
+                }
+            }
+        }
         
         log.info("S3 Source Connector started successfully");
     }
@@ -39,6 +77,14 @@ public class S3SourceConnector extends SourceConnector {
     @Override
     public void stop() {
         log.info("Stopping S3 Source Connector");
+        if (shardMonitor != null) {
+            shardMonitor.close();
+            shardMonitor = null;
+        }
+        if (metrics != null) {
+            metrics.close();
+            metrics = null;
+        }
     }
 
     @Override
@@ -55,16 +101,29 @@ public class S3SourceConnector extends SourceConnector {
         log.info("Creating {} task configurations", actualTasks);
         
         List<Map<String, String>> taskConfigs = new ArrayList<>();
-        
-        if (actualTasks == 1) {
+        List<List<String>> shards = actualTasks > 1 && shardMonitor != null ? shardMonitor.assign(actualTasks) : null;
+
+        if (shards == null) {
             // Single task gets all configuration
             taskConfigs.add(new HashMap<>(configProps));
         } else {
-            // Multiple tasks - each task can handle a subset of objects
-            // For simplicity, all tasks get the same config and filter by task ID
-            for (int i = 0; i < actualTasks; i++) {
+            // Multiple tasks - each task lists only the shards assigned to it
+            List<List<String>> inventoryFiles = inventoryManifest != null
+                    ? assignInventoryFiles(actualTasks) : Collections.emptyList();
+            int taskCount = Math.max(shards.size(), inventoryFiles.size());
+            for (int i = 0; i < taskCount; i++) {
                 Map<String, String> taskConfig = new HashMap<>(configProps);
                 taskConfig.put("task.id", String.valueOf(i));
+                try {
+                    taskConfig.put(TASK_SHARDS_CONFIG, objectMapper.writeValueAsString(
+                            i < shards.size() ? shards.get(i) : Collections.emptyList()));
+                    if (inventoryManifest != null) {
+                        taskConfig.put(TASK_INVENTORY_FILES_CONFIG, objectMapper.writeValueAsString(
+                                i < inventoryFiles.size() ? inventoryFiles.get(i) : Collections.emptyList()));
+                    }
+                } catch (JsonProcessingException e) {
+                    throw new RuntimeException("Failed to serialize task assignment", e);
+                }
                 taskConfigs.add(taskConfig);
             }
         }
@@ -72,6 +131,36 @@ public class S3SourceConnector extends SourceConnector {
         return taskConfigs;
     }
 
+    /**
+     * Spread inventory files over tasks by compressed size, largest first
+     */
+    private List<List<String>> assignInventoryFiles(int tasks) {
+        Map<String, Long> sizes = new TreeMap<>();
+        for (InventoryManifest.InventoryFile file : inventoryManifest.getFiles()) {
+            sizes.put(file.getKey(), file.getSize());
+        }
+        return ShardMonitor.balance(sizes, tasks);
+    }
+
+    /**
+     * Offsets only decide what is read again in incremental mode; full mode re-reads every object
+     * each cycle, so its output cannot be exactly once
+     */
+    @Override
+    public ExactlyOnceSupport exactlyOnceSupport(Map<String, String> props) {
+        String readMode = props.getOrDefault(S3SourceConnectorConfig.READ_MODE_CONFIG,
+                S3SourceConnectorConfig.READ_MODE_DEFAULT);
+        return "incremental".equals(readMode) ? ExactlyOnceSupport.SUPPORTED : ExactlyOnceSupport.UNSUPPORTED;
+    }
+
+    /**
+     * Tasks end transactions per object or per record count, see transaction.commit.mode
+     */
+    @Override
+    public ConnectorTransactionBoundaries canDefineTransactionBoundaries(Map<String, String> props) {
+        return ConnectorTransactionBoundaries.SUPPORTED;
+    }
+
     @Override
     public ConfigDef config() {
         return S3SourceConnectorConfig.config();
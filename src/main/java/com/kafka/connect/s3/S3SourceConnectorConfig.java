@@ -4,6 +4,8 @@ import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,13 +26,35 @@ public class S3SourceConnectorConfig extends AbstractConfig {
     public static final String S3_REGION_DEFAULT = "us-east-1";
     public static final String S3_REGION_DOC = "AWS region where the S3 bucket is located";
 
+    public static final String S3_ENDPOINT_URL_CONFIG = "s3.endpoint.url";
+    public static final String S3_ENDPOINT_URL_DEFAULT = "";
+    public static final String S3_ENDPOINT_URL_DOC = "Override the S3 endpoint URL (e.g., for S3-compatible stores or VPC endpoints). Empty uses the AWS endpoint for the region";
+
+    public static final String S3_PATH_STYLE_ACCESS_CONFIG = "s3.path.style.access";
+    public static final boolean S3_PATH_STYLE_ACCESS_DEFAULT = false;
+    public static final String S3_PATH_STYLE_ACCESS_DOC = "Use path-style addressing (endpoint/bucket/key) instead of virtual-hosted-style (bucket.endpoint/key)";
+
     public static final String S3_PREFIX_CONFIG = "s3.prefix";
     public static final String S3_PREFIX_DEFAULT = "";
     public static final String S3_PREFIX_DOC = "Prefix to filter S3 objects (e.g., 'folder/subfolder/')";
 
     public static final String S3_SUFFIX_CONFIG = "s3.suffix";
     public static final String S3_SUFFIX_DEFAULT = "";
-    public static final String S3_SUFFIX_DOC = "Suffix to filter S3 objects (e.g., '.json', '.csv')";
+    public static final String S3_SUFFIX_DOC = "Suffix to filter S3 objects (e.g., '.json', '.csv'). Separate several suffixes with commas";
+
+    public static final String S3_KEY_INCLUDE_CONFIG = "s3.key.include";
+    public static final String S3_KEY_INCLUDE_DEFAULT = "";
+    public static final String S3_KEY_INCLUDE_DOC = "Key patterns to process, as 'glob:' or 'regex:' expressions (glob if no prefix). "
+            + "An object must match at least one pattern. In globs '**' crosses '/' and '*' does not";
+
+    public static final String S3_KEY_EXCLUDE_CONFIG = "s3.key.exclude";
+    public static final String S3_KEY_EXCLUDE_DEFAULT = "";
+    public static final String S3_KEY_EXCLUDE_DOC = "Keys or key patterns to skip, as exact keys, globs such as 'tmp/**', or 'regex:' expressions";
+
+    public static final String PARTITION_FILTER_CONFIG = "partition.filter";
+    public static final String PARTITION_FILTER_DEFAULT = "";
+    public static final String PARTITION_FILTER_DOC = "Predicates on Hive-style 'name=value/' key segments, separated by ';' "
+            + "(e.g., 'dt >= 2026-10-01; region in (eu, us)'). Partitions that fail a predicate are pruned during listing";
 
     public static final String AWS_ACCESS_KEY_ID_CONFIG = "aws.access.key.id";
     public static final String AWS_ACCESS_KEY_ID_DEFAULT = "";
@@ -54,7 +78,29 @@ public class S3SourceConnectorConfig extends AbstractConfig {
 
     public static final String BATCH_SIZE_CONFIG = "batch.size";
     public static final int BATCH_SIZE_DEFAULT = 1000;
-    public static final String BATCH_SIZE_DOC = "Number of records to batch before sending to Kafka";
+    public static final String BATCH_SIZE_DOC = "Maximum number of records returned from a single poll; a larger object's records are spread over several polls";
+
+    public static final String BATCH_MIN_BYTES_CONFIG = "batch.min.bytes";
+    public static final long BATCH_MIN_BYTES_DEFAULT = 1024L * 1024;
+    public static final String BATCH_MIN_BYTES_DOC = "Lower bound and growth step of the adaptive limit on object bytes returned from a single poll";
+
+    public static final String BATCH_MAX_BYTES_CONFIG = "batch.max.bytes";
+    public static final long BATCH_MAX_BYTES_DEFAULT = 16L * 1024 * 1024;
+    public static final String BATCH_MAX_BYTES_DOC = "Upper bound and starting value of the adaptive limit on object bytes returned from a single poll";
+
+    public static final String BATCH_ACK_LATENCY_TARGET_MS_CONFIG = "batch.ack.latency.target.ms";
+    public static final long BATCH_ACK_LATENCY_TARGET_MS_DEFAULT = 1000L;
+    public static final String BATCH_ACK_LATENCY_TARGET_MS_DOC = "Polls whose records Kafka acknowledges faster than this grow the batch byte limit; "
+            + "slower ones halve it. 0 keeps the limit at batch.max.bytes";
+
+    public static final String BACKLOG_LAG_TARGET_MS_CONFIG = "backlog.lag.target.ms";
+    public static final long BACKLOG_LAG_TARGET_MS_DEFAULT = 0L;
+    public static final String BACKLOG_LAG_TARGET_MS_DOC = "While the oldest listed but unprocessed object is older than this, the task scales up "
+            + "the objects processed per poll and the small-object fetch concurrency (0 = disabled)";
+
+    public static final String BACKLOG_MAX_SCALE_CONFIG = "backlog.max.scale";
+    public static final int BACKLOG_MAX_SCALE_DEFAULT = 4;
+    public static final String BACKLOG_MAX_SCALE_DOC = "Largest multiple of max.objects.per.poll and small.object.fetch.concurrency the task scales up to";
 
     public static final String OFFSET_STORAGE_KEY_CONFIG = "offset.storage.key";
     public static final String OFFSET_STORAGE_KEY_DEFAULT = "s3-source-connector-offset";
@@ -64,9 +110,37 @@ public class S3SourceConnectorConfig extends AbstractConfig {
     public static final String READ_MODE_DEFAULT = "full";
     public static final String READ_MODE_DOC = "Read mode: 'full' (read entire file) or 'incremental' (only new/changed files)";
 
+    public static final String INVENTORY_MANIFEST_CONFIG = "inventory.manifest";
+    public static final String INVENTORY_MANIFEST_DEFAULT = "";
+    public static final String INVENTORY_MANIFEST_DOC = "S3 Inventory manifest.json to backfill from before listing, as s3://bucket/key or a local path. "
+            + "Only CSV inventories are supported. Requires read.mode 'incremental'";
+
+    public static final String COMPLETED_OBJECT_ACTION_CONFIG = "completed.object.action";
+    public static final String COMPLETED_OBJECT_ACTION_DEFAULT = "none";
+    public static final String COMPLETED_OBJECT_ACTION_DOC = "Action taken once every record of an object has been acknowledged by Kafka: "
+            + "'none', 'delete', 'tag' (see completed.object.tag) or 'move' (see completed.object.prefix)";
+
+    public static final String COMPLETED_OBJECT_PREFIX_CONFIG = "completed.object.prefix";
+    public static final String COMPLETED_OBJECT_PREFIX_DEFAULT = "processed/";
+    public static final String COMPLETED_OBJECT_PREFIX_DOC = "Prefix that completed objects are moved under when completed.object.action is 'move'. "
+            + "Must not overlap s3.prefix, or moved objects are read again";
+
+    public static final String COMPLETED_OBJECT_TAG_CONFIG = "completed.object.tag";
+    public static final String COMPLETED_OBJECT_TAG_DEFAULT = "s3-source-connector=processed";
+    public static final String COMPLETED_OBJECT_TAG_DOC = "Tag set on completed objects as 'key=value' when completed.object.action is 'tag'";
+
+    public static final String TRANSACTION_COMMIT_MODE_CONFIG = "transaction.commit.mode";
+    public static final String TRANSACTION_COMMIT_MODE_DEFAULT = "object";
+    public static final String TRANSACTION_COMMIT_MODE_DOC = "Where transactions end when the connector defines transaction boundaries "
+            + "(transaction.boundary=connector): 'object' (after the last record of each object) or 'records' (every transaction.commit.records records)";
+
+    public static final String TRANSACTION_COMMIT_RECORDS_CONFIG = "transaction.commit.records";
+    public static final int TRANSACTION_COMMIT_RECORDS_DEFAULT = 10000;
+    public static final String TRANSACTION_COMMIT_RECORDS_DOC = "Records per transaction when transaction.commit.mode is 'records'";
+
     public static final String FILE_FORMAT_CONFIG = "file.format";
     public static final String FILE_FORMAT_DEFAULT = "json";
-    public static final String FILE_FORMAT_DOC = "File format: 'json', 'csv', 'text', 'avro', or 'binary'";
+    public static final String FILE_FORMAT_DOC = "File format: 'json', 'csv', 'text', 'avro', 'binary', or 'framed'";
 
     public static final String CSV_DELIMITER_CONFIG = "csv.delimiter";
     public static final String CSV_DELIMITER_DEFAULT = ",";
@@ -80,13 +154,76 @@ public class S3SourceConnectorConfig extends AbstractConfig {
     public static final boolean JSON_ARRAY_MODE_DEFAULT = false;
     public static final String JSON_ARRAY_MODE_DOC = "If true, treats each file as a JSON array and splits into individual records";
 
+    public static final String PARSE_PARALLELISM_CONFIG = "parse.parallelism";
+    public static final int PARSE_PARALLELISM_DEFAULT = 1;
+    public static final String PARSE_PARALLELISM_DOC = "Threads per task that parse one large JSON lines, CSV or text object in chunks split on line boundaries. 1 parses on the task thread";
+
+    public static final String PARSE_PARALLEL_MIN_BYTES_CONFIG = "parse.parallel.min.bytes";
+    public static final long PARSE_PARALLEL_MIN_BYTES_DEFAULT = 16777216L;
+    public static final String PARSE_PARALLEL_MIN_BYTES_DOC = "Objects smaller than this are parsed on the task thread even when parse.parallelism is above 1";
+
+    public static final String RECORD_FIELDS_CONFIG = "record.fields";
+    public static final String RECORD_FIELDS_DEFAULT = "";
+    public static final String RECORD_FIELDS_DOC = "Top-level fields to keep in each record; other fields are skipped while parsing. "
+            + "The key and partition fields are always kept. Empty keeps all fields";
+
+    public static final String RECORD_FILTER_CONFIG = "record.filter";
+    public static final String RECORD_FILTER_DEFAULT = "";
+    public static final String RECORD_FILTER_DOC = "Predicates on top-level record fields, separated by ';', e.g. "
+            + "\"event_type = purchase; amount >= 100\". Records that fail or lack a field are dropped while parsing";
+
+    public static final String AGGREGATION_MAX_RECORDS_CONFIG = "aggregation.max.records";
+    public static final int AGGREGATION_MAX_RECORDS_DEFAULT = 1;
+    public static final String AGGREGATION_MAX_RECORDS_DOC = "Pack up to this many consecutive records of an object into one Kafka record, "
+            + "one per line of the value. 1 emits every record on its own";
+
+    public static final String AGGREGATION_MAX_BYTES_CONFIG = "aggregation.max.bytes";
+    public static final int AGGREGATION_MAX_BYTES_DEFAULT = 1048576;
+    public static final String AGGREGATION_MAX_BYTES_DOC = "Upper bound on the value size of a packed record; a single larger record is still emitted on its own";
+
+    public static final String BINARY_CHUNK_BYTES_CONFIG = "binary.chunk.bytes";
+    public static final int BINARY_CHUNK_BYTES_DEFAULT = 1000000;
+    public static final String BINARY_CHUNK_BYTES_DOC = "Size of the raw chunks binary objects are split into, one Kafka record each. "
+            + "Keep it below the topic's max.message.bytes and the producer's max.request.size";
+
+    public static final String FRAMED_LENGTH_ENCODING_CONFIG = "framed.length.encoding";
+    public static final String FRAMED_LENGTH_ENCODING_DEFAULT = "varint";
+    public static final String FRAMED_LENGTH_ENCODING_DOC = "Length prefix of each frame in 'framed' files: 'varint' (as written by Protobuf's "
+            + "writeDelimitedTo), 'fixed16', 'fixed32', or 'fixed64'";
+
+    public static final String FRAMED_BYTE_ORDER_CONFIG = "framed.byte.order";
+    public static final String FRAMED_BYTE_ORDER_DEFAULT = "big";
+    public static final String FRAMED_BYTE_ORDER_DOC = "Byte order of fixed-width length prefixes: 'big' or 'little'";
+
+    public static final String FRAMED_HEADER_BYTES_CONFIG = "framed.header.bytes";
+    public static final int FRAMED_HEADER_BYTES_DEFAULT = 0;
+    public static final String FRAMED_HEADER_BYTES_DOC = "Bytes of a fixed frame header before the length prefix, such as a magic byte or version. "
+            + "They are skipped and not emitted";
+
+    public static final String FRAMED_KEY_PROTOBUF_FIELD_CONFIG = "framed.key.protobuf.field";
+    public static final int FRAMED_KEY_PROTOBUF_FIELD_DEFAULT = 0;
+    public static final String FRAMED_KEY_PROTOBUF_FIELD_DOC = "Number of a top-level Protobuf field whose value becomes the record key "
+            + "of each frame. 0 keys frames by object key";
+
     public static final String MAX_RETRIES_CONFIG = "max.retries";
     public static final int MAX_RETRIES_DEFAULT = 3;
     public static final String MAX_RETRIES_DOC = "Maximum number of retries for failed operations";
 
     public static final String RETRY_BACKOFF_MS_CONFIG = "retry.backoff.ms";
     public static final long RETRY_BACKOFF_MS_DEFAULT = 1000L;
-    public static final String RETRY_BACKOFF_MS_DOC = "Backoff time in milliseconds between retries";
+    public static final String RETRY_BACKOFF_MS_DOC = "Base backoff time in milliseconds for retries (decorrelated-jitter exponential backoff)";
+
+    public static final String RETRY_BACKOFF_MAX_MS_CONFIG = "retry.backoff.max.ms";
+    public static final long RETRY_BACKOFF_MAX_MS_DEFAULT = 20000L;
+    public static final String RETRY_BACKOFF_MAX_MS_DOC = "Maximum backoff time in milliseconds between retries, also capping retry.backoff.ms and retry.throttle.backoff.ms";
+
+    public static final String RETRY_THROTTLE_BACKOFF_MS_CONFIG = "retry.throttle.backoff.ms";
+    public static final long RETRY_THROTTLE_BACKOFF_MS_DEFAULT = 5000L;
+    public static final String RETRY_THROTTLE_BACKOFF_MS_DOC = "Base backoff time in milliseconds when S3 throttles requests (503 SlowDown)";
+
+    public static final String RETRY_BUDGET_TOKENS_CONFIG = "retry.budget.tokens";
+    public static final int RETRY_BUDGET_TOKENS_DEFAULT = 500;
+    public static final String RETRY_BUDGET_TOKENS_DOC = "Size of the per-task retry token bucket. A retry costs 5 tokens (10 when throttled), a success refunds tokens";
 
     public static final String CONNECT_TIMEOUT_MS_CONFIG = "connect.timeout.ms";
     public static final int CONNECT_TIMEOUT_MS_DEFAULT = 10000;
@@ -96,6 +233,99 @@ public class S3SourceConnectorConfig extends AbstractConfig {
     public static final int SOCKET_TIMEOUT_MS_DEFAULT = 50000;
     public static final String SOCKET_TIMEOUT_MS_DOC = "Socket timeout in milliseconds";
 
+    public static final String S3_HTTP_CLIENT_CONFIG = "s3.http.client";
+    public static final String S3_HTTP_CLIENT_DEFAULT = "apache";
+    public static final String S3_HTTP_CLIENT_DOC = "HTTP client implementation: 'apache' (pooled, tunable) or 'url-connection' (JDK HttpURLConnection)";
+
+    public static final String S3_HTTP_MAX_CONNECTIONS_CONFIG = "s3.http.max.connections";
+    public static final int S3_HTTP_MAX_CONNECTIONS_DEFAULT = 64;
+    public static final String S3_HTTP_MAX_CONNECTIONS_DOC = "Maximum number of pooled HTTP connections per task (apache client only)";
+
+    public static final String S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_CONFIG = "s3.http.connection.acquisition.timeout.ms";
+    public static final long S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_DEFAULT = 10000L;
+    public static final String S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_DOC = "Time in milliseconds to wait for a connection from the pool (apache client only)";
+
+    public static final String S3_HTTP_CONNECTION_MAX_IDLE_MS_CONFIG = "s3.http.connection.max.idle.ms";
+    public static final long S3_HTTP_CONNECTION_MAX_IDLE_MS_DEFAULT = 60000L;
+    public static final String S3_HTTP_CONNECTION_MAX_IDLE_MS_DOC = "Time in milliseconds an idle pooled connection is kept open (apache client only)";
+
+    public static final String S3_HTTP_CONNECTION_TTL_MS_CONFIG = "s3.http.connection.ttl.ms";
+    public static final long S3_HTTP_CONNECTION_TTL_MS_DEFAULT = -1L;
+    public static final String S3_HTTP_CONNECTION_TTL_MS_DOC = "Maximum lifetime in milliseconds of a pooled connection, so DNS changes are picked up (-1 = unlimited, apache client only)";
+
+    public static final String S3_HTTP_TCP_KEEPALIVE_CONFIG = "s3.http.tcp.keepalive";
+    public static final boolean S3_HTTP_TCP_KEEPALIVE_DEFAULT = false;
+    public static final String S3_HTTP_TCP_KEEPALIVE_DOC = "Enable TCP keep-alive probes on pooled connections (apache client only)";
+
+    public static final String S3_GET_RATE_LIMIT_CONFIG = "s3.get.rate.limit";
+    public static final double S3_GET_RATE_LIMIT_DEFAULT = 0.0;
+    public static final String S3_GET_RATE_LIMIT_DOC = "Maximum GET/HEAD requests per second issued by each task (0 = unlimited)";
+
+    public static final String S3_LIST_RATE_LIMIT_CONFIG = "s3.list.rate.limit";
+    public static final double S3_LIST_RATE_LIMIT_DEFAULT = 0.0;
+    public static final String S3_LIST_RATE_LIMIT_DOC = "Maximum LIST requests per second issued by each task (0 = unlimited)";
+
+    public static final String S3_CONCURRENCY_MIN_CONFIG = "s3.concurrency.min";
+    public static final int S3_CONCURRENCY_MIN_DEFAULT = 4;
+    public static final String S3_CONCURRENCY_MIN_DOC = "Lower bound of the adaptive in-flight S3 request limit per task";
+
+    public static final String S3_CONCURRENCY_INITIAL_CONFIG = "s3.concurrency.initial";
+    public static final int S3_CONCURRENCY_INITIAL_DEFAULT = 32;
+    public static final String S3_CONCURRENCY_INITIAL_DOC = "Starting value of the adaptive in-flight S3 request limit per task, "
+            + "clamped to s3.concurrency.min and s3.concurrency.max";
+
+    public static final String S3_CONCURRENCY_MAX_CONFIG = "s3.concurrency.max";
+    public static final int S3_CONCURRENCY_MAX_DEFAULT = 64;
+    public static final String S3_CONCURRENCY_MAX_DOC = "Upper bound of the adaptive in-flight S3 request limit per task";
+
+    public static final String LIST_PARALLELISM_CONFIG = "list.parallelism";
+    public static final int LIST_PARALLELISM_DEFAULT = 1;
+    public static final String LIST_PARALLELISM_DOC = "Number of sub-prefixes listed concurrently per task. Above 1, the prefix is split "
+            + "into sub-prefixes with delimiter listings and their pages are merged back in key order";
+
+    public static final String SCHEDULE_POLICY_CONFIG = "schedule.policy";
+    public static final String SCHEDULE_POLICY_DEFAULT = "listing";
+    public static final String SCHEDULE_POLICY_DOC = "Order in which listed objects are downloaded: listing (key order), oldest (last modified first), "
+            + "smallest (smallest first), or fair (weighted fair share of bytes across the top-level prefixes)";
+
+    public static final String SCHEDULE_LOOKAHEAD_OBJECTS_CONFIG = "schedule.lookahead.objects";
+    public static final int SCHEDULE_LOOKAHEAD_OBJECTS_DEFAULT = 10000;
+    public static final String SCHEDULE_LOOKAHEAD_OBJECTS_DOC = "Number of listed objects buffered and ordered by the schedule policy before they are downloaded";
+
+    public static final String SCHEDULE_FAIR_WEIGHTS_CONFIG = "schedule.fair.weights";
+    public static final String SCHEDULE_FAIR_WEIGHTS_DEFAULT = "";
+    public static final String SCHEDULE_FAIR_WEIGHTS_DOC = "Relative shares of top-level prefixes for the fair policy as prefix=weight entries, "
+            + "e.g. \"logs=4,metrics=1\". Prefixes not listed have weight 1";
+
+    public static final String S3_CONCURRENCY_LATENCY_TARGET_MS_CONFIG = "s3.concurrency.latency.target.ms";
+    public static final long S3_CONCURRENCY_LATENCY_TARGET_MS_DEFAULT = 2000L;
+    public static final String S3_CONCURRENCY_LATENCY_TARGET_MS_DOC = "Requests faster than this grow the adaptive concurrency limit; throttling responses halve it";
+
+    public static final String CACHE_DIR_CONFIG = "cache.dir";
+    public static final String CACHE_DIR_DEFAULT = "";
+    public static final String CACHE_DIR_DOC = "Local directory for caching downloaded objects, keyed by bucket, key and ETag. Empty disables the cache";
+
+    public static final String CACHE_MAX_BYTES_CONFIG = "cache.max.bytes";
+    public static final long CACHE_MAX_BYTES_DEFAULT = 1073741824L;
+    public static final String CACHE_MAX_BYTES_DOC = "Maximum size in bytes of the local object cache per task. Least recently used objects are evicted first";
+
+    public static final String SPILL_THRESHOLD_BYTES_CONFIG = "spill.threshold.bytes";
+    public static final long SPILL_THRESHOLD_BYTES_DEFAULT = -1L;
+    public static final String SPILL_THRESHOLD_BYTES_DOC = "Objects of at least this size are streamed to a local file and parsed from a memory-mapped buffer instead of a heap byte array (-1 = disabled)";
+
+    public static final String SPILL_DIR_CONFIG = "spill.dir";
+    public static final String SPILL_DIR_DEFAULT = "";
+    public static final String SPILL_DIR_DOC = "Directory for spilled objects. Empty uses java.io.tmpdir";
+
+    public static final String SMALL_OBJECT_THRESHOLD_BYTES_CONFIG = "small.object.threshold.bytes";
+    public static final int SMALL_OBJECT_THRESHOLD_BYTES_DEFAULT = -1;
+    public static final String SMALL_OBJECT_THRESHOLD_BYTES_DOC = "Objects of up to this size are fetched concurrently into pooled buffers, "
+            + "with their offsets looked up in one batch (-1 = disabled)";
+
+    public static final String SMALL_OBJECT_FETCH_CONCURRENCY_CONFIG = "small.object.fetch.concurrency";
+    public static final int SMALL_OBJECT_FETCH_CONCURRENCY_DEFAULT = 32;
+    public static final String SMALL_OBJECT_FETCH_CONCURRENCY_DOC = "Number of small objects fetched concurrently per task";
+
     public static final String INCLUDE_METADATA_CONFIG = "include.metadata";
     public static final boolean INCLUDE_METADATA_DEFAULT = true;
     public static final String INCLUDE_METADATA_DOC = "Include S3 object metadata (key, size, lastModified) in Kafka records";
@@ -128,6 +358,17 @@ public class S3SourceConnectorConfig extends AbstractConfig {
     public static final int TASKS_MAX_DEFAULT = 1;
     public static final String TASKS_MAX_DOC = "Maximum number of tasks for this connector";
 
+    public static final String SHARD_MONITOR_INTERVAL_MS_CONFIG = "shard.monitor.interval.ms";
+    public static final long SHARD_MONITOR_INTERVAL_MS_DEFAULT = 3600000L;
+    public static final String SHARD_MONITOR_INTERVAL_MS_DOC = "Interval at which the connector lists and measures the top-level prefixes "
+            + "shared out between tasks, and rebalances them when they change. Each measurement lists the whole prefix, "
+            + "one LIST request per 1000 keys. 0 assigns them once at startup";
+
+    public static final String SHARD_REBALANCE_IMBALANCE_RATIO_CONFIG = "shard.rebalance.imbalance.ratio";
+    public static final double SHARD_REBALANCE_IMBALANCE_RATIO_DEFAULT = 1.5;
+    public static final String SHARD_REBALANCE_IMBALANCE_RATIO_DOC = "Tasks are reconfigured when the busiest task carries more than this "
+            + "multiple of the busiest task's weight under a fresh assignment";
+
     public static final String ERROR_HANDLING_CONFIG = "error.handling";
     public static final String ERROR_HANDLING_DEFAULT = "fail";
     public static final String ERROR_HANDLING_DOC = "Error handling strategy: 'fail' (stop on error) or 'skip' (skip failed objects)";
@@ -167,6 +408,10 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                 // AWS Configuration
                 .define(S3_REGION_CONFIG, ConfigDef.Type.STRING, S3_REGION_DEFAULT,
                         ConfigDef.Importance.MEDIUM, S3_REGION_DOC)
+                .define(S3_ENDPOINT_URL_CONFIG, ConfigDef.Type.STRING, S3_ENDPOINT_URL_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_ENDPOINT_URL_DOC)
+                .define(S3_PATH_STYLE_ACCESS_CONFIG, ConfigDef.Type.BOOLEAN, S3_PATH_STYLE_ACCESS_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_PATH_STYLE_ACCESS_DOC)
                 .define(AWS_ACCESS_KEY_ID_CONFIG, ConfigDef.Type.STRING, AWS_ACCESS_KEY_ID_DEFAULT,
                         ConfigDef.Importance.MEDIUM, AWS_ACCESS_KEY_ID_DOC)
                 .define(AWS_SECRET_ACCESS_KEY_CONFIG, ConfigDef.Type.PASSWORD, AWS_SECRET_ACCESS_KEY_DEFAULT,
@@ -179,6 +424,13 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                         ConfigDef.Importance.MEDIUM, S3_PREFIX_DOC)
                 .define(S3_SUFFIX_CONFIG, ConfigDef.Type.STRING, S3_SUFFIX_DEFAULT,
                         ConfigDef.Importance.MEDIUM, S3_SUFFIX_DOC)
+                .define(S3_KEY_INCLUDE_CONFIG, ConfigDef.Type.LIST, S3_KEY_INCLUDE_DEFAULT,
+                        ObjectFilter::validatePatterns, ConfigDef.Importance.LOW, S3_KEY_INCLUDE_DOC)
+                .define(S3_KEY_EXCLUDE_CONFIG, ConfigDef.Type.LIST, S3_KEY_EXCLUDE_DEFAULT,
+                        ObjectFilter::validatePatterns, ConfigDef.Importance.LOW, S3_KEY_EXCLUDE_DOC)
+                .define(PARTITION_FILTER_CONFIG, ConfigDef.Type.STRING, PARTITION_FILTER_DEFAULT,
+                        (name, value) -> PartitionFilter.parse((String) value),
+                        ConfigDef.Importance.MEDIUM, PARTITION_FILTER_DOC)
                 .define(FILTER_BY_LAST_MODIFIED_CONFIG, ConfigDef.Type.BOOLEAN, FILTER_BY_LAST_MODIFIED_DEFAULT,
                         ConfigDef.Importance.LOW, FILTER_BY_LAST_MODIFIED_DOC)
                 .define(LAST_MODIFIED_AFTER_CONFIG, ConfigDef.Type.STRING, LAST_MODIFIED_AFTER_DEFAULT,
@@ -197,6 +449,16 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                         ConfigDef.Importance.MEDIUM, MAX_OBJECTS_PER_POLL_DOC)
                 .define(BATCH_SIZE_CONFIG, ConfigDef.Type.INT, BATCH_SIZE_DEFAULT,
                         ConfigDef.Importance.MEDIUM, BATCH_SIZE_DOC)
+                .define(BATCH_MIN_BYTES_CONFIG, ConfigDef.Type.LONG, BATCH_MIN_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, BATCH_MIN_BYTES_DOC)
+                .define(BATCH_MAX_BYTES_CONFIG, ConfigDef.Type.LONG, BATCH_MAX_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.MEDIUM, BATCH_MAX_BYTES_DOC)
+                .define(BATCH_ACK_LATENCY_TARGET_MS_CONFIG, ConfigDef.Type.LONG, BATCH_ACK_LATENCY_TARGET_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, BATCH_ACK_LATENCY_TARGET_MS_DOC)
+                .define(BACKLOG_LAG_TARGET_MS_CONFIG, ConfigDef.Type.LONG, BACKLOG_LAG_TARGET_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, BACKLOG_LAG_TARGET_MS_DOC)
+                .define(BACKLOG_MAX_SCALE_CONFIG, ConfigDef.Type.INT, BACKLOG_MAX_SCALE_DEFAULT,
+                        ConfigDef.Range.between(1, 64), ConfigDef.Importance.LOW, BACKLOG_MAX_SCALE_DOC)
 
                 // Offset and Read Mode
                 .define(OFFSET_STORAGE_KEY_CONFIG, ConfigDef.Type.STRING, OFFSET_STORAGE_KEY_DEFAULT,
@@ -204,10 +466,24 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                 .define(READ_MODE_CONFIG, ConfigDef.Type.STRING, READ_MODE_DEFAULT,
                         ConfigDef.ValidString.in("full", "incremental"),
                         ConfigDef.Importance.MEDIUM, READ_MODE_DOC)
+                .define(INVENTORY_MANIFEST_CONFIG, ConfigDef.Type.STRING, INVENTORY_MANIFEST_DEFAULT,
+                        ConfigDef.Importance.LOW, INVENTORY_MANIFEST_DOC)
+                .define(COMPLETED_OBJECT_ACTION_CONFIG, ConfigDef.Type.STRING, COMPLETED_OBJECT_ACTION_DEFAULT,
+                        ConfigDef.ValidString.in("none", "delete", "tag", "move"),
+                        ConfigDef.Importance.LOW, COMPLETED_OBJECT_ACTION_DOC)
+                .define(COMPLETED_OBJECT_PREFIX_CONFIG, ConfigDef.Type.STRING, COMPLETED_OBJECT_PREFIX_DEFAULT,
+                        ConfigDef.Importance.LOW, COMPLETED_OBJECT_PREFIX_DOC)
+                .define(COMPLETED_OBJECT_TAG_CONFIG, ConfigDef.Type.STRING, COMPLETED_OBJECT_TAG_DEFAULT,
+                        ConfigDef.Importance.LOW, COMPLETED_OBJECT_TAG_DOC)
+                .define(TRANSACTION_COMMIT_MODE_CONFIG, ConfigDef.Type.STRING, TRANSACTION_COMMIT_MODE_DEFAULT,
+                        ConfigDef.ValidString.in("object", "records"),
+                        ConfigDef.Importance.LOW, TRANSACTION_COMMIT_MODE_DOC)
+                .define(TRANSACTION_COMMIT_RECORDS_CONFIG, ConfigDef.Type.INT, TRANSACTION_COMMIT_RECORDS_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, TRANSACTION_COMMIT_RECORDS_DOC)
 
                 // File Format Configuration
                 .define(FILE_FORMAT_CONFIG, ConfigDef.Type.STRING, FILE_FORMAT_DEFAULT,
-                        ConfigDef.ValidString.in("json", "csv", "text", "avro", "binary"),
+                        ConfigDef.ValidString.in("json", "csv", "text", "avro", "binary", "framed"),
                         ConfigDef.Importance.HIGH, FILE_FORMAT_DOC)
                 .define(CSV_DELIMITER_CONFIG, ConfigDef.Type.STRING, CSV_DELIMITER_DEFAULT,
                         ConfigDef.Importance.MEDIUM, CSV_DELIMITER_DOC)
@@ -215,12 +491,42 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                         ConfigDef.Importance.MEDIUM, CSV_HEADER_DOC)
                 .define(JSON_ARRAY_MODE_CONFIG, ConfigDef.Type.BOOLEAN, JSON_ARRAY_MODE_DEFAULT,
                         ConfigDef.Importance.MEDIUM, JSON_ARRAY_MODE_DOC)
+                .define(PARSE_PARALLELISM_CONFIG, ConfigDef.Type.INT, PARSE_PARALLELISM_DEFAULT,
+                        ConfigDef.Range.between(1, 256), ConfigDef.Importance.LOW, PARSE_PARALLELISM_DOC)
+                .define(PARSE_PARALLEL_MIN_BYTES_CONFIG, ConfigDef.Type.LONG, PARSE_PARALLEL_MIN_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, PARSE_PARALLEL_MIN_BYTES_DOC)
+                .define(RECORD_FIELDS_CONFIG, ConfigDef.Type.LIST, RECORD_FIELDS_DEFAULT,
+                        ConfigDef.Importance.MEDIUM, RECORD_FIELDS_DOC)
+                .define(RECORD_FILTER_CONFIG, ConfigDef.Type.STRING, RECORD_FILTER_DEFAULT,
+                        (name, value) -> PartitionFilter.parse((String) value),
+                        ConfigDef.Importance.MEDIUM, RECORD_FILTER_DOC)
+                .define(AGGREGATION_MAX_RECORDS_CONFIG, ConfigDef.Type.INT, AGGREGATION_MAX_RECORDS_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.MEDIUM, AGGREGATION_MAX_RECORDS_DOC)
+                .define(AGGREGATION_MAX_BYTES_CONFIG, ConfigDef.Type.INT, AGGREGATION_MAX_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.MEDIUM, AGGREGATION_MAX_BYTES_DOC)
+                .define(BINARY_CHUNK_BYTES_CONFIG, ConfigDef.Type.INT, BINARY_CHUNK_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(1024), ConfigDef.Importance.MEDIUM, BINARY_CHUNK_BYTES_DOC)
+                .define(FRAMED_LENGTH_ENCODING_CONFIG, ConfigDef.Type.STRING, FRAMED_LENGTH_ENCODING_DEFAULT,
+                        ConfigDef.ValidString.in("varint", "fixed16", "fixed32", "fixed64"),
+                        ConfigDef.Importance.MEDIUM, FRAMED_LENGTH_ENCODING_DOC)
+                .define(FRAMED_BYTE_ORDER_CONFIG, ConfigDef.Type.STRING, FRAMED_BYTE_ORDER_DEFAULT,
+                        ConfigDef.ValidString.in("big", "little"), ConfigDef.Importance.LOW, FRAMED_BYTE_ORDER_DOC)
+                .define(FRAMED_HEADER_BYTES_CONFIG, ConfigDef.Type.INT, FRAMED_HEADER_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, FRAMED_HEADER_BYTES_DOC)
+                .define(FRAMED_KEY_PROTOBUF_FIELD_CONFIG, ConfigDef.Type.INT, FRAMED_KEY_PROTOBUF_FIELD_DEFAULT,
+                        ConfigDef.Range.between(0, 536870911), ConfigDef.Importance.LOW, FRAMED_KEY_PROTOBUF_FIELD_DOC)
 
                 // Error Handling and Retry
                 .define(MAX_RETRIES_CONFIG, ConfigDef.Type.INT, MAX_RETRIES_DEFAULT,
                         ConfigDef.Importance.MEDIUM, MAX_RETRIES_DOC)
                 .define(RETRY_BACKOFF_MS_CONFIG, ConfigDef.Type.LONG, RETRY_BACKOFF_MS_DEFAULT,
                         ConfigDef.Importance.MEDIUM, RETRY_BACKOFF_MS_DOC)
+                .define(RETRY_BACKOFF_MAX_MS_CONFIG, ConfigDef.Type.LONG, RETRY_BACKOFF_MAX_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, RETRY_BACKOFF_MAX_MS_DOC)
+                .define(RETRY_THROTTLE_BACKOFF_MS_CONFIG, ConfigDef.Type.LONG, RETRY_THROTTLE_BACKOFF_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, RETRY_THROTTLE_BACKOFF_MS_DOC)
+                .define(RETRY_BUDGET_TOKENS_CONFIG, ConfigDef.Type.INT, RETRY_BUDGET_TOKENS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, RETRY_BUDGET_TOKENS_DOC)
                 .define(ERROR_HANDLING_CONFIG, ConfigDef.Type.STRING, ERROR_HANDLING_DEFAULT,
                         ConfigDef.ValidString.in("fail", "skip"),
                         ConfigDef.Importance.MEDIUM, ERROR_HANDLING_DOC)
@@ -233,6 +539,60 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                 .define(SOCKET_TIMEOUT_MS_CONFIG, ConfigDef.Type.INT, SOCKET_TIMEOUT_MS_DEFAULT,
                         ConfigDef.Importance.MEDIUM, SOCKET_TIMEOUT_MS_DOC)
 
+                // HTTP Client Configuration
+                .define(S3_HTTP_CLIENT_CONFIG, ConfigDef.Type.STRING, S3_HTTP_CLIENT_DEFAULT,
+                        ConfigDef.ValidString.in("apache", "url-connection"),
+                        ConfigDef.Importance.LOW, S3_HTTP_CLIENT_DOC)
+                .define(S3_HTTP_MAX_CONNECTIONS_CONFIG, ConfigDef.Type.INT, S3_HTTP_MAX_CONNECTIONS_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, S3_HTTP_MAX_CONNECTIONS_DOC)
+                .define(S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_CONFIG, ConfigDef.Type.LONG, S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_DOC)
+                .define(S3_HTTP_CONNECTION_MAX_IDLE_MS_CONFIG, ConfigDef.Type.LONG, S3_HTTP_CONNECTION_MAX_IDLE_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_HTTP_CONNECTION_MAX_IDLE_MS_DOC)
+                .define(S3_HTTP_CONNECTION_TTL_MS_CONFIG, ConfigDef.Type.LONG, S3_HTTP_CONNECTION_TTL_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_HTTP_CONNECTION_TTL_MS_DOC)
+                .define(S3_HTTP_TCP_KEEPALIVE_CONFIG, ConfigDef.Type.BOOLEAN, S3_HTTP_TCP_KEEPALIVE_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_HTTP_TCP_KEEPALIVE_DOC)
+
+                // Request Rate and Concurrency
+                .define(S3_GET_RATE_LIMIT_CONFIG, ConfigDef.Type.DOUBLE, S3_GET_RATE_LIMIT_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_GET_RATE_LIMIT_DOC)
+                .define(S3_LIST_RATE_LIMIT_CONFIG, ConfigDef.Type.DOUBLE, S3_LIST_RATE_LIMIT_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_LIST_RATE_LIMIT_DOC)
+                .define(S3_CONCURRENCY_MIN_CONFIG, ConfigDef.Type.INT, S3_CONCURRENCY_MIN_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, S3_CONCURRENCY_MIN_DOC)
+                .define(S3_CONCURRENCY_INITIAL_CONFIG, ConfigDef.Type.INT, S3_CONCURRENCY_INITIAL_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, S3_CONCURRENCY_INITIAL_DOC)
+                .define(S3_CONCURRENCY_MAX_CONFIG, ConfigDef.Type.INT, S3_CONCURRENCY_MAX_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, S3_CONCURRENCY_MAX_DOC)
+                .define(LIST_PARALLELISM_CONFIG, ConfigDef.Type.INT, LIST_PARALLELISM_DEFAULT,
+                        ConfigDef.Range.between(1, 64), ConfigDef.Importance.LOW, LIST_PARALLELISM_DOC)
+                .define(SCHEDULE_POLICY_CONFIG, ConfigDef.Type.STRING, SCHEDULE_POLICY_DEFAULT,
+                        ConfigDef.ValidString.in("listing", "oldest", "smallest", "fair"),
+                        ConfigDef.Importance.LOW, SCHEDULE_POLICY_DOC)
+                .define(SCHEDULE_LOOKAHEAD_OBJECTS_CONFIG, ConfigDef.Type.INT, SCHEDULE_LOOKAHEAD_OBJECTS_DEFAULT,
+                        ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW, SCHEDULE_LOOKAHEAD_OBJECTS_DOC)
+                .define(SCHEDULE_FAIR_WEIGHTS_CONFIG, ConfigDef.Type.LIST, SCHEDULE_FAIR_WEIGHTS_DEFAULT,
+                        (name, value) -> ObjectScheduler.parseWeights((List<String>) value),
+                        ConfigDef.Importance.LOW, SCHEDULE_FAIR_WEIGHTS_DOC)
+                .define(S3_CONCURRENCY_LATENCY_TARGET_MS_CONFIG, ConfigDef.Type.LONG, S3_CONCURRENCY_LATENCY_TARGET_MS_DEFAULT,
+                        ConfigDef.Importance.LOW, S3_CONCURRENCY_LATENCY_TARGET_MS_DOC)
+
+                // Local Object Cache and Spilling
+                .define(CACHE_DIR_CONFIG, ConfigDef.Type.STRING, CACHE_DIR_DEFAULT,
+                        ConfigDef.Importance.LOW, CACHE_DIR_DOC)
+                .define(CACHE_MAX_BYTES_CONFIG, ConfigDef.Type.LONG, CACHE_MAX_BYTES_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, CACHE_MAX_BYTES_DOC)
+
+                .define(SPILL_THRESHOLD_BYTES_CONFIG, ConfigDef.Type.LONG, SPILL_THRESHOLD_BYTES_DEFAULT,
+                        ConfigDef.Importance.LOW, SPILL_THRESHOLD_BYTES_DOC)
+                .define(SPILL_DIR_CONFIG, ConfigDef.Type.STRING, SPILL_DIR_DEFAULT,
+                        ConfigDef.Importance.LOW, SPILL_DIR_DOC)
+                .define(SMALL_OBJECT_THRESHOLD_BYTES_CONFIG, ConfigDef.Type.INT, SMALL_OBJECT_THRESHOLD_BYTES_DEFAULT,
+                        ConfigDef.Range.between(-1, 16 * 1024 * 1024), ConfigDef.Importance.LOW, SMALL_OBJECT_THRESHOLD_BYTES_DOC)
+                .define(SMALL_OBJECT_FETCH_CONCURRENCY_CONFIG, ConfigDef.Type.INT, SMALL_OBJECT_FETCH_CONCURRENCY_DEFAULT,
+                        ConfigDef.Range.between(1, SmallObjectFetcher.MAX_CONCURRENCY), ConfigDef.Importance.LOW, SMALL_OBJECT_FETCH_CONCURRENCY_DOC)
+
                 // Metadata Configuration
                 .define(INCLUDE_METADATA_CONFIG, ConfigDef.Type.BOOLEAN, INCLUDE_METADATA_DEFAULT,
                         ConfigDef.Importance.LOW, INCLUDE_METADATA_DOC)
@@ -242,6 +602,10 @@ public class S3SourceConnectorConfig extends AbstractConfig {
                 // Kafka Configuration
                 .define(TASKS_MAX_CONFIG, ConfigDef.Type.INT, TASKS_MAX_DEFAULT,
                         ConfigDef.Importance.MEDIUM, TASKS_MAX_DOC)
+                .define(SHARD_MONITOR_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG, SHARD_MONITOR_INTERVAL_MS_DEFAULT,
+                        ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW, SHARD_MONITOR_INTERVAL_MS_DOC)
+                .define(SHARD_REBALANCE_IMBALANCE_RATIO_CONFIG, ConfigDef.Type.DOUBLE, SHARD_REBALANCE_IMBALANCE_RATIO_DEFAULT,
+                        ConfigDef.Range.atLeast(1.0), ConfigDef.Importance.LOW, SHARD_REBALANCE_IMBALANCE_RATIO_DOC)
                 .define(COMPRESSION_TYPE_CONFIG, ConfigDef.Type.STRING, COMPRESSION_TYPE_DEFAULT,
                         ConfigDef.ValidString.in("none", "gzip", "snappy", "lz4", "zstd"),
                         ConfigDef.Importance.LOW, COMPRESSION_TYPE_DOC)
@@ -277,6 +641,33 @@ public class S3SourceConnectorConfig extends AbstractConfig {
             throw new ConfigException(MIN_OBJECT_SIZE_CONFIG + " cannot be greater than " + MAX_OBJECT_SIZE_CONFIG);
         }
 
+        if (getInt(S3_CONCURRENCY_MIN_CONFIG) > getInt(S3_CONCURRENCY_MAX_CONFIG)) {
+            throw new ConfigException(S3_CONCURRENCY_MIN_CONFIG + " cannot be greater than " + S3_CONCURRENCY_MAX_CONFIG);
+        }
+
+        String inventoryManifest = getString(INVENTORY_MANIFEST_CONFIG);
+        if (inventoryManifest != null && !inventoryManifest.isEmpty() && !"incremental".equals(getString(READ_MODE_CONFIG))) {
+            throw new ConfigException(INVENTORY_MANIFEST_CONFIG + " requires " + READ_MODE_CONFIG + " 'incremental'");
+        }
+
+        String completedAction = getString(COMPLETED_OBJECT_ACTION_CONFIG);
+        if ("move".equals(completedAction)) {
+            String target = getString(COMPLETED_OBJECT_PREFIX_CONFIG);
+            String source = getString(S3_PREFIX_CONFIG);
+            if (target == null || target.isEmpty()) {
+                throw new ConfigException(COMPLETED_OBJECT_PREFIX_CONFIG + " is required when " + COMPLETED_OBJECT_ACTION_CONFIG + " is 'move'");
+            }
+            if (source == null || source.isEmpty() || target.startsWith(source) || source.startsWith(target)) {
+                throw new ConfigException(COMPLETED_OBJECT_PREFIX_CONFIG + " must not overlap " + S3_PREFIX_CONFIG
+                        + ", or moved objects would be read again");
+            }
+        } else if ("tag".equals(completedAction)) {
+            String tag = getString(COMPLETED_OBJECT_TAG_CONFIG);
+            if (tag == null || tag.indexOf('=') <= 0) {
+                throw new ConfigException(COMPLETED_OBJECT_TAG_CONFIG + " must have the form 'key=value'");
+            }
+        }
+
         String errorHandling = getString(ERROR_HANDLING_CONFIG);
         if ("skip".equals(errorHandling)) {
             String dlqTopic = getString(DEAD_LETTER_TOPIC_CONFIG);
@@ -299,6 +690,14 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getString(S3_REGION_CONFIG);
     }
 
+    public String getEndpointUrl() {
+        return getString(S3_ENDPOINT_URL_CONFIG);
+    }
+
+    public boolean getPathStyleAccess() {
+        return getBoolean(S3_PATH_STYLE_ACCESS_CONFIG);
+    }
+
     public String getPrefix() {
         return getString(S3_PREFIX_CONFIG);
     }
@@ -307,6 +706,31 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getString(S3_SUFFIX_CONFIG);
     }
 
+    public List<String> getSuffixes() {
+        List<String> suffixes = new ArrayList<>();
+        String suffix = getSuffix();
+        if (suffix != null) {
+            for (String value : suffix.split(",")) {
+                if (!value.trim().isEmpty()) {
+                    suffixes.add(value.trim());
+                }
+            }
+        }
+        return suffixes;
+    }
+
+    public List<String> getKeyIncludes() {
+        return getList(S3_KEY_INCLUDE_CONFIG);
+    }
+
+    public List<String> getKeyExcludes() {
+        return getList(S3_KEY_EXCLUDE_CONFIG);
+    }
+
+    public String getPartitionFilter() {
+        return getString(PARTITION_FILTER_CONFIG);
+    }
+
     public String getAccessKeyId() {
         return getString(AWS_ACCESS_KEY_ID_CONFIG);
     }
@@ -331,6 +755,26 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getInt(BATCH_SIZE_CONFIG);
     }
 
+    public long getBatchMinBytes() {
+        return getLong(BATCH_MIN_BYTES_CONFIG);
+    }
+
+    public long getBatchMaxBytes() {
+        return getLong(BATCH_MAX_BYTES_CONFIG);
+    }
+
+    public long getBatchAckLatencyTargetMs() {
+        return getLong(BATCH_ACK_LATENCY_TARGET_MS_CONFIG);
+    }
+
+    public long getBacklogLagTargetMs() {
+        return getLong(BACKLOG_LAG_TARGET_MS_CONFIG);
+    }
+
+    public int getBacklogMaxScale() {
+        return getInt(BACKLOG_MAX_SCALE_CONFIG);
+    }
+
     public String getOffsetStorageKey() {
         return getString(OFFSET_STORAGE_KEY_CONFIG);
     }
@@ -339,6 +783,30 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getString(READ_MODE_CONFIG);
     }
 
+    public String getInventoryManifest() {
+        return getString(INVENTORY_MANIFEST_CONFIG);
+    }
+
+    public String getCompletedObjectAction() {
+        return getString(COMPLETED_OBJECT_ACTION_CONFIG);
+    }
+
+    public String getCompletedObjectPrefix() {
+        return getString(COMPLETED_OBJECT_PREFIX_CONFIG);
+    }
+
+    public String getCompletedObjectTag() {
+        return getString(COMPLETED_OBJECT_TAG_CONFIG);
+    }
+
+    public String getTransactionCommitMode() {
+        return getString(TRANSACTION_COMMIT_MODE_CONFIG);
+    }
+
+    public int getTransactionCommitRecords() {
+        return getInt(TRANSACTION_COMMIT_RECORDS_CONFIG);
+    }
+
     public String getFileFormat() {
         return getString(FILE_FORMAT_CONFIG);
     }
@@ -355,6 +823,50 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getBoolean(JSON_ARRAY_MODE_CONFIG);
     }
 
+    public int getParseParallelism() {
+        return getInt(PARSE_PARALLELISM_CONFIG);
+    }
+
+    public long getParseParallelMinBytes() {
+        return getLong(PARSE_PARALLEL_MIN_BYTES_CONFIG);
+    }
+
+    public List<String> getRecordFields() {
+        return getList(RECORD_FIELDS_CONFIG);
+    }
+
+    public String getRecordFilter() {
+        return getString(RECORD_FILTER_CONFIG);
+    }
+
+    public int getAggregationMaxRecords() {
+        return getInt(AGGREGATION_MAX_RECORDS_CONFIG);
+    }
+
+    public int getAggregationMaxBytes() {
+        return getInt(AGGREGATION_MAX_BYTES_CONFIG);
+    }
+
+    public int getBinaryChunkBytes() {
+        return getInt(BINARY_CHUNK_BYTES_CONFIG);
+    }
+
+    public String getFramedLengthEncoding() {
+        return getString(FRAMED_LENGTH_ENCODING_CONFIG);
+    }
+
+    public String getFramedByteOrder() {
+        return getString(FRAMED_BYTE_ORDER_CONFIG);
+    }
+
+    public int getFramedHeaderBytes() {
+        return getInt(FRAMED_HEADER_BYTES_CONFIG);
+    }
+
+    public int getFramedKeyProtobufField() {
+        return getInt(FRAMED_KEY_PROTOBUF_FIELD_CONFIG);
+    }
+
     public int getMaxRetries() {
         return getInt(MAX_RETRIES_CONFIG);
     }
@@ -363,6 +875,18 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getLong(RETRY_BACKOFF_MS_CONFIG);
     }
 
+    public long getRetryBackoffMaxMs() {
+        return getLong(RETRY_BACKOFF_MAX_MS_CONFIG);
+    }
+
+    public long getRetryThrottleBackoffMs() {
+        return getLong(RETRY_THROTTLE_BACKOFF_MS_CONFIG);
+    }
+
+    public int getRetryBudgetTokens() {
+        return getInt(RETRY_BUDGET_TOKENS_CONFIG);
+    }
+
     public int getConnectTimeoutMs() {
         return getInt(CONNECT_TIMEOUT_MS_CONFIG);
     }
@@ -371,6 +895,94 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getInt(SOCKET_TIMEOUT_MS_CONFIG);
     }
 
+    public String getHttpClient() {
+        return getString(S3_HTTP_CLIENT_CONFIG);
+    }
+
+    public int getHttpMaxConnections() {
+        return getInt(S3_HTTP_MAX_CONNECTIONS_CONFIG);
+    }
+
+    public long getHttpConnectionAcquisitionTimeoutMs() {
+        return getLong(S3_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MS_CONFIG);
+    }
+
+    public long getHttpConnectionMaxIdleMs() {
+        return getLong(S3_HTTP_CONNECTION_MAX_IDLE_MS_CONFIG);
+    }
+
+    public long getHttpConnectionTtlMs() {
+        return getLong(S3_HTTP_CONNECTION_TTL_MS_CONFIG);
+    }
+
+    public boolean getHttpTcpKeepAlive() {
+        return getBoolean(S3_HTTP_TCP_KEEPALIVE_CONFIG);
+    }
+
+    public double getGetRateLimit() {
+        return getDouble(S3_GET_RATE_LIMIT_CONFIG);
+    }
+
+    public double getListRateLimit() {
+        return getDouble(S3_LIST_RATE_LIMIT_CONFIG);
+    }
+
+    public int getMinConcurrency() {
+        return getInt(S3_CONCURRENCY_MIN_CONFIG);
+    }
+
+    public int getInitialConcurrency() {
+        return getInt(S3_CONCURRENCY_INITIAL_CONFIG);
+    }
+
+    public int getMaxConcurrency() {
+        return getInt(S3_CONCURRENCY_MAX_CONFIG);
+    }
+
+    public int getListParallelism() {
+        return getInt(LIST_PARALLELISM_CONFIG);
+    }
+
+    public String getSchedulePolicy() {
+        return getString(SCHEDULE_POLICY_CONFIG);
+    }
+
+    public int getScheduleLookaheadObjects() {
+        return getInt(SCHEDULE_LOOKAHEAD_OBJECTS_CONFIG);
+    }
+
+    public List<String> getScheduleFairWeights() {
+        return getList(SCHEDULE_FAIR_WEIGHTS_CONFIG);
+    }
+
+    public long getConcurrencyLatencyTargetMs() {
+        return getLong(S3_CONCURRENCY_LATENCY_TARGET_MS_CONFIG);
+    }
+
+    public String getCacheDir() {
+        return getString(CACHE_DIR_CONFIG);
+    }
+
+    public long getCacheMaxBytes() {
+        return getLong(CACHE_MAX_BYTES_CONFIG);
+    }
+
+    public long getSpillThresholdBytes() {
+        return getLong(SPILL_THRESHOLD_BYTES_CONFIG);
+    }
+
+    public String getSpillDir() {
+        return getString(SPILL_DIR_CONFIG);
+    }
+
+    public int getSmallObjectThresholdBytes() {
+        return getInt(SMALL_OBJECT_THRESHOLD_BYTES_CONFIG);
+    }
+
+    public int getSmallObjectFetchConcurrency() {
+        return getInt(SMALL_OBJECT_FETCH_CONCURRENCY_CONFIG);
+    }
+
     public boolean getIncludeMetadata() {
         return getBoolean(INCLUDE_METADATA_CONFIG);
     }
@@ -403,6 +1015,14 @@ public class S3SourceConnectorConfig extends AbstractConfig {
         return getInt(TASKS_MAX_CONFIG);
     }
 
+    public long getShardMonitorIntervalMs() {
+        return getLong(SHARD_MONITOR_INTERVAL_MS_CONFIG);
+    }
+
+    public double getShardRebalanceImbalanceRatio() {
+        return getDouble(SHARD_REBALANCE_IMBALANCE_RATIO_CONFIG);
+    }
+
     public String getErrorHandling() {
         return getString(ERROR_HANDLING_CONFIG);
     }
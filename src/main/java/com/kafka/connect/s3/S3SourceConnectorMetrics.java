@@ -0,0 +1,75 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.utils.Time;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connector-wide metrics, exposed over JMX under
+ * {@code kafka.connect.s3:type=s3-source-connector-metrics,connector=<name>}. Per-shard metrics
+ * carry an additional {@code shard} tag.
+ */
+public class S3SourceConnectorMetrics implements AutoCloseable {
+    public static final String GROUP = "s3-source-connector-metrics";
+
+    private final Metrics metrics;
+    private final Map<String, String> tags;
+
+    public S3SourceConnectorMetrics(String connectorName) {
+        this.tags = new LinkedHashMap<>();
+        tags.put("connector", connectorName);
+        this.metrics = new Metrics(new MetricConfig(), Collections.singletonList(new JmxReporter()), Time.SYSTEM,
+                new KafkaMetricsContext(S3SourceMetrics.JMX_PREFIX));
+    }
+
+    /**
+     * Register a gauge sampled whenever the metric is read
+     */
+    public void addGauge(String name, String description, Gauge<?> gauge) {
+        metrics.addMetric(metrics.metricName(name, GROUP, description, tags), gauge);
+    }
+
+    /**
+     * Register a gauge of one shard
+     */
+    public void addShardGauge(String shard, String name, String description, Gauge<?> gauge) {
+        metrics.addMetric(metrics.metricName(name, GROUP, description, shardTags(shard)), gauge);
+    }
+
+    /**
+     * Remove all gauges of a shard that no longer exists
+     */
+    public void removeShard(String shard) {
+        Map<String, String> shardTags = shardTags(shard);
+        List<MetricName> names = new ArrayList<>();
+        for (MetricName name : metrics.metrics().keySet()) {
+            if (name.tags().equals(shardTags)) {
+                names.add(name);
+            }
+        }
+        for (MetricName name : names) {
+            metrics.removeMetric(name);
+        }
+    }
+
+    private Map<String, String> shardTags(String shard) {
+        Map<String, String> shardTags = new LinkedHashMap<>(tags);
+        shardTags.put("shard", shard);
+        return shardTags;
+    }
+
+    @Override
+    public void close() {
+        metrics.close();
+    }
+}
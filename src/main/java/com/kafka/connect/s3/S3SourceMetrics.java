@@ -0,0 +1,229 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.MetricsReporter;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.CumulativeSum;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Rate;
+import org.apache.kafka.common.utils.Time;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics for the ingestion hot path of a single task.
+ * Backed by Kafka {@link Metrics} and exposed over JMX under
+ * {@code kafka.connect.s3:type=s3-source-task-metrics,connector=<name>,task=<id>}.
+ */
+public class S3SourceMetrics implements AutoCloseable {
+    public static final String JMX_PREFIX = "kafka.connect.s3";
+    public static final String GROUP = "s3-source-task-metrics";
+
+    // Latency histograms cover 0 to 60 s at 15 ms resolution
+    private static final int HISTOGRAM_SIZE_BYTES = 16000;
+    private static final double HISTOGRAM_MAX_MS = 60000.0;
+    // Offset lookups and parsing usually take well under a millisecond to a few hundred, so their
+    // histograms cover 0 to 500 ms at 0.5 ms resolution; slower samples count as 500 ms
+    private static final int FINE_HISTOGRAM_SIZE_BYTES = 4000;
+    private static final double FINE_HISTOGRAM_MAX_MS = 500.0;
+
+    private final Metrics metrics;
+    private final Map<String, String> tags;
+
+    private final Sensor listLatency;
+    private final Sensor getLatency;
+    private final Sensor getBytes;
+    private final Sensor records;
+    private final Sensor retries;
+    private final Sensor throttles;
+    private final Sensor offsetLookupLatency;
+    private final Sensor ackLatency;
+    private final Sensor skippedObjects;
+    private final Sensor deadLetterRecords;
+    private final Sensor cacheHits;
+    private final Sensor cacheMisses;
+    private final Sensor completedObjects;
+    private final Sensor completionFailures;
+    private final Map<String, Sensor> parseTimeByFormat = new ConcurrentHashMap<>();
+
+    public S3SourceMetrics(String connectorName, int taskId) {
+        this(connectorName, taskId, Collections.singletonList(new JmxReporter()));
+    }
+
+    private S3SourceMetrics(String connectorName, int taskId, List<MetricsReporter> reporters) {
+        this.tags = new LinkedHashMap<>();
+        tags.put("connector", connectorName);
+        tags.put("task", String.valueOf(taskId));
+
+        this.metrics = new Metrics(new MetricConfig(), reporters, Time.SYSTEM,
+                new KafkaMetricsContext(JMX_PREFIX));
+
+        listLatency = latencySensor("list-latency", "S3 LIST request");
+        getLatency = latencySensor("get-latency", "S3 GET request");
+
+        getBytes = metrics.sensor("get-bytes");
+        getBytes.add(name("get-bytes-rate", "Bytes per second downloaded from S3"), new Rate());
+        getBytes.add(name("get-bytes-total", "Total bytes downloaded from S3"), new CumulativeSum());
+        getBytes.add(name("get-object-size-avg", "Average size of downloaded objects in bytes"), new Avg());
+        getBytes.add(name("get-object-size-max", "Largest downloaded object in bytes"), new Max());
+
+        records = metrics.sensor("records");
+        records.add(name("record-rate", "Records per second produced by the task"), new Rate());
+        records.add(name("record-total", "Total records produced by the task"), new CumulativeSum());
+
+        retries = metrics.sensor("retries");
+        retries.add(name("retry-rate", "S3 request retries per second"), new Rate());
+        retries.add(name("retry-total", "Total S3 request retries"), new CumulativeSum());
+
+        throttles = metrics.sensor("throttles");
+        throttles.add(name("throttle-rate", "S3 throttling responses per second"), new Rate());
+        throttles.add(name("throttle-total", "Total S3 throttling responses"), new CumulativeSum());
+
+        offsetLookupLatency = latencySensor("offset-lookup-latency", "Offset storage lookup",
+                FINE_HISTOGRAM_SIZE_BYTES, FINE_HISTOGRAM_MAX_MS);
+        ackLatency = latencySensor("ack-latency", "Kafka acknowledgement of a poll batch");
+
+        skippedObjects = metrics.sensor("skipped-objects");
+        skippedObjects.add(name("skipped-object-total", "Objects skipped after processing errors"), new CumulativeSum());
+
+        deadLetterRecords = metrics.sensor("dead-letter-records");
+        deadLetterRecords.add(name("dead-letter-record-total", "Records sent to the dead letter topic"), new CumulativeSum());
+
+        cacheHits = metrics.sensor("cache-hits");
+        cacheHits.add(name("cache-hit-total", "Objects served from the local object cache"), new CumulativeSum());
+
+        cacheMisses = metrics.sensor("cache-misses");
+        cacheMisses.add(name("cache-miss-total", "Objects not found in the local object cache"), new CumulativeSum());
+
+        completedObjects = metrics.sensor("completed-objects");
+        completedObjects.add(name("completed-object-total", "Objects whose records were all acknowledged by Kafka"), new CumulativeSum());
+
+        completionFailures = metrics.sensor("completion-failures");
+        completionFailures.add(name("completion-failure-total", "Failed delete, tag or move actions on completed objects"), new CumulativeSum());
+    }
+
+    /**
+     * Metrics that are recorded in memory but not reported anywhere
+     */
+    public static S3SourceMetrics unregistered() {
+        return new S3SourceMetrics("unregistered", 0, Collections.emptyList());
+    }
+
+    public void recordListLatency(long nanos) {
+        listLatency.record(toMillis(nanos));
+    }
+
+    public void recordGet(long nanos, long bytes) {
+        getLatency.record(toMillis(nanos));
+        getBytes.record(bytes);
+    }
+
+    public void recordParseTime(String format, long nanos) {
+        parseTimeByFormat.computeIfAbsent(format, this::parseSensor).record(toMillis(nanos));
+    }
+
+    public void recordRecords(int count) {
+        records.record(count);
+    }
+
+    public void recordRetry(boolean throttled) {
+        retries.record();
+        if (throttled) {
+            throttles.record();
+        }
+    }
+
+    public void recordOffsetLookup(long nanos) {
+        offsetLookupLatency.record(toMillis(nanos));
+    }
+
+    public void recordAckLatency(long nanos) {
+        ackLatency.record(toMillis(nanos));
+    }
+
+    public void recordSkippedObject() {
+        skippedObjects.record();
+    }
+
+    public void recordDeadLetterRecord() {
+        deadLetterRecords.record();
+    }
+
+    public void recordCacheHit() {
+        cacheHits.record();
+    }
+
+    public void recordCacheMiss() {
+        cacheMisses.record();
+    }
+
+    public void recordCompletedObject() {
+        completedObjects.record();
+    }
+
+    public void recordCompletionFailure() {
+        completionFailures.record();
+    }
+
+    /**
+     * Register a gauge sampled whenever the metric is read
+     */
+    public void addGauge(String name, String description, Gauge<?> gauge) {
+        metrics.addMetric(name(name, description), gauge);
+    }
+
+    private Sensor latencySensor(String sensorName, String description) {
+        return latencySensor(sensorName, description, HISTOGRAM_SIZE_BYTES, HISTOGRAM_MAX_MS);
+    }
+
+    private Sensor latencySensor(String sensorName, String description, int histogramBytes, double histogramMaxMs) {
+        Sensor sensor = metrics.sensor(sensorName);
+        addLatencyStats(sensor, sensorName, description, tags, histogramBytes, histogramMaxMs);
+        return sensor;
+    }
+
+    private Sensor parseSensor(String format) {
+        Map<String, String> formatTags = new LinkedHashMap<>(tags);
+        formatTags.put("format", format);
+        Sensor sensor = metrics.sensor("parse-time." + format);
+        addLatencyStats(sensor, "parse-time", "Parsing of one object", formatTags,
+                FINE_HISTOGRAM_SIZE_BYTES, FINE_HISTOGRAM_MAX_MS);
+        return sensor;
+    }
+
+    private void addLatencyStats(Sensor sensor, String prefix, String description, Map<String, String> metricTags,
+                                 int histogramBytes, double histogramMaxMs) {
+        sensor.add(metrics.metricName(prefix + "-avg", GROUP, description + " average time in ms", metricTags), new Avg());
+        sensor.add(metrics.metricName(prefix + "-max", GROUP, description + " maximum time in ms", metricTags), new Max());
+        sensor.add(new Percentiles(histogramBytes, histogramMaxMs, Percentiles.BucketSizing.CONSTANT,
+                new Percentile(metrics.metricName(prefix + "-p50", GROUP, description + " median time in ms", metricTags), 50),
+                new Percentile(metrics.metricName(prefix + "-p99", GROUP, description + " 99th percentile time in ms", metricTags), 99)));
+    }
+
+    private MetricName name(String name, String description) {
+        return metrics.metricName(name, GROUP, description, new HashMap<>(tags));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public void close() {
+        metrics.close();
+    }
+}
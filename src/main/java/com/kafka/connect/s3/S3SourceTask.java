@@ -1,13 +1,27 @@
 package com.kafka.connect.s3;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.header.ConnectHeaders;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
+import org.apache.kafka.connect.source.TransactionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -20,11 +34,32 @@ public class S3SourceTask extends SourceTask {
 
     private S3SourceConnectorConfig config;
     private S3ClientWrapper s3Client;
+    private ObjectDiscovery objectDiscovery;
+    private ObjectScheduler objectScheduler;
+    private SmallObjectFetcher smallObjectFetcher;
+    private BacklogTracker backlog;
+    // Multiple of max.objects.per.poll, raised while the backlog lags behind backlog.lag.target.ms
+    private int backlogScale = 1;
+    private AdaptiveBatchSizer batchSizer;
     private FileFormatParser fileParser;
     private OffsetManager offsetManager;
+    private ObjectCache objectCache;
+    private ObjectAckTracker ackTracker;
+    // Only set when the worker runs exactly-once with transaction.boundary=connector
+    private TransactionBoundaries transactionBoundaries;
+    private Path spillDirectory;
+    private S3SourceMetrics metrics;
     private AtomicBoolean running = new AtomicBoolean(false);
-    private String continuationToken = null;
-    private List<SourceRecord> recordBuffer = new ArrayList<>();
+    // Binary object being streamed, and objects of the current batch that did not fit in the last poll
+    private BinaryChunkReader binaryReader;
+    private final Deque<S3Object> pendingObjects = new ArrayDeque<>();
+    // Records of the last object taken that did not fit in the last poll
+    private PollBatcher pollBatcher;
+    // Stored offsets found by admit() for objects not processed yet, so they are not looked up twice
+    private final Map<String, Map<String, Object>> admittedOffsets = new HashMap<>();
+    // Inventory files read by this task's backfill and not yet marked as consumed
+    private List<String> backfillFiles = Collections.emptyList();
+    private long inventoryCreationTime;
     private int taskId = 0;
 
     @Override
@@ -45,9 +80,58 @@ public class S3SourceTask extends SourceTask {
                 taskId = Integer.parseInt(taskIdStr);
             }
 
-            s3Client = new S3ClientWrapper(config);
-            fileParser = new FileFormatParser(config);
+            metrics = new S3SourceMetrics(props.getOrDefault("name", config.getBucketName()), taskId);
+            batchSizer = new AdaptiveBatchSizer(config.getBatchMinBytes(), config.getBatchMaxBytes(),
+                    config.getBatchAckLatencyTargetMs(), metrics);
+            metrics.addGauge("batch-limit-bytes", "Object bytes the next poll may return",
+                    (metricConfig, now) -> batchSizer.getLimitBytes());
+
+            pollBatcher = new PollBatcher(config.getBatchSize());
+            metrics.addGauge("pending-records", "Records of a split object waiting for the next polls",
+                    (metricConfig, now) -> pollBatcher.getPendingCount());
+
+            s3Client = new S3ClientWrapper(config, metrics);
             offsetManager = new OffsetManager(config.getOffsetStorageKey());
+            objectDiscovery = createObjectDiscovery(props);
+            backlog = new BacklogTracker(config);
+            objectScheduler = new ObjectScheduler(() -> admit(objectDiscovery.nextBatch()), config);
+            fileParser = new FileFormatParser(config, metrics);
+            ackTracker = new ObjectAckTracker();
+            metrics.addGauge("objects-in-flight", "Emitted objects that still have unacknowledged records",
+                    (metricConfig, now) -> ackTracker.getInFlightCount());
+            metrics.addGauge("backlog-objects", "Listed objects not processed yet",
+                    (metricConfig, now) -> backlog.total().getObjects());
+            metrics.addGauge("backlog-bytes", "Total size of listed objects not processed yet",
+                    (metricConfig, now) -> backlog.total().getBytes());
+            metrics.addGauge("backlog-lag-ms", "Age of the oldest listed object not processed yet",
+                    (metricConfig, now) -> backlog.total().lagMs(now));
+            metrics.addGauge("backlog-scale", "Multiple of max.objects.per.poll processed per poll",
+                    (metricConfig, now) -> backlogScale);
+
+            String spillDir = config.getSpillDir();
+            spillDirectory = Files.createDirectories(Paths.get(
+                    spillDir == null || spillDir.isEmpty() ? System.getProperty("java.io.tmpdir") : spillDir));
+
+            String cacheDir = config.getCacheDir();
+            if (cacheDir != null && !cacheDir.isEmpty()) {
+                // Each task keeps its own LRU index, so tasks must not share a directory
+                objectCache = new ObjectCache(Paths.get(cacheDir, "task-" + taskId).toString(),
+                        config.getCacheMaxBytes());
+                metrics.addGauge("cache-bytes", "Bytes held in the local object cache",
+                        (metricConfig, now) -> objectCache.getTotalBytes());
+            }
+
+            // Binary objects are streamed in chunks, which the fast path does not do
+            if (config.getSmallObjectThresholdBytes() >= 0 && !"binary".equalsIgnoreCase(config.getFileFormat())) {
+                smallObjectFetcher = new SmallObjectFetcher(s3Client, objectCache, metrics, config);
+            }
+
+            TransactionContext transactionContext = context.transactionContext();
+            if (transactionContext != null) {
+                transactionBoundaries = new TransactionBoundaries(transactionContext, config);
+                log.info("Defining transaction boundaries per {}", transactionBoundaries.isPerObject()
+                        ? "object" : config.getTransactionCommitRecords() + " records");
+            }
 
             running.set(true);
             log.info("S3 Source Task started successfully. Task ID: {}, Bucket: {}, Topic: {}", 
@@ -58,58 +142,203 @@ public class S3SourceTask extends SourceTask {
         }
     }
 
+    private ObjectDiscovery createObjectDiscovery(Map<String, String> props) throws IOException {
+        List<S3ClientWrapper.ListingPrefix> shards = parseShards(props.get(S3SourceConnector.TASK_SHARDS_CONFIG));
+        String manifestLocation = config.getInventoryManifest();
+        if (manifestLocation == null || manifestLocation.isEmpty()) {
+            return new ObjectDiscovery(s3Client, config, shards);
+        }
+
+        InventoryManifest manifest = InventoryManifest.load(manifestLocation, s3Client);
+        String filesJson = props.get(S3SourceConnector.TASK_INVENTORY_FILES_CONFIG);
+        List<String> files = new ArrayList<>();
+        if (filesJson != null) {
+            files.addAll(Arrays.asList(objectMapper.readValue(filesJson, String[].class)));
+        } else {
+            manifest.getFiles().forEach(file -> files.add(file.getKey()));
+        }
+        inventoryCreationTime = manifest.getCreationTime().toEpochMilli();
+        backfillFiles = unconsumedInventoryFiles(files);
+        InventoryReader inventory = new InventoryReader(manifest, backfillFiles, s3Client, config);
+        return new ObjectDiscovery(s3Client, config, shards, inventory, manifest.getCreationTime());
+    }
+
+    /**
+     * Drop inventory files an earlier run of the backfill already marked as consumed
+     */
+    private List<String> unconsumedInventoryFiles(List<String> files) {
+        List<Map<String, String>> partitions = new ArrayList<>(files.size());
+        for (String file : files) {
+            partitions.add(offsetManager.getInventoryPartition(file));
+        }
+        Map<Map<String, String>, Map<String, Object>> storedOffsets = context.offsetStorageReader().offsets(partitions);
+
+        List<String> unconsumed = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            Map<String, Object> storedOffset = storedOffsets != null ? storedOffsets.get(partitions.get(i)) : null;
+            if (!offsetManager.isInventoryConsumed(storedOffset, inventoryCreationTime)) {
+                unconsumed.add(files.get(i));
+            }
+        }
+        if (unconsumed.size() < files.size()) {
+            log.info("Skipping {} of {} inventory files already consumed by an earlier backfill",
+                    files.size() - unconsumed.size(), files.size());
+        }
+        return unconsumed;
+    }
+
+    /**
+     * Once the backfill has been handed out and every emitted record acknowledged, one record per
+     * inventory file whose offset marks the file as consumed, so a restart does not read it again
+     */
+    private List<SourceRecord> backfillMarkers() {
+        if (backfillFiles.isEmpty() || !objectDiscovery.isBackfillComplete()
+                || !pendingObjects.isEmpty() || ackTracker.getInFlightCount() > 0) {
+            return Collections.emptyList();
+        }
+
+        List<SourceRecord> markers = new ArrayList<>(backfillFiles.size());
+        for (String file : backfillFiles) {
+            // Keyed by the inventory file so the marker is also valid on a compacted topic
+            markers.add(new SourceRecord(
+                    offsetManager.getInventoryPartition(file),
+                    offsetManager.createInventoryOffset(inventoryCreationTime),
+                    config.getTopic(),
+                    null,
+                    Schema.STRING_SCHEMA,
+                    file,
+                    null,
+                    null
+            ));
+        }
+        log.info("Inventory backfill acknowledged, marking {} inventory files as consumed", markers.size());
+        backfillFiles = Collections.emptyList();
+        defineTransactionBoundaries(markers);
+        return markers;
+    }
+
+    /**
+     * Shards assigned by the connector, or null when the task covers the whole prefix.
+     * The configured prefix itself stands for the objects directly under it.
+     */
+    private List<S3ClientWrapper.ListingPrefix> parseShards(String shardsJson) throws IOException {
+        if (shardsJson == null) {
+            return null;
+        }
+        String root = config.getPrefix() == null ? "" : config.getPrefix();
+        List<S3ClientWrapper.ListingPrefix> shards = new ArrayList<>();
+        for (String shard : objectMapper.readValue(shardsJson, String[].class)) {
+            shards.add(new S3ClientWrapper.ListingPrefix(shard, shard.equals(root) ? "/" : null));
+        }
+        log.info("Task {} assigned {} shards", taskId, shards.size());
+        return shards;
+    }
+
     @Override
     public List<SourceRecord> poll() throws InterruptedException {
         if (!running.get()) {
             return null;
         }
 
-        // Return buffered records if available
-        if (!recordBuffer.isEmpty()) {
-            List<SourceRecord> records = new ArrayList<>(recordBuffer);
-            recordBuffer.clear();
-            return records;
+        // Finish emitting the current object before starting on others
+        if (pollBatcher.hasPending()) {
+            return emit(pollBatcher.nextPending(batchSizer.nextLimitBytes()));
+        }
+
+        // Finish streaming the current binary object before starting on others
+        if (binaryReader != null) {
+            List<SourceRecord> records = new ArrayList<>();
+            String objectKey = binaryReader.getObject().key();
+            try {
+                records = nextBinaryChunks();
+            } catch (Exception e) {
+                ackTracker.forget(objectKey);
+                closeBinaryReader();
+                handleError(objectKey, e, records);
+            }
+            return emit(records);
         }
 
         try {
-            // Poll S3 for new objects
-            List<S3Object> objects = s3Client.listObjects(continuationToken);
-            
-            if (objects.isEmpty()) {
-                // No new objects, wait before next poll
+            // Poll S3 for the next scheduled objects, unless the last poll left some behind
+            List<S3Object> objects;
+            if (!pendingObjects.isEmpty()) {
+                objects = new ArrayList<>(pendingObjects);
+                pendingObjects.clear();
+            } else {
+                objects = objectScheduler.nextBatch();
+                // The batch is admitted to the backlog, so its oldest object counts towards the lag
+                updateBacklogScale();
+            }
+
+            if (objects == null) {
+                // Objects dropped from a batch are listed again in the next cycle
+                backlog.clear();
+                admittedOffsets.clear();
+                if (transactionBoundaries != null) {
+                    // Nothing more to add to the open transaction for now
+                    transactionBoundaries.commitOpen();
+                }
+                // Listing cycle finished, wait before the next one
                 Thread.sleep(config.getPollIntervalMs());
-                return Collections.emptyList();
+                return emit(backfillMarkers());
             }
 
-            // Process objects and create records
+            // Process objects until the poll is full; the rest of the batch waits for the next poll
             List<SourceRecord> records = new ArrayList<>();
-            int processedCount = 0;
+            long limitBytes = batchSizer.nextLimitBytes();
+            long batchBytes = 0;
 
-            for (S3Object s3Object : objects) {
-                if (processedCount >= config.getMaxObjectsPerPoll()) {
+            for (int i = 0; i < objects.size(); i++) {
+                S3Object s3Object = objects.get(i);
+                if (!records.isEmpty() && (batchBytes >= limitBytes || records.size() >= config.getBatchSize())) {
+                    pendingObjects.addAll(objects.subList(i, objects.size()));
                     break;
                 }
 
+                if (isSmallObject(s3Object)) {
+                    // Take the whole run of small objects through the fast path
+                    int end = PollBatcher.smallRunEnd(objects, i, limitBytes - batchBytes, this::isSmallObject);
+                    long runBytes = 0;
+                    for (S3Object small : objects.subList(i, end)) {
+                        runBytes += small.size();
+                    }
+                    List<SourceRecord> runRecords = new ArrayList<>();
+                    processSmallObjects(objects.subList(i, end), runRecords);
+                    batchBytes += pollBatcher.add(runRecords, runBytes, records, limitBytes - batchBytes);
+                    objects.subList(i, end).forEach(backlog::remove);
+                    if (pollBatcher.hasPending()) {
+                        pendingObjects.addAll(objects.subList(end, objects.size()));
+                        break;
+                    }
+                    i = end - 1;
+                    continue;
+                }
+
                 try {
                     List<SourceRecord> objectRecords = processObject(s3Object);
-                    records.addAll(objectRecords);
-                    processedCount++;
+                    batchBytes += pollBatcher.add(objectRecords, s3Object.size(), records, limitBytes - batchBytes);
+                } catch (NoSuchKeyException e) {
+                    // Deleted after it was listed, or after the inventory was taken
+                    log.debug("Object {} no longer exists, skipping", s3Object.key());
                 } catch (Exception e) {
                     handleError(s3Object.key(), e, records);
                 }
-            }
-
-            // Update continuation token for next poll
-            // Note: In a real implementation, you'd get this from the list response
-            continuationToken = null; // Simplified - would need proper pagination handling
 
-            // Batch records if configured
-            if (records.size() > config.getBatchSize()) {
-                recordBuffer.addAll(records.subList(config.getBatchSize(), records.size()));
-                return records.subList(0, config.getBatchSize());
+                if (binaryReader != null) {
+                    // The rest of the batch waits until the binary object is fully emitted
+                    pendingObjects.addAll(objects.subList(i + 1, objects.size()));
+                    break;
+                }
+                backlog.remove(s3Object);
+                if (pollBatcher.hasPending()) {
+                    // The rest of the batch waits until the object's remaining records are emitted
+                    pendingObjects.addAll(objects.subList(i + 1, objects.size()));
+                    break;
+                }
             }
 
-            return records;
+            return emit(records);
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -124,51 +353,551 @@ public class S3SourceTask extends SourceTask {
         }
     }
 
-    private List<SourceRecord> processObject(S3Object s3Object) {
+    /**
+     * Hand records to the worker, timing their acknowledgement to size later polls
+     */
+    private List<SourceRecord> emit(List<SourceRecord> records) {
+        batchSizer.emitted(records.size());
+        metrics.recordRecords(records.size());
+        return records;
+    }
+
+    /**
+     * Drop listed objects whose stored offsets show they were already processed, with one offset
+     * lookup per page, and count the rest as backlog until they are processed. The offsets of
+     * partially emitted or changed objects are kept for processing.
+     */
+    private List<S3Object> admit(List<S3Object> objects) {
+        if (objects == null || objects.isEmpty()) {
+            return objects;
+        }
+
+        List<S3Object> admitted = objects;
+        if ("incremental".equals(config.getReadMode())) {
+            List<Map<String, String>> partitions = new ArrayList<>(objects.size());
+            for (S3Object s3Object : objects) {
+                partitions.add(offsetManager.getSourcePartition(s3Object.key()));
+            }
+            long lookupStart = System.nanoTime();
+            Map<Map<String, String>, Map<String, Object>> storedOffsets =
+                    context.offsetStorageReader().offsets(partitions);
+            metrics.recordOffsetLookup(System.nanoTime() - lookupStart);
+
+            admitted = new ArrayList<>(objects.size());
+            for (int i = 0; i < objects.size(); i++) {
+                S3Object s3Object = objects.get(i);
+                Map<String, Object> storedOffset = storedOffsets != null ? storedOffsets.get(partitions.get(i)) : null;
+                if (!offsetManager.isProcessed(storedOffset, s3Object.key(),
+                        s3Object.lastModified().toEpochMilli(), s3Object.eTag())) {
+                    admitted.add(s3Object);
+                    if (storedOffset != null) {
+                        admittedOffsets.put(s3Object.key(), storedOffset);
+                    }
+                }
+            }
+        }
+
+        for (S3Object s3Object : admitted) {
+            backlog.add(s3Object);
+        }
+        return admitted;
+    }
+
+    /**
+     * Scale up the objects per poll and the small-object fetch concurrency while the oldest
+     * backlog object is older than {@code backlog.lag.target.ms}, and back down once caught up
+     */
+    private void updateBacklogScale() {
+        long target = config.getBacklogLagTargetMs();
+        if (target <= 0) {
+            return;
+        }
+
+        long lagMs = backlog.total().lagMs(System.currentTimeMillis());
+        int scale = backlogScale;
+        if (lagMs > target) {
+            scale = Math.min(scale * 2, config.getBacklogMaxScale());
+        } else if (lagMs < target / 2) {
+            scale = Math.max(scale / 2, 1);
+        }
+        if (scale == backlogScale) {
+            return;
+        }
+
+        log.info("Backlog lag is {} ms against a target of {} ms, scaling from {}x to {}x",
+                lagMs, target, backlogScale, scale);
+        backlogScale = scale;
+        objectScheduler.setBatchSize(config.getMaxObjectsPerPoll() * scale);
+        if (smallObjectFetcher != null) {
+            smallObjectFetcher.setConcurrency(config.getSmallObjectFetchConcurrency() * scale);
+        }
+    }
+
+    private List<SourceRecord> processObject(S3Object s3Object) throws IOException {
         String objectKey = s3Object.key();
-        long lastModified = s3Object.lastModified().toEpochMilli();
 
         log.debug("Processing S3 object: {}", objectKey);
 
-        // Check if already processed (incremental mode)
-        if ("incremental".equals(config.getReadMode())) {
-            Map<String, Object> sourceOffset = context.offsetStorageReader()
-                    .offset(offsetManager.getSourcePartition(objectKey));
-            
-            if (offsetManager.isProcessed(sourceOffset, objectKey, lastModified)) {
-                log.debug("Object {} already processed, skipping", objectKey);
-                return Collections.emptyList();
+        // Looked up when the object was admitted (incremental mode)
+        Map<String, Object> storedOffset = admittedOffsets.remove(objectKey);
+        if (ackTracker.isInFlight(objectKey)) {
+            log.debug("Object {} still has unacknowledged records, skipping", objectKey);
+            return Collections.emptyList();
+        }
+
+        int resumeRecord = resumeRecord(s3Object, storedOffset);
+        if (resumeRecord < 0) {
+            return Collections.emptyList();
+        }
+
+        if ("binary".equalsIgnoreCase(config.getFileFormat())) {
+            return openBinaryObject(s3Object, resumeRecord);
+        }
+
+        // Get object content and parse it based on file format
+        return fetchAndParse(s3Object, (content, key) -> createRecords(s3Object, content, resumeRecord));
+    }
+
+    /**
+     * First record to emit of an object given its stored offset, or -1 when it was already processed.
+     * An object is only fetched when its offset is missing, partial or from other content, so the
+     * GET is never made conditional on the stored ETag: it could not answer 304.
+     */
+    private int resumeRecord(S3Object s3Object, Map<String, Object> storedOffset) {
+        if (!"incremental".equals(config.getReadMode())) {
+            return 0;
+        }
+
+        String objectKey = s3Object.key();
+        long lastModified = s3Object.lastModified().toEpochMilli();
+        String etag = s3Object.eTag();
+        if (offsetManager.isProcessed(storedOffset, objectKey, lastModified, etag)) {
+            log.debug("Object {} already processed, skipping", objectKey);
+            return -1;
+        }
+
+        int resumeRecord = offsetManager.getResumeRecord(storedOffset, lastModified, etag);
+        if (resumeRecord > 0) {
+            log.debug("Resuming object {} at record {}", objectKey, resumeRecord);
+        }
+        return resumeRecord;
+    }
+
+    private boolean isSmallObject(S3Object s3Object) {
+        return smallObjectFetcher != null && s3Object.size() <= smallObjectFetcher.getThresholdBytes();
+    }
+
+    /**
+     * Fast path for a run of small objects: their content is fetched concurrently into pooled
+     * buffers, and their records are emitted together in listing order
+     */
+    private void processSmallObjects(List<S3Object> objects, List<SourceRecord> records) throws InterruptedException {
+        List<S3Object> toFetch = new ArrayList<>(objects.size());
+        List<Integer> resumeRecords = new ArrayList<>(objects.size());
+        for (S3Object s3Object : objects) {
+            Map<String, Object> storedOffset = admittedOffsets.remove(s3Object.key());
+            if (ackTracker.isInFlight(s3Object.key())) {
+                log.debug("Object {} still has unacknowledged records, skipping", s3Object.key());
+                continue;
+            }
+            int resumeRecord = resumeRecord(s3Object, storedOffset);
+            if (resumeRecord >= 0) {
+                toFetch.add(s3Object);
+                resumeRecords.add(resumeRecord);
             }
         }
 
-        // Get object content
-        byte[] content = s3Client.getObjectContent(objectKey);
-        
-        // Parse content based on file format
-        List<Map<String, Object>> parsedRecords = fileParser.parse(content, objectKey);
+        Deque<SmallObjectFetcher.Fetch> fetches = new ArrayDeque<>();
+        int submitted = 0;
+        int created = 0;
+        try {
+            for (int i = 0; i < toFetch.size(); i++) {
+                while (submitted < toFetch.size() && submitted < i + smallObjectFetcher.getWindow()) {
+                    fetches.add(smallObjectFetcher.submit(toFetch.get(submitted)));
+                    submitted++;
+                }
+
+                S3Object s3Object = toFetch.get(i);
+                SmallObjectFetcher.Fetch fetch = fetches.poll();
+                try {
+                    ByteBuffer content = fetch.get();
+                    List<SourceRecord> objectRecords = createRecords(s3Object, content, resumeRecords.get(i));
+                    records.addAll(objectRecords);
+                    created += objectRecords.size();
+                } catch (NoSuchKeyException e) {
+                    log.debug("Object {} no longer exists, skipping", s3Object.key());
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    handleError(s3Object.key(), e, records);
+                } finally {
+                    fetch.release();
+                }
+            }
+        } finally {
+            for (SmallObjectFetcher.Fetch fetch : fetches) {
+                fetch.release();
+            }
+        }
+        log.debug("Processed {} small objects: {} records created", toFetch.size(), created);
+    }
+
+    /**
+     * Parse the content of an object into its records, from {@code resumeRecord} on,
+     * and track them until they are acknowledged
+     */
+    private List<SourceRecord> createRecords(S3Object s3Object, ByteBuffer content, int resumeRecord) {
+        String objectKey = s3Object.key();
+        long lastModified = s3Object.lastModified().toEpochMilli();
+        String etag = s3Object.eTag();
+
+        List<SourceRecord> sourceRecords;
+        if ("framed".equalsIgnoreCase(config.getFileFormat())) {
+            List<FileFormatParser.Frame> frames = fileParser.parseFrames(content, objectKey);
+            sourceRecords = createFrameRecords(frames, resumeRecord, s3Object, lastModified, etag);
+        } else {
+            List<Map<String, Object>> parsedRecords = fileParser.parse(content, objectKey);
+
+            // Convert to SourceRecords
+            if (config.getAggregationMaxRecords() > 1) {
+                sourceRecords = createAggregatedRecords(parsedRecords, resumeRecord, s3Object, lastModified, etag);
+            } else {
+                sourceRecords = new ArrayList<>(Math.max(parsedRecords.size() - resumeRecord, 0));
+                int lastIndex = parsedRecords.size() - 1;
+                for (int i = resumeRecord; i <= lastIndex; i++) {
+                    Map<String, Object> record = parsedRecords.get(i);
+                    addMetadata(record, s3Object, etag);
+
+                    // Create Kafka record
+                    SourceRecord sourceRecord = createSourceRecord(record, objectKey, lastModified, etag, i, i == lastIndex);
+                    sourceRecords.add(sourceRecord);
+                }
+            }
+        }
+
+        ackTracker.track(objectKey, etag, sourceRecords.size());
+        defineTransactionBoundaries(sourceRecords);
+        log.debug("Processed object {}: {} records created", objectKey, sourceRecords.size());
+        return sourceRecords;
+    }
+
+    private void addMetadata(Map<String, Object> record, S3Object s3Object, String etag) {
+        if (config.getIncludeMetadata()) {
+            String prefix = config.getMetadataFieldPrefix();
+            record.put(prefix + "key", s3Object.key());
+            record.put(prefix + "size", s3Object.size());
+            record.put(prefix + "last_modified", s3Object.lastModified().toString());
+            record.put(prefix + "etag", etag);
+        }
+    }
+
+    /**
+     * Pack consecutive records of one object into Kafka records of at most
+     * {@code aggregation.max.records} records and {@code aggregation.max.bytes} bytes, one record
+     * per line of the value. Text lines are packed as they are, other formats as JSON lines.
+     * Object metadata is carried once in headers rather than on every line, and each offset
+     * carries the range of records it covers.
+     */
+    private List<SourceRecord> createAggregatedRecords(List<Map<String, Object>> parsedRecords, int resumeRecord,
+                                                       S3Object s3Object, long lastModified, String etag) {
+        String objectKey = s3Object.key();
+        int maxRecords = config.getAggregationMaxRecords();
+        int maxBytes = config.getAggregationMaxBytes();
+        boolean rawLines = "text".equalsIgnoreCase(config.getFileFormat());
+        ConnectHeaders headers = metadataHeaders(s3Object, etag);
 
-        // Convert to SourceRecords
         List<SourceRecord> sourceRecords = new ArrayList<>();
-        for (Map<String, Object> record : parsedRecords) {
-            // Add metadata if configured
-            if (config.getIncludeMetadata()) {
-                String prefix = config.getMetadataFieldPrefix();
-                record.put(prefix + "key", objectKey);
-                record.put(prefix + "size", s3Object.size());
-                record.put(prefix + "last_modified", s3Object.lastModified().toString());
-                record.put(prefix + "etag", s3Object.eTag());
+        StringBuilder value = new StringBuilder();
+        int valueBytes = 0;
+        int packed = 0;
+        int firstRecord = resumeRecord;
+        int lastIndex = parsedRecords.size() - 1;
+        for (int i = resumeRecord; i <= lastIndex; i++) {
+            Map<String, Object> record = parsedRecords.get(i);
+            String line;
+            if (rawLines) {
+                Object text = record.get("line");
+                line = text != null ? text.toString() : "";
+            } else {
+                line = serializeValue(record);
+            }
+            int lineBytes = utf8Length(line);
+
+            if (packed > 0 && (packed >= maxRecords || valueBytes + 1 + lineBytes > maxBytes)) {
+                sourceRecords.add(createAggregatedRecord(value.toString(), headers, objectKey, lastModified, etag,
+                        firstRecord, i - 1, false));
+                value.setLength(0);
+                valueBytes = 0;
+                packed = 0;
+                firstRecord = i;
+            }
+            if (packed > 0) {
+                value.append('\n');
+                valueBytes++;
+            }
+            value.append(line);
+            valueBytes += lineBytes;
+            packed++;
+        }
+        if (packed > 0) {
+            sourceRecords.add(createAggregatedRecord(value.toString(), headers, objectKey, lastModified, etag,
+                    firstRecord, lastIndex, true));
+        }
+        return sourceRecords;
+    }
+
+    /**
+     * A packed record is keyed by its object so the records of one object stay in order on one partition
+     */
+    private SourceRecord createAggregatedRecord(String value, ConnectHeaders headers, String objectKey,
+                                                long lastModified, String etag,
+                                                int firstRecord, int lastRecord, boolean complete) {
+        return new SourceRecord(
+                offsetManager.getSourcePartition(objectKey),
+                offsetManager.createOffset(objectKey, lastModified, etag, firstRecord, lastRecord, complete),
+                config.getTopic(),
+                null,
+                Schema.STRING_SCHEMA,
+                objectKey,
+                Schema.STRING_SCHEMA,
+                value,
+                null,
+                headers.duplicate()
+        );
+    }
+
+    private ConnectHeaders metadataHeaders(S3Object s3Object, String etag) {
+        ConnectHeaders headers = new ConnectHeaders();
+        if (config.getIncludeMetadata()) {
+            String prefix = config.getMetadataFieldPrefix();
+            headers.addString(prefix + "key", s3Object.key());
+            headers.addLong(prefix + "size", s3Object.size());
+            headers.addString(prefix + "last_modified", s3Object.lastModified().toString());
+            if (etag != null) {
+                headers.addString(prefix + "etag", etag);
             }
+        }
+        return headers;
+    }
 
-            // Create Kafka record
-            SourceRecord sourceRecord = createSourceRecord(record, objectKey, lastModified);
-            sourceRecords.add(sourceRecord);
+    private static int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // A surrogate pair encodes as four bytes
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
         }
+        return bytes;
+    }
 
-        log.info("Processed object {}: {} records created", objectKey, sourceRecords.size());
+    /**
+     * One bytes record per frame, keyed by the key found in the frame or else by object key
+     */
+    private List<SourceRecord> createFrameRecords(List<FileFormatParser.Frame> frames, int resumeRecord,
+                                                  S3Object s3Object, long lastModified, String etag) {
+        String objectKey = s3Object.key();
+        ConnectHeaders metadata = metadataHeaders(s3Object, etag);
+        List<SourceRecord> sourceRecords = new ArrayList<>(Math.max(frames.size() - resumeRecord, 0));
+        int lastIndex = frames.size() - 1;
+        for (int i = resumeRecord; i <= lastIndex; i++) {
+            FileFormatParser.Frame frame = frames.get(i);
+            sourceRecords.add(new SourceRecord(
+                    offsetManager.getSourcePartition(objectKey),
+                    offsetManager.createOffset(objectKey, lastModified, etag, i, i == lastIndex),
+                    config.getTopic(),
+                    null,
+                    Schema.STRING_SCHEMA,
+                    frame.getKey() != null ? frame.getKey() : objectKey,
+                    Schema.BYTES_SCHEMA,
+                    frame.getValue(),
+                    null,
+                    metadata.duplicate()
+            ));
+        }
         return sourceRecords;
     }
 
-    private SourceRecord createSourceRecord(Map<String, Object> record, String objectKey, long lastModified) {
+    /**
+     * Start streaming an object as raw chunks of {@code binary.chunk.bytes}, one record each,
+     * and return the first of them. The remaining chunks are returned by later polls, so the
+     * object is never held on the heap as a whole.
+     */
+    private List<SourceRecord> openBinaryObject(S3Object s3Object, int firstChunk)
+            throws IOException {
+        String objectKey = s3Object.key();
+        int chunkSize = config.getBinaryChunkBytes();
+        if (firstChunk >= BinaryChunkReader.chunkCount(s3Object.size(), chunkSize)) {
+            log.warn("Offset of object {} points past its last chunk, binary.chunk.bytes may have changed; "
+                    + "emitting it from the start", objectKey);
+            firstChunk = 0;
+        }
+        long startByte = (long) firstChunk * chunkSize;
+
+        InputStream in = null;
+        if (objectCache != null) {
+            ByteBuffer cached = objectCache.get(config.getBucketName(), objectKey, s3Object.eTag());
+            if (cached != null) {
+                metrics.recordCacheHit();
+                cached.position(cached.position() + (int) startByte);
+                in = new ByteBufferBackedInputStream(cached);
+            } else {
+                metrics.recordCacheMiss();
+            }
+        }
+        if (in == null) {
+            in = s3Client.openObjectStream(objectKey, startByte);
+        }
+
+        binaryReader = new BinaryChunkReader(s3Object, in, chunkSize, firstChunk);
+        ackTracker.track(objectKey, s3Object.eTag(), binaryReader.getChunkCount() - firstChunk);
+        log.debug("Streaming object {} as {} chunks from chunk {}", objectKey, binaryReader.getChunkCount(), firstChunk);
+        return nextBinaryChunks();
+    }
+
+    /**
+     * Next chunks of the binary object being streamed, up to the batch byte limit.
+     * Each chunk is a bytes record with its index and the chunk count in headers.
+     */
+    private List<SourceRecord> nextBinaryChunks() throws IOException {
+        BinaryChunkReader reader = binaryReader;
+        S3Object s3Object = reader.getObject();
+        String objectKey = s3Object.key();
+        String etag = s3Object.eTag();
+        long lastModified = s3Object.lastModified().toEpochMilli();
+        String prefix = config.getMetadataFieldPrefix();
+        ConnectHeaders metadata = metadataHeaders(s3Object, etag);
+        int lastIndex = reader.getChunkCount() - 1;
+
+        long maxChunks = Math.max(1, Math.min(config.getBatchSize(),
+                batchSizer.nextLimitBytes() / reader.getChunkSize()));
+        List<SourceRecord> records = new ArrayList<>();
+        while (reader.hasNext() && records.size() < maxChunks) {
+            int index = reader.nextIndex();
+            byte[] chunk = reader.next();
+            ConnectHeaders headers = metadata.duplicate();
+            headers.addInt(prefix + "chunk_index", index);
+            headers.addInt(prefix + "chunk_count", reader.getChunkCount());
+            records.add(new SourceRecord(
+                    offsetManager.getSourcePartition(objectKey),
+                    offsetManager.createOffset(objectKey, lastModified, etag, index, index == lastIndex),
+                    config.getTopic(),
+                    null,
+                    Schema.STRING_SCHEMA,
+                    objectKey,
+                    Schema.BYTES_SCHEMA,
+                    chunk,
+                    null,
+                    headers
+            ));
+        }
+
+        if (!reader.hasNext()) {
+            closeBinaryReader();
+            log.debug("Finished streaming object {}", objectKey);
+        }
+        defineTransactionBoundaries(records);
+        return records;
+    }
+
+    private void closeBinaryReader() {
+        if (binaryReader != null) {
+            backlog.remove(binaryReader.getObject());
+            try {
+                binaryReader.close();
+            } catch (IOException e) {
+                log.debug("Failed to close stream of object {}", binaryReader.getObject().key(), e);
+            }
+            binaryReader = null;
+        }
+    }
+
+    /**
+     * Download and parse an object, from the local cache when it holds the same version
+     */
+    private <T> T fetchAndParse(S3Object s3Object, ContentParser<T> parser)
+            throws IOException {
+        String objectKey = s3Object.key();
+        String bucket = config.getBucketName();
+
+        if (objectCache != null) {
+            ByteBuffer cached = objectCache.get(bucket, objectKey, s3Object.eTag());
+            if (cached != null) {
+                metrics.recordCacheHit();
+                log.debug("Object {} served from local cache", objectKey);
+                return parser.parse(cached, objectKey);
+            }
+            metrics.recordCacheMiss();
+        }
+
+        long spillThreshold = config.getSpillThresholdBytes();
+        if (spillThreshold >= 0 && s3Object.size() >= spillThreshold) {
+            return spillAndParse(s3Object, parser);
+        }
+
+        byte[] content = s3Client.getObjectContent(objectKey);
+        if (objectCache != null) {
+            objectCache.put(bucket, objectKey, s3Object.eTag(), content);
+        }
+        return parser.parse(ByteBuffer.wrap(content), objectKey);
+    }
+
+    /**
+     * Stream a large object to disk and parse it from a memory-mapped file,
+     * so it never lands on the heap as a single allocation
+     */
+    private <T> T spillAndParse(S3Object s3Object, ContentParser<T> parser) throws IOException {
+        String objectKey = s3Object.key();
+        if (s3Object.size() > Integer.MAX_VALUE) {
+            throw new IOException("Object " + objectKey + " is larger than the 2 GB mapping limit");
+        }
+
+        Path spillFile = Files.createTempFile(spillDirectory, "s3-spill-", ".obj");
+        try {
+            s3Client.downloadToFile(objectKey, spillFile);
+
+            if (objectCache != null
+                    && objectCache.putFile(config.getBucketName(), objectKey, s3Object.eTag(), spillFile)) {
+                ByteBuffer cached = objectCache.get(config.getBucketName(), objectKey, s3Object.eTag());
+                if (cached != null) {
+                    return parser.parse(cached, objectKey);
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return parser.parse(mapped, objectKey);
+            }
+        } finally {
+            // No-op when the cache took ownership of the file
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    /**
+     * With connector-defined transaction boundaries, end a transaction after the last record of
+     * each object, or after every transaction.commit.records records
+     */
+    private void defineTransactionBoundaries(List<SourceRecord> records) {
+        if (transactionBoundaries != null) {
+            transactionBoundaries.define(records);
+        }
+    }
+
+    SourceRecord createSourceRecord(Map<String, Object> record, String objectKey, long lastModified, String etag) {
+        return createSourceRecord(record, objectKey, lastModified, etag, 0, true);
+    }
+
+    SourceRecord createSourceRecord(Map<String, Object> record, String objectKey, long lastModified, String etag,
+                                    int recordIndex, boolean lastRecord) {
         // Determine topic
         String topic = config.getTopic();
 
@@ -191,17 +920,11 @@ public class S3SourceTask extends SourceTask {
         }
 
         // Serialize value
-        String value;
-        try {
-            value = objectMapper.writeValueAsString(record);
-        } catch (Exception e) {
-            log.error("Failed to serialize record", e);
-            value = record.toString();
-        }
+        String value = serializeValue(record);
 
         // Create source partition and offset
         Map<String, String> sourcePartition = offsetManager.getSourcePartition(objectKey);
-        Map<String, Object> sourceOffset = offsetManager.createOffset(objectKey, lastModified);
+        Map<String, Object> sourceOffset = offsetManager.createOffset(objectKey, lastModified, etag, recordIndex, lastRecord);
 
         // Create schema (using simple string schema for flexibility)
         Schema keySchema = Schema.STRING_SCHEMA;
@@ -219,6 +942,15 @@ public class S3SourceTask extends SourceTask {
         );
     }
 
+    private static String serializeValue(Map<String, Object> record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (Exception e) {
+            log.error("Failed to serialize record", e);
+            return record.toString();
+        }
+    }
+
     private void handleError(String objectKey, Exception e, List<SourceRecord> records) {
         log.error("Error processing object: {}", objectKey, e);
 
@@ -226,7 +958,8 @@ public class S3SourceTask extends SourceTask {
             throw new RuntimeException("Failed to process object: " + objectKey, e);
         } else if ("skip".equals(config.getErrorHandling())) {
             log.warn("Skipping object {} due to error", objectKey);
-            
+            metrics.recordSkippedObject();
+
             // Send to dead letter topic if configured
             String dlqTopic = config.getDeadLetterTopic();
             if (dlqTopic != null && !dlqTopic.isEmpty()) {
@@ -247,6 +980,8 @@ public class S3SourceTask extends SourceTask {
                             objectMapper.writeValueAsString(errorRecord)
                     );
                     records.add(dlqRecord);
+                    defineTransactionBoundaries(Collections.singletonList(dlqRecord));
+                    metrics.recordDeadLetterRecord();
                 } catch (Exception ex) {
                     log.error("Failed to create dead letter record", ex);
                 }
@@ -254,10 +989,88 @@ public class S3SourceTask extends SourceTask {
         }
     }
 
+    @Override
+    public void commitRecord(SourceRecord record, RecordMetadata metadata) {
+        // Null metadata means the record was filtered or skipped, which also settles it
+        batchSizer.acked();
+        String dlqTopic = config.getDeadLetterTopic();
+        if (dlqTopic != null && dlqTopic.equals(record.topic())) {
+            return;
+        }
+        String objectKey = offsetManager.getObjectKey(record.sourcePartition());
+        if (objectKey != null) {
+            ackTracker.ack(objectKey);
+        }
+    }
+
+    /**
+     * Called after offsets are flushed; applies the completion action to fully acknowledged objects
+     */
+    @Override
+    public void commit() {
+        if (ackTracker == null) {
+            return;
+        }
+        List<ObjectAckTracker.CompletedObject> completed = ackTracker.drainCompleted();
+        String action = config.getCompletedObjectAction();
+        for (ObjectAckTracker.CompletedObject object : completed) {
+            metrics.recordCompletedObject();
+            if ("none".equals(action)) {
+                continue;
+            }
+            try {
+                completeObject(object, action);
+            } catch (Exception e) {
+                metrics.recordCompletionFailure();
+                log.error("Failed to {} completed object {}", action, object.getKey(), e);
+            }
+        }
+    }
+
+    private void completeObject(ObjectAckTracker.CompletedObject object, String action) {
+        String objectKey = object.getKey();
+        boolean applied = true;
+        switch (action) {
+            case "delete":
+                applied = s3Client.deleteObjectIfMatch(objectKey, object.getEtag());
+                break;
+            case "tag":
+                String tag = config.getCompletedObjectTag();
+                int eq = tag.indexOf('=');
+                s3Client.tagObject(objectKey, tag.substring(0, eq), tag.substring(eq + 1));
+                break;
+            case "move":
+                applied = s3Client.moveObject(objectKey, config.getCompletedObjectPrefix() + objectKey, object.getEtag());
+                break;
+            default:
+                throw new IllegalStateException("Unknown completed object action: " + action);
+        }
+        if (!applied) {
+            // Re-uploaded since it was emitted; the new version is still to be ingested
+            log.info("Object {} changed or disappeared since it was emitted, not applying '{}'", objectKey, action);
+            return;
+        }
+        log.debug("Applied '{}' to completed object {}", action, objectKey);
+    }
+
     @Override
     public void stop() {
         log.info("Stopping S3 Source Task");
         running.set(false);
+
+        if (objectDiscovery != null) {
+            objectDiscovery.close();
+        }
+
+        if (smallObjectFetcher != null) {
+            smallObjectFetcher.close();
+        }
+
+        if (fileParser != null) {
+            fileParser.close();
+        }
+
+        closeBinaryReader();
         
         if (s3Client != null) {
             try {
@@ -266,7 +1079,18 @@ public class S3SourceTask extends SourceTask {
                 log.error("Error closing S3 client", e);
             }
         }
+
+        if (metrics != null) {
+            metrics.close();
+        }
         
         log.info("S3 Source Task stopped");
     }
+
+    /**
+     * Turns the content of a fetched object into the records or frames emitted for it
+     */
+    private interface ContentParser<T> {
+        T parse(ByteBuffer content, String objectKey);
+    }
 }
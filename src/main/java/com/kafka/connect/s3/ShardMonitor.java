@@ -0,0 +1,310 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceConnectorContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the configured prefix into shards, one per top-level sub-prefix, and assigns them to
+ * tasks by weight. A background thread re-measures the shards and requests a task
+ * reconfiguration when shards appear or disappear, or when the current assignment has become
+ * clearly less balanced than a fresh one.
+ * <p>
+ * A shard's weight is its total object size plus {@link #OBJECT_WEIGHT_BYTES} per object,
+ * since every object also costs a GET round trip and an offset lookup.
+ * <p>
+ * A measurement lists every shard in full, one LIST request per 1000 keys, through its own
+ * client paced by {@code s3.list.rate.limit}. The first one runs
+ * {@link #FIRST_MEASUREMENT_DELAY_MS} after startup rather than alongside the tasks' first listings.
+ * <p>
+ * In incremental mode each measurement also checks the objects against their stored offsets,
+ * one lookup per page, and exposes the backlog of every shard as connector metrics: the
+ * objects not processed yet, their size and the age of the oldest one.
+ */
+public class ShardMonitor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ShardMonitor.class);
+
+    static final long OBJECT_WEIGHT_BYTES = 64 * 1024;
+    // Lets the tasks' first listings go ahead of the first full measurement
+    static final long FIRST_MEASUREMENT_DELAY_MS = 60000L;
+
+    private final S3SourceConnectorConfig config;
+    private final SourceConnectorContext context;
+    private final S3ClientWrapper s3Client;
+    private final PartitionFilter partitionFilter;
+    private final ScheduledExecutorService scheduler;
+    private final S3SourceConnectorMetrics metrics;
+    // Only set in incremental mode, where stored offsets tell which objects are processed
+    private final OffsetStorageReader offsetReader;
+    private final OffsetManager offsetManager;
+
+    // Shard prefix to weight; the configured prefix itself stands for its direct objects.
+    // Null until the shards could be listed
+    private Map<String, Long> weights;
+    private List<List<String>> assignment;
+    private boolean reconfigurationRequested;
+    private Map<String, BacklogTracker.Backlog> backlogs = new TreeMap<>();
+
+    public ShardMonitor(S3SourceConnectorConfig config, SourceConnectorContext context,
+                        S3SourceConnectorMetrics metrics) {
+        this(config, context, metrics, new S3ClientWrapper(config));
+    }
+
+    ShardMonitor(S3SourceConnectorConfig config, SourceConnectorContext context,
+                 S3SourceConnectorMetrics metrics, S3ClientWrapper s3Client) {
+        this.config = config;
+        this.context = context;
+        this.s3Client = s3Client;
+        this.metrics = metrics;
+        this.partitionFilter = PartitionFilter.parse(config.getPartitionFilter());
+        this.offsetReader = "incremental".equals(config.getReadMode()) ? context.offsetStorageReader() : null;
+        this.offsetManager = new OffsetManager(config.getOffsetStorageKey());
+
+        if (offsetReader != null) {
+            metrics.addGauge("unprocessed-objects", "Objects without a current offset at the last measurement",
+                    (metricConfig, now) -> getBacklog().getObjects());
+            metrics.addGauge("unprocessed-bytes", "Total size of objects without a current offset",
+                    (metricConfig, now) -> getBacklog().getBytes());
+            metrics.addGauge("unprocessed-lag-ms", "Age of the oldest object without a current offset",
+                    (metricConfig, now) -> getBacklog().lagMs(now));
+        }
+
+        // Start from the current shards with equal weights; the first measurement refines them
+        try {
+            Map<String, Long> initialWeights = new TreeMap<>();
+            for (S3ClientWrapper.ListingPrefix shard : s3Client.listShards(partitionFilter)) {
+                initialWeights.put(shard.getPrefix(), 1L);
+            }
+            weights = initialWeights;
+            log.info("Found {} shards under prefix '{}'", weights.size(), config.getPrefix());
+        } catch (Exception e) {
+            // Connector startup must not fail on S3; the first measurement lists the shards again
+            log.warn("Failed to list shards of bucket {}, a single task reads the whole prefix until they are measured",
+                    config.getBucketName(), e);
+        }
+
+        long intervalMs = config.getShardMonitorIntervalMs();
+        if (intervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "s3-shard-monitor-" + config.getBucketName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refresh, Math.min(intervalMs, FIRST_MEASUREMENT_DELAY_MS),
+                    intervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Assign the shards to at most {@code tasks} tasks and remember the assignment.
+     * Returns one list of shard prefixes per task; tasks without shards are left out.
+     * Returns null while the shards could not be listed, for a single task to read the whole prefix.
+     */
+    public synchronized List<List<String>> assign(int tasks) {
+        reconfigurationRequested = false;
+        if (weights == null) {
+            // Any measurement that lists the shards then requests a reconfiguration
+            assignment = Collections.emptyList();
+            return null;
+        }
+        assignment = balance(weights, tasks);
+        log.info("Assigned {} shards to {} tasks", weights.size(), assignment.size());
+        return assignment;
+    }
+
+    /**
+     * Backlog of every shard at the last measurement; empty outside incremental mode
+     */
+    public synchronized Map<String, BacklogTracker.Backlog> getShardBacklogs() {
+        return Collections.unmodifiableMap(backlogs);
+    }
+
+    /**
+     * Backlog summed over all shards at the last measurement
+     */
+    public synchronized BacklogTracker.Backlog getBacklog() {
+        BacklogTracker.Backlog total = BacklogTracker.Backlog.EMPTY;
+        for (BacklogTracker.Backlog backlog : backlogs.values()) {
+            total = total.plus(backlog);
+        }
+        return total;
+    }
+
+    /**
+     * Measure the shards and request a task reconfiguration when the assignment no longer fits them
+     */
+    void refresh() {
+        try {
+            Map<String, Long> currentWeights = new TreeMap<>();
+            Map<String, BacklogTracker.Backlog> currentBacklogs = new TreeMap<>();
+            for (S3ClientWrapper.ListingPrefix shard : s3Client.listShards(partitionFilter)) {
+                BacklogTracker.Backlog[] backlog = {BacklogTracker.Backlog.EMPTY};
+                S3ClientWrapper.PrefixStats stats = s3Client.measurePrefix(shard, offsetReader == null ? null
+                        : page -> backlog[0] = backlog[0].plus(unprocessed(page)));
+                currentWeights.put(shard.getPrefix(), stats.getBytes() + stats.getObjects() * OBJECT_WEIGHT_BYTES);
+                log.debug("Shard '{}': {} objects, {} bytes", shard.getPrefix(), stats.getObjects(), stats.getBytes());
+                if (offsetReader != null) {
+                    currentBacklogs.put(shard.getPrefix(), backlog[0]);
+                }
+            }
+            updateBacklogs(currentBacklogs);
+
+            if (update(currentWeights)) {
+                context.requestTaskReconfiguration();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to measure shards of bucket {}, keeping the current assignment", config.getBucketName(), e);
+        }
+    }
+
+    /**
+     * Backlog of the objects of a page that have no stored offset for their current version
+     */
+    private BacklogTracker.Backlog unprocessed(List<S3Object> page) {
+        List<Map<String, String>> partitions = new ArrayList<>(page.size());
+        for (S3Object object : page) {
+            partitions.add(offsetManager.getSourcePartition(object.key()));
+        }
+        Map<Map<String, String>, Map<String, Object>> storedOffsets = offsetReader.offsets(partitions);
+
+        long objects = 0;
+        long bytes = 0;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < page.size(); i++) {
+            S3Object object = page.get(i);
+            long lastModified = object.lastModified().toEpochMilli();
+            Map<String, Object> storedOffset = storedOffsets != null ? storedOffsets.get(partitions.get(i)) : null;
+            if (!offsetManager.isProcessed(storedOffset, object.key(), lastModified, object.eTag())) {
+                objects++;
+                bytes += object.size();
+                oldest = Math.min(oldest, lastModified);
+            }
+        }
+        return new BacklogTracker.Backlog(objects, bytes, oldest);
+    }
+
+    private void updateBacklogs(Map<String, BacklogTracker.Backlog> currentBacklogs) {
+        Set<String> added;
+        Set<String> removed;
+        synchronized (this) {
+            added = new HashSet<>(currentBacklogs.keySet());
+            added.removeAll(backlogs.keySet());
+            removed = new HashSet<>(backlogs.keySet());
+            removed.removeAll(currentBacklogs.keySet());
+            backlogs = currentBacklogs;
+        }
+
+        for (String shard : removed) {
+            metrics.removeShard(shard);
+        }
+        for (String shard : added) {
+            metrics.addShardGauge(shard, "unprocessed-objects", "Objects of the shard without a current offset",
+                    (metricConfig, now) -> shardBacklog(shard).getObjects());
+            metrics.addShardGauge(shard, "unprocessed-bytes", "Total size of the shard's objects without a current offset",
+                    (metricConfig, now) -> shardBacklog(shard).getBytes());
+            metrics.addShardGauge(shard, "unprocessed-lag-ms", "Age of the shard's oldest object without a current offset",
+                    (metricConfig, now) -> shardBacklog(shard).lagMs(now));
+        }
+        if (!currentBacklogs.isEmpty()) {
+            BacklogTracker.Backlog total = getBacklog();
+            log.info("Backlog of bucket {}: {} objects, {} bytes, oldest written {} ms ago",
+                    config.getBucketName(), total.getObjects(), total.getBytes(), total.lagMs(System.currentTimeMillis()));
+        }
+    }
+
+    private synchronized BacklogTracker.Backlog shardBacklog(String shard) {
+        return backlogs.getOrDefault(shard, BacklogTracker.Backlog.EMPTY);
+    }
+
+    private synchronized boolean update(Map<String, Long> currentWeights) {
+        boolean shardsChanged = weights == null || !currentWeights.keySet().equals(weights.keySet());
+        weights = currentWeights;
+        if (assignment == null || reconfigurationRequested) {
+            return false;
+        }
+
+        if (shardsChanged) {
+            log.info("Shards of bucket {} changed, now {}; requesting task reconfiguration",
+                    config.getBucketName(), currentWeights.size());
+            reconfigurationRequested = true;
+            return true;
+        }
+
+        long currentMax = maxLoad(assignment, currentWeights);
+        long balancedMax = maxLoad(balance(currentWeights, assignment.size()), currentWeights);
+        if (currentMax > 0 && currentMax > balancedMax * config.getShardRebalanceImbalanceRatio()) {
+            log.info("Busiest task carries weight {} against {} after rebalancing; requesting task reconfiguration",
+                    currentMax, balancedMax);
+            reconfigurationRequested = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Longest-processing-time-first: heaviest shard to the least loaded task.
+     * Shards within a task are returned in key order.
+     */
+    static List<List<String>> balance(Map<String, Long> weights, int tasks) {
+        List<String> shardsByWeight = new ArrayList<>(weights.keySet());
+        shardsByWeight.sort(Comparator.comparing((String shard) -> weights.get(shard)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        int taskCount = Math.max(1, Math.min(tasks, shardsByWeight.size()));
+        List<List<String>> result = new ArrayList<>(taskCount);
+        long[] loads = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (String shard : shardsByWeight) {
+            int lightest = 0;
+            for (int i = 1; i < taskCount; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            result.get(lightest).add(shard);
+            loads[lightest] += weights.get(shard);
+        }
+        for (List<String> taskShards : result) {
+            Collections.sort(taskShards);
+        }
+        return result;
+    }
+
+    private static long maxLoad(List<List<String>> assignment, Map<String, Long> weights) {
+        long max = 0;
+        for (List<String> taskShards : assignment) {
+            long load = 0;
+            for (String shard : taskShards) {
+                load += weights.getOrDefault(shard, 0L);
+            }
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        s3Client.close();
+    }
+}
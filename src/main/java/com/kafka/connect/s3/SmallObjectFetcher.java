@@ -0,0 +1,169 @@
+package com.kafka.connect.s3;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches objects of up to {@code small.object.threshold.bytes} concurrently, so that many
+ * small objects are bound by bandwidth rather than by one request round trip each. Content
+ * is read into buffers from a shared pool, which are handed back once the object is parsed.
+ * Objects in the local cache are served from it instead.
+ * At most {@link #getWindow()} fetches should be outstanding; a fetch never blocks on the pool
+ * and allocates a buffer when none is free.
+ */
+public class SmallObjectFetcher implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SmallObjectFetcher.class);
+
+    static final int MAX_CONCURRENCY = 256;
+
+    private final S3ClientWrapper s3Client;
+    private final ObjectCache objectCache;
+    private final S3SourceMetrics metrics;
+    private final String bucket;
+    private final int bufferSize;
+    private int window;
+    private final ThreadPoolExecutor fetchPool;
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * @param objectCache local object cache, or null when caching is disabled
+     */
+    public SmallObjectFetcher(S3ClientWrapper s3Client, ObjectCache objectCache, S3SourceMetrics metrics,
+                              S3SourceConnectorConfig config) {
+        this.s3Client = s3Client;
+        this.objectCache = objectCache;
+        this.metrics = metrics;
+        this.bucket = config.getBucketName();
+        this.bufferSize = config.getSmallObjectThresholdBytes();
+        int concurrency = config.getSmallObjectFetchConcurrency();
+        // Keep a second round of fetches running while the first is parsed
+        this.window = concurrency * 2;
+        this.buffers = new ArrayBlockingQueue<>(MAX_CONCURRENCY * 2);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.fetchPool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "s3-fetch-" + config.getBucketName() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        fetchPool.allowCoreThreadTimeOut(true);
+        log.info("Fetching objects of up to {} bytes with {} concurrent requests", bufferSize, concurrency);
+    }
+
+    public int getThresholdBytes() {
+        return bufferSize;
+    }
+
+    /**
+     * Number of fetches worth keeping outstanding
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    public int getConcurrency() {
+        return fetchPool.getMaximumPoolSize();
+    }
+
+    /**
+     * Change the number of concurrent fetches, up to {@value #MAX_CONCURRENCY}
+     */
+    public void setConcurrency(int concurrency) {
+        int threads = Math.max(1, Math.min(concurrency, MAX_CONCURRENCY));
+        if (threads > fetchPool.getMaximumPoolSize()) {
+            fetchPool.setMaximumPoolSize(threads);
+            fetchPool.setCorePoolSize(threads);
+        } else {
+            fetchPool.setCorePoolSize(threads);
+            fetchPool.setMaximumPoolSize(threads);
+        }
+        window = threads * 2;
+    }
+
+    /**
+     * Start fetching an object, from the local cache when it holds the same version
+     */
+    public Fetch submit(S3Object s3Object) {
+        Fetch fetch = new Fetch();
+        fetch.future = fetchPool.submit(() -> {
+            String key = s3Object.key();
+            if (objectCache != null) {
+                ByteBuffer cached = objectCache.get(bucket, key, s3Object.eTag());
+                if (cached != null) {
+                    metrics.recordCacheHit();
+                    return cached;
+                }
+                metrics.recordCacheMiss();
+            }
+
+            fetch.buffer = acquire();
+            ByteBuffer content = s3Client.getObjectContent(key, fetch.buffer);
+            if (objectCache != null) {
+                objectCache.put(bucket, key, s3Object.eTag(), content);
+            }
+            return content;
+        });
+        return fetch;
+    }
+
+    private byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    @Override
+    public void close() {
+        fetchPool.shutdownNow();
+        buffers.clear();
+    }
+
+    /**
+     * An object being fetched. Its content is only valid until {@link #release()}.
+     */
+    public final class Fetch {
+        private Future<ByteBuffer> future;
+        private volatile byte[] buffer;
+
+        /**
+         * Wait for the content. S3 errors such as {@code NoSuchKeyException} are rethrown as they are.
+         */
+        public ByteBuffer get() throws IOException, InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException("Failed to fetch object", e.getCause());
+            }
+        }
+
+        /**
+         * Return the buffer to the pool, or cancel the fetch when it has not completed
+         */
+        public void release() {
+            if (!future.isDone()) {
+                future.cancel(true);
+                return;
+            }
+            byte[] released = buffer;
+            buffer = null;
+            if (released != null) {
+                buffers.offer(released);
+            }
+        }
+    }
+}
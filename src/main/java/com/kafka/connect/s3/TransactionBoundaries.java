@@ -0,0 +1,62 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.TransactionContext;
+
+import java.util.List;
+
+/**
+ * Transaction boundaries defined by a task when the worker runs exactly-once with
+ * {@code transaction.boundary=connector}: a transaction ends after the last record of each
+ * object, or after every {@code transaction.commit.records} records. Boundaries are attached
+ * to records, so they hold when an object's records are spread over several polls.
+ */
+public class TransactionBoundaries {
+    private final TransactionContext context;
+    private final boolean perObject;
+    private final int commitRecords;
+    private int recordsInTransaction = 0;
+
+    public TransactionBoundaries(TransactionContext context, S3SourceConnectorConfig config) {
+        this.context = context;
+        this.perObject = "object".equals(config.getTransactionCommitMode());
+        this.commitRecords = config.getTransactionCommitRecords();
+    }
+
+    public boolean isPerObject() {
+        return perObject;
+    }
+
+    /**
+     * Define the boundaries for the records of one object, or of one poll of a streamed binary object
+     */
+    public void define(List<SourceRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (perObject) {
+            // A streamed binary object spans several polls; commit after its last chunk only
+            SourceRecord last = records.get(records.size() - 1);
+            if (!Boolean.FALSE.equals(last.sourceOffset().get("complete"))) {
+                context.commitTransaction(last);
+            }
+            return;
+        }
+        for (SourceRecord record : records) {
+            if (++recordsInTransaction >= commitRecords) {
+                context.commitTransaction(record);
+                recordsInTransaction = 0;
+            }
+        }
+    }
+
+    /**
+     * Commit the records added since the last boundary, as nothing more is added to them for now
+     */
+    public void commitOpen() {
+        if (recordsInTransaction > 0) {
+            context.commitTransaction();
+            recordsInTransaction = 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBatchSizerTest {
+
+    private static AdaptiveBatchSizer sizer(long latencyTargetMs) {
+        return new AdaptiveBatchSizer(100, 1000, latencyTargetMs, S3SourceMetrics.unregistered());
+    }
+
+    /**
+     * Sizer whose limit was halved by a batch left unacknowledged past a 300 ms target
+     */
+    private static AdaptiveBatchSizer halved() throws InterruptedException {
+        AdaptiveBatchSizer sizer = sizer(300);
+        sizer.emitted(10);
+        Thread.sleep(400);
+        assertEquals(500, sizer.nextLimitBytes());
+        return sizer;
+    }
+
+    @Test
+    public void startsAtTheMaximum() {
+        assertEquals(1000, sizer(1000).getLimitBytes());
+        assertEquals(100, new AdaptiveBatchSizer(100, 10, 1000, S3SourceMetrics.unregistered()).getLimitBytes());
+    }
+
+    @Test
+    public void overdueBatchesHalveTheLimitOncePerInterval() throws InterruptedException {
+        AdaptiveBatchSizer sizer = halved();
+
+        assertEquals(500, sizer.nextLimitBytes());
+        // The late acknowledgement belongs to the same stall
+        for (int i = 0; i < 10; i++) {
+            sizer.acked();
+        }
+        assertEquals(500, sizer.getLimitBytes());
+    }
+
+    @Test
+    public void acksUnderTheTargetGrowTheLimitByTheMinimumUpToTheMaximum() throws InterruptedException {
+        AdaptiveBatchSizer sizer = halved();
+        for (int i = 0; i < 10; i++) {
+            sizer.acked();
+        }
+
+        sizer.emitted(2);
+        sizer.acked();
+        assertEquals(500, sizer.getLimitBytes());
+        sizer.acked();
+        assertEquals(600, sizer.getLimitBytes());
+
+        for (int i = 0; i < 10; i++) {
+            sizer.emitted(1);
+            sizer.acked();
+        }
+        assertEquals(1000, sizer.getLimitBytes());
+    }
+
+    @Test
+    public void zeroTargetKeepsTheLimitAtTheMaximum() throws InterruptedException {
+        AdaptiveBatchSizer sizer = sizer(0);
+        sizer.emitted(1);
+        Thread.sleep(20);
+
+        assertEquals(1000, sizer.nextLimitBytes());
+        sizer.acked();
+        assertEquals(1000, sizer.getLimitBytes());
+    }
+}
@@ -0,0 +1,52 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void startsAtTheInitialLimit() {
+        assertEquals(32, new AdaptiveConcurrencyLimiter(4, 32, 64, 2000).getLimit());
+    }
+
+    @Test
+    public void clampsTheInitialLimitToTheBounds() {
+        assertEquals(64, new AdaptiveConcurrencyLimiter(4, 100, 64, 2000).getLimit());
+        assertEquals(4, new AdaptiveConcurrencyLimiter(4, 1, 64, 2000).getLimit());
+    }
+
+    @Test
+    public void throttlingHalvesTheLimitOncePerInterval() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 32, 64, 60000);
+        limiter.onThrottle();
+        limiter.onThrottle();
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    public void healthyResponsesGrowTheLimitUpToTheMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 60, 64, 2000);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < 10000; i++) {
+            limiter.onSuccess(fast);
+        }
+        assertEquals(64, limiter.getLimit());
+
+        limiter.onSuccess(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(64, limiter.getLimit());
+    }
+
+    @Test
+    public void acquireAdmitsUpToTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, 2, 2000);
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(2, limiter.getInFlight());
+        limiter.release();
+        assertEquals(1, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,321 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileFormatParserTest {
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer direct(byte[] content) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+        buffer.put(content).flip();
+        return buffer;
+    }
+
+    private static List<String> lines(ByteBuffer content) {
+        List<String> lines = new ArrayList<>();
+        FileFormatParser.forEachLine(content, lines::add);
+        return lines;
+    }
+
+    private static List<Map<String, Object>> parse(String content, String... overrides) {
+        try (FileFormatParser parser = new FileFormatParser(TestConfigs.config(overrides))) {
+            return parser.parse(bytes(content), "object");
+        }
+    }
+
+    private static String[] parallel(String... overrides) {
+        String[] result = Arrays.copyOf(overrides, overrides.length + 4);
+        result[overrides.length] = "parse.parallelism";
+        result[overrides.length + 1] = "4";
+        result[overrides.length + 2] = "parse.parallel.min.bytes";
+        result[overrides.length + 3] = "0";
+        return result;
+    }
+
+    /**
+     * JSON lines of uneven length, so chunk boundaries fall inside lines
+     */
+    private static String jsonLines(int bytes) {
+        StringBuilder content = new StringBuilder(bytes + 128);
+        for (int i = 0; content.length() < bytes; i++) {
+            content.append("{\"id\":").append(i).append(",\"pad\":\"");
+            for (int j = 0; j < i % 97; j++) {
+                content.append('x');
+            }
+            content.append("\"}\n");
+        }
+        return content.toString();
+    }
+
+    private static void assertParallelMatchesSequential(String content, String... overrides) {
+        List<Map<String, Object>> sequential = parse(content, overrides);
+        List<Map<String, Object>> parallel = parse(content, parallel(overrides));
+
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    private static List<FileFormatParser.Frame> frames(byte[] content, String... overrides) {
+        String[] framed = Arrays.copyOf(overrides, overrides.length + 2);
+        framed[overrides.length] = "file.format";
+        framed[overrides.length + 1] = "framed";
+        try (FileFormatParser parser = new FileFormatParser(TestConfigs.config(framed))) {
+            return parser.parseFrames(ByteBuffer.wrap(content), "object");
+        }
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] varint(long value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+        return out.toByteArray();
+    }
+
+    private static byte[] filled(int length) {
+        byte[] value = new byte[length];
+        Arrays.fill(value, (byte) 'x');
+        return value;
+    }
+
+    private static Throwable framingFailure(byte[] content, String... overrides) {
+        try {
+            frames(content, overrides);
+        } catch (RuntimeException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("Expected framing to fail");
+    }
+
+    @Test
+    public void splitsFramesWithMultiByteVarintLengths() {
+        byte[] content = concat(varint(1), bytes("a"), varint(300), filled(300), varint(0), varint(20000), filled(20000));
+        List<FileFormatParser.Frame> frames = frames(content);
+
+        assertEquals(4, frames.size());
+        assertEquals(300, frames.get(1).getValue().length);
+        assertEquals(0, frames.get(2).getValue().length);
+        assertEquals(20000, frames.get(3).getValue().length);
+    }
+
+    @Test
+    public void acceptsVarintLengthsWithRedundantContinuationBytes() {
+        // 3 written in three bytes, as some encoders pad lengths
+        byte[] content = concat(new byte[]{(byte) 0x83, (byte) 0x80, 0x00}, bytes("abc"));
+
+        assertArrayEquals(bytes("abc"), frames(content).get(0).getValue());
+    }
+
+    @Test
+    public void rejectsOverlongVarint() {
+        byte[] content = new byte[12];
+        Arrays.fill(content, (byte) 0xff);
+
+        Throwable failure = framingFailure(content);
+        assertTrue(failure instanceof IllegalStateException);
+        assertEquals("Malformed varint", failure.getMessage());
+    }
+
+    @Test
+    public void rejectsTruncatedFinalFrame() {
+        byte[] content = concat(varint(2), bytes("ab"), varint(5), bytes("cd"));
+
+        Throwable failure = framingFailure(content);
+        assertTrue(failure instanceof IllegalStateException);
+        assertTrue(failure.getMessage(), failure.getMessage().contains("declares 5 bytes but only 2 remain"));
+    }
+
+    @Test
+    public void rejectsTruncatedLengthPrefix() {
+        byte[] content = concat(new byte[]{0, 0, 0, 1}, bytes("a"), new byte[]{0, 0});
+
+        assertTrue(framingFailure(content, "framed.length.encoding", "fixed32") instanceof BufferUnderflowException);
+        assertTrue(framingFailure(concat(varint(1), bytes("a"), new byte[]{(byte) 0x80}))
+                instanceof BufferUnderflowException);
+    }
+
+    @Test
+    public void rejectsLengthLargerThanTheBuffer() {
+        byte[] content = concat(varint(Integer.MAX_VALUE + 1L), bytes("abc"));
+        assertTrue(framingFailure(content) instanceof IllegalStateException);
+
+        // A fixed64 length with the sign bit set reads as negative
+        byte[] negative = concat(new byte[]{(byte) 0x80, 0, 0, 0, 0, 0, 0, 1}, bytes("a"));
+        assertTrue(framingFailure(negative, "framed.length.encoding", "fixed64") instanceof IllegalStateException);
+    }
+
+    @Test
+    public void readsFixedWidthLengthsInEitherByteOrder() {
+        byte[] bigEndian = concat(new byte[]{0x01, 0x02}, filled(258), new byte[]{0, 1}, bytes("z"));
+        byte[] littleEndian = concat(new byte[]{0x02, 0x01}, filled(258), new byte[]{1, 0}, bytes("z"));
+
+        List<FileFormatParser.Frame> big = frames(bigEndian, "framed.length.encoding", "fixed16");
+        List<FileFormatParser.Frame> little = frames(littleEndian,
+                "framed.length.encoding", "fixed16", "framed.byte.order", "little");
+
+        assertEquals(2, big.size());
+        assertEquals(258, big.get(0).getValue().length);
+        assertArrayEquals(bytes("z"), big.get(1).getValue());
+        assertEquals(2, little.size());
+        assertEquals(258, little.get(0).getValue().length);
+
+        byte[] fixed32 = concat(new byte[]{3, 0, 0, 0}, bytes("abc"));
+        assertArrayEquals(bytes("abc"), frames(fixed32,
+                "framed.length.encoding", "fixed32", "framed.byte.order", "little").get(0).getValue());
+        byte[] fixed64 = concat(new byte[]{0, 0, 0, 0, 0, 0, 0, 3}, bytes("abc"));
+        assertArrayEquals(bytes("abc"), frames(fixed64, "framed.length.encoding", "fixed64").get(0).getValue());
+    }
+
+    @Test
+    public void skipsFrameHeaders() {
+        byte[] content = concat(new byte[]{0x7f}, varint(2), bytes("ab"), new byte[]{0x7f}, varint(1), bytes("c"));
+        List<FileFormatParser.Frame> frames = frames(content, "framed.header.bytes", "1");
+
+        assertEquals(2, frames.size());
+        assertArrayEquals(bytes("c"), frames.get(1).getValue());
+    }
+
+    @Test
+    public void keysFramesByProtobufField() {
+        // field 1: varint 150, field 2: "user-7"
+        byte[] message = concat(new byte[]{0x08}, varint(150), new byte[]{0x12}, varint(6), bytes("user-7"));
+        List<FileFormatParser.Frame> frames = frames(concat(varint(message.length), message),
+                "framed.key.protobuf.field", "2");
+
+        assertEquals("user-7", frames.get(0).getKey());
+        assertEquals("150", FileFormatParser.protobufField(message, 1));
+    }
+
+    @Test
+    public void readsProtobufFieldsOfEveryWireType() {
+        byte[] message = concat(
+                new byte[]{0x09}, new byte[]{1, 0, 0, 0, 0, 0, 0, 0},    // field 1, fixed64
+                new byte[]{0x15}, new byte[]{2, 0, 0, 0},                // field 2, fixed32
+                new byte[]{0x18}, varint(-1L),                           // field 3, ten-byte varint
+                new byte[]{0x22}, varint(0),                             // field 4, empty string
+                new byte[]{0x18}, varint(5));                            // field 3 again; the last one wins
+
+        assertEquals("1", FileFormatParser.protobufField(message, 1));
+        assertEquals("2", FileFormatParser.protobufField(message, 2));
+        assertEquals("5", FileFormatParser.protobufField(message, 3));
+        assertEquals("", FileFormatParser.protobufField(message, 4));
+        assertNull(FileFormatParser.protobufField(message, 9));
+    }
+
+    @Test
+    public void readsNoProtobufFieldFromMalformedMessages() {
+        // Length-delimited field longer than the message
+        assertNull(FileFormatParser.protobufField(concat(new byte[]{0x12}, varint(10), bytes("ab")), 2));
+        // Truncated fixed32
+        assertNull(FileFormatParser.protobufField(new byte[]{0x15, 1, 2}, 2));
+        // Overlong varint tag
+        byte[] overlong = new byte[11];
+        Arrays.fill(overlong, (byte) 0xff);
+        assertNull(FileFormatParser.protobufField(overlong, 1));
+    }
+
+    @Test
+    public void parallelParseKeepsLinesThatStraddleChunks() {
+        String content = jsonLines(5 * FileFormatParser.MIN_CHUNK_BYTES + 12345);
+
+        assertParallelMatchesSequential(content, "file.format", "json");
+        assertParallelMatchesSequential(content, "file.format", "text");
+    }
+
+    @Test
+    public void parallelParseKeepsTrailingLineWithoutNewline() {
+        String content = jsonLines(3 * FileFormatParser.MIN_CHUNK_BYTES) + "{\"id\":-1}";
+
+        assertParallelMatchesSequential(content, "file.format", "json");
+        List<Map<String, Object>> records = parse(content, parallel("file.format", "json"));
+        assertEquals(-1, records.get(records.size() - 1).get("id"));
+    }
+
+    @Test
+    public void parallelParseKeepsLineLongerThanAChunk() {
+        StringBuilder longLine = new StringBuilder("{\"id\":0,\"pad\":\"");
+        while (longLine.length() < 3 * FileFormatParser.MIN_CHUNK_BYTES) {
+            longLine.append('x');
+        }
+        String content = jsonLines(FileFormatParser.MIN_CHUNK_BYTES) + longLine + "\"}\n"
+                + jsonLines(FileFormatParser.MIN_CHUNK_BYTES);
+
+        assertParallelMatchesSequential(content, "file.format", "json");
+    }
+
+    @Test
+    public void parallelParseOfBufferUnderOneChunk() {
+        String content = jsonLines(FileFormatParser.MIN_CHUNK_BYTES / 2);
+
+        assertParallelMatchesSequential(content, "file.format", "json");
+        assertParallelMatchesSequential("id,name\n1,alice\n2,bob", "file.format", "csv", "csv.header", "true");
+    }
+
+    @Test
+    public void stripsCarriageReturnsOfCrlfLines() {
+        byte[] content = bytes("a\r\nb\r\n\r\nc");
+        List<String> expected = Arrays.asList("a", "b", "", "c");
+
+        assertEquals(expected, lines(ByteBuffer.wrap(content)));
+        assertEquals(expected, lines(direct(content)));
+    }
+
+    @Test
+    public void keepsCarriageReturnsInsideLines() {
+        assertEquals(Arrays.asList("a\rb", "c"), lines(ByteBuffer.wrap(bytes("a\rb\nc\r\n"))));
+    }
+
+    @Test
+    public void parsesCrlfCsv() {
+        List<Map<String, Object>> records = parse("id,name\r\n1,alice\r\n2,bob\r\n",
+                "file.format", "csv", "csv.header", "true");
+
+        assertEquals(2, records.size());
+        assertEquals("alice", records.get(0).get("name"));
+        assertEquals("bob", records.get(1).get("name"));
+    }
+
+    @Test
+    public void parsesCrlfCsvWithProjection() {
+        List<Map<String, Object>> records = parse("id;name\r\n1;alice\r\n",
+                "file.format", "csv", "csv.header", "true", "csv.delimiter", ";", "record.fields", "name");
+
+        assertEquals(1, records.size());
+        assertEquals("alice", records.get(0).get("name"));
+    }
+
+    @Test
+    public void parsesCrlfJsonLines() {
+        List<Map<String, Object>> records = parse("{\"id\":1}\r\n{\"id\":2}\r\n", "file.format", "json");
+
+        assertEquals(2, records.size());
+        assertEquals(2, records.get(1).get("id"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectAckTrackerTest {
+
+    @Test
+    public void completesAnObjectOnceEveryRecordIsAcked() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.track("a", "\"etag-a\"", 2);
+
+        tracker.ack("a");
+        assertTrue(tracker.isInFlight("a"));
+        assertTrue(tracker.drainCompleted().isEmpty());
+
+        tracker.ack("a");
+        assertFalse(tracker.isInFlight("a"));
+        List<ObjectAckTracker.CompletedObject> completed = tracker.drainCompleted();
+        assertEquals(1, completed.size());
+        assertEquals("a", completed.get(0).getKey());
+        assertEquals("\"etag-a\"", completed.get(0).getEtag());
+    }
+
+    @Test
+    public void completesObjectsWithoutRecordsRightAway() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.track("empty", "e", 0);
+
+        assertFalse(tracker.isInFlight("empty"));
+        assertEquals("empty", tracker.drainCompleted().get(0).getKey());
+    }
+
+    @Test
+    public void accumulatesRecordsOfAnObjectEmittedAgainAndKeepsTheLatestEtag() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.track("a", "v1", 1);
+        tracker.track("a", "v2", 2);
+        assertEquals(1, tracker.getInFlightCount());
+
+        tracker.ack("a");
+        tracker.ack("a");
+        assertTrue(tracker.isInFlight("a"));
+        tracker.ack("a");
+
+        List<ObjectAckTracker.CompletedObject> completed = tracker.drainCompleted();
+        assertEquals(1, completed.size());
+        assertEquals("v2", completed.get(0).getEtag());
+    }
+
+    @Test
+    public void forgottenObjectsAreNotReportedAsCompleted() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.track("a", "e", 2);
+        tracker.forget("a");
+        tracker.ack("a");
+
+        assertFalse(tracker.isInFlight("a"));
+        assertTrue(tracker.drainCompleted().isEmpty());
+    }
+
+    @Test
+    public void ignoresAcksOfUntrackedObjects() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.ack("unknown");
+
+        assertEquals(0, tracker.getInFlightCount());
+        assertTrue(tracker.drainCompleted().isEmpty());
+    }
+
+    @Test
+    public void drainsEachCompletedObjectOnce() {
+        ObjectAckTracker tracker = new ObjectAckTracker();
+        tracker.track("a", "e", 1);
+        tracker.track("b", "e", 1);
+        tracker.ack("b");
+        tracker.ack("a");
+
+        List<ObjectAckTracker.CompletedObject> completed = tracker.drainCompleted();
+        assertEquals(2, completed.size());
+        assertEquals("b", completed.get(0).getKey());
+        assertTrue(tracker.drainCompleted().isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package com.kafka.connect.s3;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String read(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> files(String suffix) throws Exception {
+        try (Stream<Path> stream = Files.list(folder.getRoot().toPath())) {
+            return stream.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(suffix))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void returnsCachedContentForTheSameEtagOnly() {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1024);
+        cache.put("bucket", "a.json", "etag-1", "hello".getBytes(StandardCharsets.UTF_8));
+
+        ByteBuffer cached = cache.get("bucket", "a.json", "etag-1");
+        assertNotNull(cached);
+        assertEquals("hello", read(cached));
+        assertNull(cache.get("bucket", "a.json", "etag-2"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntries() {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 10);
+        cache.put("bucket", "a", "e", new byte[4]);
+        cache.put("bucket", "b", "e", new byte[4]);
+        cache.get("bucket", "a", "e");
+        cache.put("bucket", "c", "e", new byte[4]);
+
+        assertNotNull(cache.get("bucket", "a", "e"));
+        assertNull(cache.get("bucket", "b", "e"));
+        assertNotNull(cache.get("bucket", "c", "e"));
+        assertEquals(8, cache.getTotalBytes());
+    }
+
+    @Test
+    public void skipsObjectsLargerThanTheCache() throws Exception {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 4);
+        cache.put("bucket", "a", "e", new byte[5]);
+
+        assertEquals(0, cache.getEntryCount());
+        assertTrue(files(".tmp").isEmpty());
+    }
+
+    @Test
+    public void storesTheRemainingBytesOfABuffer() {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1024);
+        ByteBuffer content = ByteBuffer.wrap("--hello--".getBytes(StandardCharsets.UTF_8), 2, 5);
+        cache.put("bucket", "a", "e", content);
+
+        assertEquals("hello", read(cache.get("bucket", "a", "e")));
+        assertEquals(5, cache.getTotalBytes());
+        // The caller can still read the buffer
+        assertEquals("hello", read(content));
+    }
+
+    @Test
+    public void adoptsDownloadedFiles() throws Exception {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1024);
+        Path download = folder.newFile("download").toPath();
+        Files.write(download, "spilled".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(cache.putFile("bucket", "a", "e", download));
+        assertFalse(Files.exists(download));
+        assertEquals("spilled", read(cache.get("bucket", "a", "e")));
+    }
+
+    @Test
+    public void concurrentPutsOfTheSameObjectKeepOneEntry() throws Exception {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1 << 20);
+        byte[] content = new byte[64 * 1024];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    cache.put("bucket", "a", "e", content);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(content.length, cache.getTotalBytes());
+        assertEquals(1, files(".obj").size());
+        assertTrue(files(".tmp").isEmpty());
+    }
+
+    @Test
+    public void reloadsEntriesAndDropsLeftoverTempFiles() throws Exception {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1024);
+        cache.put("bucket", "a", "e", "hello".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.getRoot().toPath().resolve("partial.tmp"), new byte[3]);
+
+        ObjectCache reopened = new ObjectCache(folder.getRoot().getPath(), 1024);
+        assertEquals(1, reopened.getEntryCount());
+        assertEquals("hello", read(reopened.get("bucket", "a", "e")));
+        assertTrue(files(".tmp").isEmpty());
+    }
+}
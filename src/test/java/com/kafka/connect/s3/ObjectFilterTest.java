@@ -0,0 +1,154 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectFilterTest {
+
+    private static final String[] SEGMENTS = {"data", "tmp", "_temporary", "logs", "2026", "dt=2026-10-01",
+            "dt=x", "a.json", "b.csv", "x.json.gz", "part-0", "report.json", "a|b", "line\nbreak", "", "json"};
+
+    private static S3Object object(String key, long size, long lastModifiedSeconds) {
+        return S3Object.builder().key(key).size(size).lastModified(Instant.ofEpochSecond(lastModifiedSeconds)).build();
+    }
+
+    private static S3Object object(String key) {
+        return object(key, 100, 0);
+    }
+
+    /**
+     * Keys of one to four segments, with sizes and times around the filter bounds
+     */
+    private static List<S3Object> corpus() {
+        Random random = new Random(42);
+        List<S3Object> objects = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+            for (int depth = random.nextInt(4); depth > 0; depth--) {
+                key.append('/').append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+            }
+            objects.add(object(key.toString(), random.nextInt(2000), 1790000000L + random.nextInt(200000)));
+        }
+        objects.add(object("data/a.json"));
+        objects.add(object("tmp/a\nb"));
+        return objects;
+    }
+
+    /**
+     * Every rule checked directly against each object, each pattern through its full regular
+     * expression, as objects were filtered before the rules were compiled
+     */
+    private static boolean reference(S3Object object, S3SourceConnectorConfig config) {
+        String key = object.key();
+        List<String> suffixes = config.getSuffixes();
+        if (!suffixes.isEmpty() && suffixes.stream().noneMatch(key::endsWith)) {
+            return false;
+        }
+        if (object.size() < config.getMinObjectSize() || object.size() > config.getMaxObjectSize()) {
+            return false;
+        }
+        if (config.getFilterByLastModified()) {
+            String after = config.getLastModifiedAfter();
+            if (after != null && !after.isEmpty() && object.lastModified().isBefore(Instant.parse(after))) {
+                return false;
+            }
+            String before = config.getLastModifiedBefore();
+            if (before != null && !before.isEmpty() && object.lastModified().isAfter(Instant.parse(before))) {
+                return false;
+            }
+        }
+        for (String exclude : config.getKeyExcludes()) {
+            if (matches(exclude, key)) {
+                return false;
+            }
+        }
+        List<String> includes = config.getKeyIncludes();
+        return includes.isEmpty() || includes.stream().anyMatch(include -> matches(include, key));
+    }
+
+    private static boolean matches(String pattern, String key) {
+        if (pattern.startsWith("regex:")) {
+            return Pattern.compile(pattern.substring("regex:".length())).matcher(key).matches();
+        }
+        String glob = pattern.startsWith("glob:") ? pattern.substring("glob:".length()) : pattern;
+        return ObjectFilter.globToRegex(glob).matcher(key).matches();
+    }
+
+    private static void assertSameAsReference(String... overrides) {
+        S3SourceConnectorConfig config = TestConfigs.config(overrides);
+        ObjectFilter filter = ObjectFilter.compile(config);
+        int accepted = 0;
+        for (S3Object object : corpus()) {
+            boolean expected = reference(object, config);
+            assertEquals("Key " + object.key(), expected, filter.test(object));
+            accepted += expected ? 1 : 0;
+        }
+        // The rules must neither accept nor reject everything, or the comparison proves little
+        assertTrue(accepted > 0);
+        assertTrue(accepted < corpus().size());
+    }
+
+    @Test
+    public void compiledGlobsMatchTheirRegularExpressions() {
+        assertSameAsReference("s3.key.exclude", "tmp/**,**/_temporary/**,**.csv,data/*/report.json,**part-0**",
+                "s3.key.include", "glob:data/**,logs/?026/**,**/dt=[0-9]*/**,**json");
+        assertSameAsReference("s3.key.include", "logs/[!0-9]*,data/?.json,**.gz");
+    }
+
+    @Test
+    public void exactKeysMatchOnlyThemselves() {
+        assertSameAsReference("s3.key.exclude", "data/a.json,glob:tmp/a.json,logs");
+        assertSameAsReference("s3.key.include", "data/a.json,logs,json");
+    }
+
+    @Test
+    public void substringRegexesMatchTheirFullExpressions() {
+        assertSameAsReference("s3.key.include", "regex:.*json.*,regex:.*_temp.*",
+                "s3.key.exclude", "regex:.*[|].*,regex:.*a|b.*");
+        assertSameAsReference("s3.key.include", "regex:.*(json|csv).*,regex:.*dt=\\d+.*,regex:.*+x.*");
+        assertSameAsReference("s3.key.exclude", "regex:.*\\\\.*,regex:.*\\..*,regex:.*?json.*");
+        assertSameAsReference("s3.key.include", "regex:.*break.*,regex:^data/.*");
+    }
+
+    @Test
+    public void combinedRulesMatchPerObjectChecks() {
+        assertSameAsReference("s3.suffix", ".json,.csv", "min.object.size", "100", "max.object.size", "1500",
+                "filter.by.last.modified", "true", "last.modified.after", "2026-09-22T00:00:00Z",
+                "last.modified.before", "2026-09-23T12:00:00Z",
+                "s3.key.exclude", "tmp/**,data/a.json,regex:.*part.*", "s3.key.include", "**,regex:.*x.*");
+        assertSameAsReference("s3.suffix", ".json");
+    }
+
+    @Test
+    public void globWildcardsMatchKeysWithLineBreaks() {
+        ObjectFilter filter = ObjectFilter.compile(TestConfigs.config("s3.key.exclude", "tmp/**,**/x/*"));
+
+        assertFalse(filter.test(object("tmp/a\nb")));
+        assertFalse(filter.test(object("a\nb/x/c\nd")));
+        assertTrue(filter.test(object("a\nb/x/c/d")));
+    }
+
+    @Test
+    public void returnsTheInputWhenNothingIsFiltered() {
+        List<S3Object> objects = Arrays.asList(object("a"), object("b"));
+        assertSame(objects, ObjectFilter.compile(TestConfigs.config()).filter(objects));
+    }
+
+    @Test(expected = ConfigException.class)
+    public void rejectsInvalidRegularExpressions() {
+        ObjectFilter.compile(TestConfigs.config("s3.key.include", "regex:(unclosed"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ObjectSchedulerTest {
+
+    private static S3Object object(String key, long size, long lastModifiedSeconds) {
+        return S3Object.builder().key(key).size(size).lastModified(Instant.ofEpochSecond(lastModifiedSeconds)).build();
+    }
+
+    private static S3Object object(String key, long size) {
+        return object(key, size, 0);
+    }
+
+    /**
+     * Scheduler over the given listing pages, followed by the end of the cycle
+     */
+    @SafeVarargs
+    private static ObjectScheduler scheduler(String policy, int batchSize, String[] overrides, List<S3Object>... pages) {
+        Deque<List<S3Object>> remaining = new ArrayDeque<>(Arrays.asList(pages));
+        List<String> settings = new ArrayList<>(Arrays.asList(overrides));
+        settings.addAll(Arrays.asList("s3.prefix", "data/", "schedule.policy", policy,
+                "max.objects.per.poll", String.valueOf(batchSize)));
+        return new ObjectScheduler(remaining::poll, TestConfigs.config(settings.toArray(new String[0])));
+    }
+
+    @SafeVarargs
+    private static ObjectScheduler scheduler(String policy, int batchSize, List<S3Object>... pages) {
+        return scheduler(policy, batchSize, new String[0], pages);
+    }
+
+    /**
+     * Keys of every object handed out until the end of the cycle
+     */
+    private static List<String> drain(ObjectScheduler scheduler) throws Exception {
+        List<String> keys = new ArrayList<>();
+        List<S3Object> batch;
+        while ((batch = scheduler.nextBatch()) != null) {
+            for (S3Object object : batch) {
+                keys.add(object.key());
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void keepsListingOrderByDefault() throws Exception {
+        ObjectScheduler scheduler = scheduler("listing", 2,
+                Arrays.asList(object("data/c", 3), object("data/a", 1), object("data/b", 2)));
+
+        assertEquals(Arrays.asList("data/c", "data/a"), keys(scheduler.nextBatch()));
+        assertEquals(Collections.singletonList("data/b"), keys(scheduler.nextBatch()));
+        assertNull(scheduler.nextBatch());
+    }
+
+    @Test
+    public void ordersOldestFirst() throws Exception {
+        ObjectScheduler scheduler = scheduler("oldest", 10,
+                Arrays.asList(object("data/c", 1, 30), object("data/b", 1, 10)),
+                Arrays.asList(object("data/a", 1, 20), object("data/d", 1, 10)));
+
+        assertEquals(Arrays.asList("data/b", "data/d", "data/a", "data/c"), drain(scheduler));
+    }
+
+    @Test
+    public void ordersSmallestFirstThenOldest() throws Exception {
+        ObjectScheduler scheduler = scheduler("smallest", 10,
+                Arrays.asList(object("data/c", 300, 0), object("data/b", 20, 5), object("data/a", 20, 1),
+                        object("data/d", 1, 9)));
+
+        assertEquals(Arrays.asList("data/d", "data/a", "data/b", "data/c"), drain(scheduler));
+    }
+
+    @Test
+    public void reordersOnlyWithinTheLookahead() throws Exception {
+        ObjectScheduler scheduler = scheduler("smallest", 1, new String[]{"schedule.lookahead.objects", "2"},
+                Collections.singletonList(object("data/c", 3)),
+                Collections.singletonList(object("data/b", 2)),
+                Collections.singletonList(object("data/a", 1)));
+
+        assertEquals(Arrays.asList("data/b", "data/a", "data/c"), drain(scheduler));
+    }
+
+    @Test
+    public void fairPolicyDoesNotLetALargeBacklogStarveAnotherPrefix() throws Exception {
+        List<S3Object> page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(object(String.format("data/big/%03d", i), 1024 * 1024));
+        }
+        for (int i = 0; i < 3; i++) {
+            page.add(object("data/small/" + i, 1024 * 1024));
+        }
+        ObjectScheduler scheduler = scheduler("fair", 2, page);
+
+        // The prefixes take turns, although the small one was listed after the whole backlog
+        assertEquals(Arrays.asList("data/big/000", "data/small/0"), keys(scheduler.nextBatch()));
+        assertEquals(Arrays.asList("data/big/001", "data/small/1"), keys(scheduler.nextBatch()));
+        assertEquals(Arrays.asList("data/big/002", "data/small/2"), keys(scheduler.nextBatch()));
+        assertEquals(Arrays.asList("data/big/003", "data/big/004"), keys(scheduler.nextBatch()));
+    }
+
+    @Test
+    public void fairPolicySharesBytesRatherThanObjects() throws Exception {
+        List<S3Object> page = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            page.add(object("data/big/" + i, 100L * 1024 * 1024));
+        }
+        for (int i = 0; i < 100; i++) {
+            page.add(object(String.format("data/small/%03d", i), 1024));
+        }
+        List<String> keys = drain(scheduler("fair", 10, page));
+
+        // Every small object fits in the share of the first large one
+        assertEquals("data/big/0", keys.get(0));
+        assertEquals("data/small/099", keys.get(100));
+        assertEquals("data/big/1", keys.get(101));
+    }
+
+    @Test
+    public void fairPolicyFollowsPrefixWeights() throws Exception {
+        List<S3Object> page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(object("data/logs/" + i, 1024 * 1024));
+            page.add(object("data/metrics/" + i, 1024 * 1024));
+        }
+        List<String> keys = drain(scheduler("fair", 8, new String[]{"schedule.fair.weights", "logs=3"}, page));
+
+        long logs = keys.subList(0, 16).stream().filter(key -> key.startsWith("data/logs/")).count();
+        assertEquals(12, logs);
+        assertEquals(40, keys.size());
+    }
+
+    @Test
+    public void drainsTheBufferBeforeReportingTheEndOfTheCycle() throws Exception {
+        ObjectScheduler scheduler = scheduler("oldest", 1,
+                Arrays.asList(object("data/b", 1, 2), object("data/a", 1, 1)));
+
+        assertEquals(Collections.singletonList("data/a"), keys(scheduler.nextBatch()));
+        assertEquals(Collections.singletonList("data/b"), keys(scheduler.nextBatch()));
+        assertNull(scheduler.nextBatch());
+    }
+
+    @Test(expected = ConfigException.class)
+    public void rejectsNonPositiveWeights() {
+        ObjectScheduler.parseWeights(Collections.singletonList("logs=0"));
+    }
+
+    private static List<String> keys(List<S3Object> objects) {
+        List<String> keys = new ArrayList<>();
+        for (S3Object object : objects) {
+            keys.add(object.key());
+        }
+        return keys;
+    }
+}
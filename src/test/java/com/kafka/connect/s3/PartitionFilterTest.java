@@ -0,0 +1,94 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionFilterTest {
+
+    @Test
+    public void comparesNumbersNumerically() {
+        PartitionFilter filter = PartitionFilter.parse("hour >= 10");
+
+        assertFalse(filter.accepts("hour", "9"));
+        assertTrue(filter.accepts("hour", "10"));
+        assertTrue(filter.accepts("hour", "10.0"));
+        assertTrue(filter.accepts("hour", "1e3"));
+        assertTrue(PartitionFilter.parse("delta < 0").accepts("delta", "-5"));
+        assertTrue(PartitionFilter.parse("version = 1.0").accepts("version", "1.00"));
+    }
+
+    @Test
+    public void fallsBackToStringsWhenEitherSideIsNotANumber() {
+        PartitionFilter filter = PartitionFilter.parse("dt >= 2026-10-01");
+
+        assertFalse(filter.accepts("dt", "2026-09-30"));
+        assertTrue(filter.accepts("dt", "2026-10-01"));
+        assertTrue(filter.accepts("dt", "2026-10-16"));
+        // "abc" sorts after "10" as a string
+        assertTrue(PartitionFilter.parse("hour >= 10").accepts("hour", "abc"));
+        // A quoted number is still a number
+        assertFalse(PartitionFilter.parse("hour > '9'").accepts("hour", "10.0e-1"));
+    }
+
+    @Test
+    public void matchesInListsAsStrings() {
+        PartitionFilter filter = PartitionFilter.parse("region in (eu, 'us'); hour not in (1, 2)");
+
+        assertTrue(filter.accepts("region", "us"));
+        assertFalse(filter.accepts("region", "ap"));
+        assertFalse(filter.accepts("hour", "2"));
+        assertTrue(filter.accepts("hour", "02"));
+    }
+
+    @Test
+    public void acceptsColumnsWithoutPredicates() {
+        assertTrue(PartitionFilter.parse("dt >= 2026-10-01").accepts("region", "anything"));
+    }
+
+    @Test
+    public void parsesEmptyExpressionAsNoFilter() {
+        assertNull(PartitionFilter.parse(""));
+        assertNull(PartitionFilter.parse("  "));
+    }
+
+    @Test(expected = ConfigException.class)
+    public void rejectsInvalidClause() {
+        PartitionFilter.parse("dt ~ 2026");
+    }
+
+    @Test
+    public void parsesOnlyHiveStyleSegments() {
+        assertNull(PartitionFilter.parseSegment("2026/"));
+        assertNull(PartitionFilter.parseSegment("=2026/"));
+        assertNull(PartitionFilter.parseSegment("a/dt=2026/"));
+        assertArrayEquals(new String[]{"dt", "2026-10-16"}, PartitionFilter.parseSegment("dt=2026-10-16/"));
+    }
+
+    @Test
+    public void acceptsKeysWithoutHiveStyleDirectories() {
+        PartitionFilter filter = PartitionFilter.parse("dt >= 2026-10-01");
+
+        assertTrue(filter.acceptsKey("data/2026/09/01/part-0.json", "data/"));
+        assertTrue(filter.acceptsKey("part-0.json", "data/"));
+        assertTrue(filter.acceptsKey("data/=2026-09-01/part-0.json", "data/"));
+        // The file name is not a directory, even when it looks like a partition
+        assertTrue(filter.acceptsKey("data/dt=2026-09-01.json", "data/"));
+    }
+
+    @Test
+    public void checksEveryHiveStyleDirectoryOfAKey() {
+        PartitionFilter filter = PartitionFilter.parse("dt >= 2026-10-01; region in (eu)");
+
+        assertTrue(filter.acceptsKey("data/dt=2026-10-16/region=eu/part-0.json", "data/"));
+        assertFalse(filter.acceptsKey("data/dt=2026-09-30/region=eu/part-0.json", "data/"));
+        assertFalse(filter.acceptsKey("data/dt=2026-10-16/extra/region=us/part-0.json", "data/"));
+        // Keys outside the root are checked from their start
+        assertFalse(filter.acceptsKey("other/region=us/part-0.json", "data/"));
+        assertTrue(filter.acceptsKey("dt=2026-10-16/part-0.json", null));
+    }
+}
@@ -0,0 +1,98 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PollBatcherTest {
+
+    private static List<SourceRecord> records(int count) {
+        List<SourceRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new SourceRecord(null, null, "test-topic", null, null, i));
+        }
+        return records;
+    }
+
+    private static S3Object object(String key, long size) {
+        return S3Object.builder().key(key).size(size).build();
+    }
+
+    @Test
+    public void splitsALargeObjectAcrossPollsUnderTheBatchSize() {
+        PollBatcher batcher = new PollBatcher(10);
+        List<SourceRecord> objectRecords = records(25);
+
+        List<SourceRecord> first = new ArrayList<>();
+        assertEquals(1000, batcher.add(objectRecords, 2500, first, Long.MAX_VALUE));
+        assertEquals(objectRecords.subList(0, 10), first);
+        assertTrue(batcher.hasPending());
+        assertEquals(15, batcher.getPendingCount());
+
+        assertEquals(objectRecords.subList(10, 20), batcher.nextPending(Long.MAX_VALUE));
+        assertEquals(objectRecords.subList(20, 25), batcher.nextPending(Long.MAX_VALUE));
+        assertFalse(batcher.hasPending());
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    public void splitsALargeObjectAcrossPollsUnderTheByteLimit() {
+        PollBatcher batcher = new PollBatcher(1000);
+        List<SourceRecord> objectRecords = records(10);
+
+        // Each record stands for 100 bytes
+        List<SourceRecord> first = new ArrayList<>();
+        first.addAll(records(1));
+        assertEquals(300, batcher.add(objectRecords, 1000, first, 350));
+        assertEquals(4, first.size());
+
+        assertEquals(objectRecords.subList(3, 7), batcher.nextPending(400));
+        // A poll always returns at least one record
+        assertEquals(objectRecords.subList(7, 8), batcher.nextPending(10));
+        assertEquals(objectRecords.subList(8, 10), batcher.nextPending(1000));
+    }
+
+    @Test
+    public void addsNothingToAFullPoll() {
+        PollBatcher batcher = new PollBatcher(1000);
+        List<SourceRecord> poll = records(1);
+
+        assertEquals(0, batcher.add(records(5), 500, poll, 0));
+        assertEquals(1, poll.size());
+        assertEquals(5, batcher.nextPending(1000).size());
+    }
+
+    @Test
+    public void takesObjectsThatFitWhole() {
+        PollBatcher batcher = new PollBatcher(1000);
+        List<SourceRecord> poll = new ArrayList<>();
+
+        assertEquals(500, batcher.add(records(5), 500, poll, 1000));
+        assertEquals(0, batcher.add(records(0), 100, poll, 500));
+        assertEquals(5, poll.size());
+        assertFalse(batcher.hasPending());
+    }
+
+    @Test
+    public void stopsRunsOfSmallObjectsAtTheByteLimit() {
+        List<S3Object> objects = Arrays.asList(object("a", 40), object("b", 40), object("c", 40),
+                object("d", 40), object("e", 40));
+
+        // The run stops once its size reaches the room left in the poll
+        assertEquals(3, PollBatcher.smallRunEnd(objects, 0, 100, object -> true));
+        assertEquals(4, PollBatcher.smallRunEnd(objects, 1, 100, object -> true));
+        assertEquals(5, PollBatcher.smallRunEnd(objects, 0, 1000, object -> true));
+        // The first object is taken even without room
+        assertEquals(1, PollBatcher.smallRunEnd(objects, 0, 0, object -> true));
+        // And the run stops at the first large object
+        assertEquals(2, PollBatcher.smallRunEnd(objects, 0, 1000, object -> !"c".equals(object.key())));
+    }
+}
@@ -0,0 +1,98 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RecordFilterTest {
+
+    private static List<Map<String, Object>> parse(String content, String... overrides) {
+        try (FileFormatParser parser = new FileFormatParser(TestConfigs.config(overrides))) {
+            return parser.parse(content.getBytes(StandardCharsets.UTF_8), "object");
+        }
+    }
+
+    @Test
+    public void compilesToNullWithoutProjectionOrFilter() {
+        assertNull(RecordFilter.compile(TestConfigs.config()));
+    }
+
+    @Test
+    public void keepsKeyAndPartitionFieldsOfAProjection() {
+        RecordFilter filter = RecordFilter.compile(TestConfigs.config(
+                "record.fields", "name", "key.field", "id", "partition.field", "region"));
+
+        assertEquals(new HashSet<>(Arrays.asList("name", "id", "region")), filter.getFields());
+        assertFalse(filter.keeps("amount"));
+    }
+
+    @Test
+    public void readsFilteredFieldsThatAreNotKept() {
+        RecordFilter filter = RecordFilter.compile(TestConfigs.config(
+                "record.fields", "name", "record.filter", "amount >= 100"));
+
+        assertTrue(filter.reads("amount"));
+        assertFalse(filter.keeps("amount"));
+        assertFalse(filter.reads("other"));
+    }
+
+    @Test
+    public void comparesNumericValuesNumericallyAndOthersAsStrings() {
+        RecordFilter filter = RecordFilter.compile(TestConfigs.config("record.filter", "amount >= 100"));
+
+        assertFalse(filter.test("amount", 99));
+        assertTrue(filter.test("amount", 100.0));
+        assertFalse(filter.test("amount", "99.5"));
+        // Not a number, so compared as a string
+        assertTrue(filter.test("amount", "n/a"));
+        assertTrue(filter.test("amount", true));
+    }
+
+    @Test
+    public void rejectsMissingFields() {
+        RecordFilter filter = RecordFilter.compile(TestConfigs.config("record.filter", "type = purchase"));
+
+        assertFalse(filter.test("type", null));
+        assertFalse(filter.matchesSingleField("other", "purchase"));
+        assertTrue(filter.matchesSingleField("type", "purchase"));
+    }
+
+    @Test
+    public void dropsJsonRecordsWithoutFilteredField() {
+        List<Map<String, Object>> records = parse(
+                "{\"type\":\"purchase\",\"id\":1}\n{\"id\":2}\n{\"type\":null,\"id\":3}\n",
+                "file.format", "json", "record.filter", "type = purchase");
+
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).get("id"));
+    }
+
+    @Test
+    public void projectsCsvColumns() {
+        List<Map<String, Object>> records = parse("id,name,amount\n1,alice,150\n2,bob,20\n3,carol\n",
+                "file.format", "csv", "csv.header", "true", "record.fields", "name", "record.filter", "amount >= 100");
+
+        assertEquals(1, records.size());
+        assertEquals("alice", records.get(0).get("name"));
+        assertEquals(1, records.get(0).size());
+    }
+
+    @Test
+    public void projectsCsvColumnsWithoutHeader() {
+        List<Map<String, Object>> records = parse("1,alice,150\n2,bob,20\n",
+                "file.format", "csv", "csv.header", "false", "record.fields", "column_1");
+
+        assertEquals(2, records.size());
+        assertEquals("bob", records.get(1).get("column_1"));
+        assertEquals(1, records.get(1).size());
+    }
+}
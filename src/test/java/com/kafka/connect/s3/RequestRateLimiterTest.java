@@ -0,0 +1,82 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class RequestRateLimiterTest {
+
+    private static long millisToAcquire(RequestRateLimiter limiter, int permits) throws InterruptedException {
+        long start = System.nanoTime();
+        for (int i = 0; i < permits; i++) {
+            limiter.acquire();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    public void doesNotLimitWithoutARate() throws InterruptedException {
+        assertTrue(millisToAcquire(new RequestRateLimiter(0), 100000) < 500);
+        assertTrue(millisToAcquire(new RequestRateLimiter(-1), 100000) < 500);
+    }
+
+    @Test
+    public void allowsABurstOfOneSecondOfPermits() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(50);
+
+        assertTrue(millisToAcquire(limiter, 50) < 100);
+    }
+
+    @Test
+    public void spacesOutPermitsBeyondTheBurst() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(50);
+        millisToAcquire(limiter, 50);
+
+        // 10 permits at 50 per second take 200 ms
+        long elapsed = millisToAcquire(limiter, 10);
+        assertTrue("Took " + elapsed + " ms", elapsed >= 150 && elapsed < 1000);
+    }
+
+    @Test
+    public void refillsUpToOneSecondOfPermits() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(50);
+        millisToAcquire(limiter, 50);
+        Thread.sleep(1500);
+
+        // Idle time beyond one second earns no extra permits
+        assertTrue(millisToAcquire(limiter, 50) < 100);
+        long elapsed = millisToAcquire(limiter, 5);
+        assertTrue("Took " + elapsed + " ms", elapsed >= 50);
+    }
+
+    @Test
+    public void sharesTheRateBetweenThreads() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(50);
+        millisToAcquire(limiter, 50);
+
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    millisToAcquire(limiter, 5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 20 permits in total take 400 ms, not the 100 ms of one thread's share
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Took " + elapsed + " ms", elapsed >= 300);
+    }
+}
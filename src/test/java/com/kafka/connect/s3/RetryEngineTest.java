@@ -0,0 +1,169 @@
+package com.kafka.connect.s3;
+
+import org.junit.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryEngineTest {
+
+    private static RetryEngine engine(String... overrides) {
+        return new RetryEngine(TestConfigs.config(overrides), S3SourceMetrics.unregistered());
+    }
+
+    private static RetryEngine fastEngine(int maxRetries, int budgetTokens) {
+        return engine("max.retries", Integer.toString(maxRetries),
+                "retry.budget.tokens", Integer.toString(budgetTokens),
+                "retry.backoff.ms", "1", "retry.throttle.backoff.ms", "1", "retry.backoff.max.ms", "1");
+    }
+
+    private static AwsServiceException slowDown() {
+        return AwsServiceException.builder().statusCode(503)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("SlowDown").build()).build();
+    }
+
+    @Test
+    public void retriesTransientFailuresUntilSuccess() {
+        RetryEngine engine = fastEngine(3, 500);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = engine.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw SdkClientException.create("connection reset");
+            }
+            return "ok";
+        }, "GET", "key");
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void stopsWhenBudgetIsExhausted() {
+        // Two retries at 5 tokens each fit, the third does not
+        RetryEngine engine = fastEngine(100, 2 * RetryEngine.RETRY_COST + 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            engine.execute(() -> {
+                calls.incrementAndGet();
+                throw SdkClientException.create("connection reset");
+            }, "GET", "key");
+            fail("Expected the retry budget to run out");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Retry budget exhausted"));
+        }
+        assertEquals(3, calls.get());
+        assertEquals(1, engine.availableTokens());
+    }
+
+    @Test
+    public void throttlingCostsMoreTokens() {
+        RetryEngine engine = fastEngine(100, RetryEngine.THROTTLE_RETRY_COST + RetryEngine.RETRY_COST);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            engine.execute(() -> {
+                calls.incrementAndGet();
+                throw slowDown();
+            }, "LIST", null);
+            fail("Expected the retry budget to run out");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Retry budget exhausted"));
+        }
+        assertEquals(2, calls.get());
+        assertEquals(RetryEngine.RETRY_COST, engine.availableTokens());
+    }
+
+    @Test
+    public void successAfterRetryRefundsItsCost() {
+        RetryEngine engine = fastEngine(3, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        engine.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw SdkClientException.create("connection reset");
+            }
+            return null;
+        }, "GET", "key");
+
+        assertEquals(100, engine.availableTokens());
+    }
+
+    @Test
+    public void refundsNeverExceedCapacity() {
+        RetryEngine engine = fastEngine(3, 10);
+        for (int i = 0; i < 5; i++) {
+            engine.execute(() -> null, "GET", "key");
+        }
+        assertEquals(10, engine.availableTokens());
+    }
+
+    @Test
+    public void doesNotRetryClientErrors() {
+        RetryEngine engine = fastEngine(3, 500);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            engine.execute(() -> {
+                calls.incrementAndGet();
+                throw AwsServiceException.builder().statusCode(403).build();
+            }, "GET", "key");
+            fail("Expected the error to propagate");
+        } catch (AwsServiceException e) {
+            assertEquals(403, e.statusCode());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(500, engine.availableTokens());
+    }
+
+    @Test
+    public void failsAfterMaxRetries() {
+        RetryEngine engine = fastEngine(2, 500);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            engine.execute(() -> {
+                calls.incrementAndGet();
+                throw SdkClientException.create("connection reset");
+            }, "GET", "key");
+            fail("Expected the retries to run out");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("after 3 attempts"));
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void backoffStaysWithinBaseAndCap() {
+        RetryEngine engine = engine("retry.backoff.ms", "100", "retry.throttle.backoff.ms", "500",
+                "retry.backoff.max.ms", "1000");
+        long previous = 100;
+        for (int i = 0; i < 1000; i++) {
+            long backoff = engine.nextBackoffMs(previous, false);
+            assertTrue("backoff " + backoff, backoff >= 100 && backoff <= Math.min(1000, previous * 3));
+            previous = backoff;
+        }
+        for (int i = 0; i < 1000; i++) {
+            long backoff = engine.nextBackoffMs(previous, true);
+            assertTrue("throttled backoff " + backoff, backoff >= 500 && backoff <= 1000);
+            previous = backoff;
+        }
+    }
+
+    @Test
+    public void configuredCapOverridesLargerBaseDelays() {
+        RetryEngine engine = engine("retry.backoff.ms", "1000", "retry.throttle.backoff.ms", "5000",
+                "retry.backoff.max.ms", "200");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(200, engine.nextBackoffMs(200, false));
+            assertEquals(200, engine.nextBackoffMs(200, true));
+        }
+    }
+}
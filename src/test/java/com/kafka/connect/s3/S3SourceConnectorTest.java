@@ -0,0 +1,42 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.ConnectorTransactionBoundaries;
+import org.apache.kafka.connect.source.ExactlyOnceSupport;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class S3SourceConnectorTest {
+
+    private static Map<String, String> props(String readMode) {
+        Map<String, String> props = new HashMap<>();
+        props.put(S3SourceConnectorConfig.S3_BUCKET_NAME_CONFIG, "test-bucket");
+        props.put(S3SourceConnectorConfig.TOPIC_CONFIG, "test-topic");
+        if (readMode != null) {
+            props.put(S3SourceConnectorConfig.READ_MODE_CONFIG, readMode);
+        }
+        return props;
+    }
+
+    @Test
+    public void supportsExactlyOnceInIncrementalModeOnly() {
+        S3SourceConnector connector = new S3SourceConnector();
+
+        assertEquals(ExactlyOnceSupport.SUPPORTED, connector.exactlyOnceSupport(props("incremental")));
+        assertEquals(ExactlyOnceSupport.UNSUPPORTED, connector.exactlyOnceSupport(props("full")));
+        // full is the default read mode
+        assertEquals(ExactlyOnceSupport.UNSUPPORTED, connector.exactlyOnceSupport(props(null)));
+    }
+
+    @Test
+    public void definesTransactionBoundaries() {
+        S3SourceConnector connector = new S3SourceConnector();
+
+        assertEquals(ConnectorTransactionBoundaries.SUPPORTED, connector.canDefineTransactionBoundaries(props("incremental")));
+        assertEquals(ConnectorTransactionBoundaries.SUPPORTED, connector.canDefineTransactionBoundaries(Collections.emptyMap()));
+    }
+}
@@ -0,0 +1,196 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceConnectorContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ShardMonitorTest {
+
+    /**
+     * Lists the shards and sizes set by the test instead of calling S3
+     */
+    private static class StubClient extends S3ClientWrapper {
+        // Shard prefix to size in bytes; null fails the listing
+        Map<String, Long> shards = new TreeMap<>();
+
+        StubClient() {
+            super(TestConfigs.config());
+        }
+
+        @Override
+        public List<ListingPrefix> listShards(PartitionFilter filter) {
+            if (shards == null) {
+                throw SdkClientException.create("S3 unavailable");
+            }
+            List<ListingPrefix> prefixes = new ArrayList<>();
+            for (String shard : shards.keySet()) {
+                prefixes.add(new ListingPrefix(shard, null));
+            }
+            return prefixes;
+        }
+
+        @Override
+        public PrefixStats measurePrefix(ListingPrefix listingPrefix, Consumer<List<S3Object>> pages) {
+            return new PrefixStats(0, shards.get(listingPrefix.getPrefix()));
+        }
+    }
+
+    private static class CountingContext implements SourceConnectorContext {
+        int reconfigurations;
+
+        @Override
+        public OffsetStorageReader offsetStorageReader() {
+            return null;
+        }
+
+        @Override
+        public void requestTaskReconfiguration() {
+            reconfigurations++;
+        }
+
+        @Override
+        public void raiseError(Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private final StubClient client = new StubClient();
+    private final CountingContext context = new CountingContext();
+    private S3SourceConnectorMetrics metrics;
+    private ShardMonitor monitor;
+
+    private static Map<String, Long> weights(Object... shardWeights) {
+        Map<String, Long> weights = new TreeMap<>();
+        for (int i = 0; i + 1 < shardWeights.length; i += 2) {
+            weights.put((String) shardWeights[i], ((Number) shardWeights[i + 1]).longValue());
+        }
+        return weights;
+    }
+
+    private ShardMonitor monitor() {
+        monitor = new ShardMonitor(TestConfigs.config("tasks.max", "2", "shard.monitor.interval.ms", "0"),
+                context, metrics, client);
+        return monitor;
+    }
+
+    @Before
+    public void setUp() {
+        metrics = new S3SourceConnectorMetrics("shard-monitor-test");
+    }
+
+    @After
+    public void tearDown() {
+        if (monitor != null) {
+            monitor.close();
+        }
+        metrics.close();
+    }
+
+    @Test
+    public void balancesSkewedWeightsHeaviestFirst() {
+        assertEquals(Arrays.asList(Collections.singletonList("a/"), Arrays.asList("b/", "c/", "d/", "e/")),
+                ShardMonitor.balance(weights("a/", 100, "b/", 10, "c/", 10, "d/", 10, "e/", 10), 2));
+        assertEquals(Arrays.asList(Arrays.asList("a/", "d/"), Arrays.asList("b/", "c/")),
+                ShardMonitor.balance(weights("a/", 60, "b/", 50, "c/", 40, "d/", 30), 2));
+    }
+
+    @Test
+    public void leavesOutTasksWithoutShards() {
+        assertEquals(Arrays.asList(Collections.singletonList("b/"), Collections.singletonList("a/")),
+                ShardMonitor.balance(weights("a/", 1, "b/", 2), 5));
+        assertEquals(Collections.singletonList(Collections.emptyList()), ShardMonitor.balance(weights(), 3));
+    }
+
+    @Test
+    public void requestsReconfigurationOnceWhenShardsAreAdded() {
+        client.shards = weights("a/", 10, "b/", 10);
+        ShardMonitor monitor = monitor();
+        monitor.assign(2);
+
+        monitor.refresh();
+        assertEquals(0, context.reconfigurations);
+
+        client.shards.put("c/", 10L);
+        monitor.refresh();
+        monitor.refresh();
+        assertEquals(1, context.reconfigurations);
+
+        assertEquals(2, monitor.assign(2).size());
+        monitor.refresh();
+        assertEquals(1, context.reconfigurations);
+    }
+
+    @Test
+    public void requestsReconfigurationOnceWhenShardsAreRemoved() {
+        client.shards = weights("a/", 10, "b/", 10, "c/", 10);
+        ShardMonitor monitor = monitor();
+        monitor.assign(2);
+
+        client.shards.remove("b/");
+        monitor.refresh();
+        monitor.refresh();
+        assertEquals(1, context.reconfigurations);
+    }
+
+    @Test
+    public void requestsReconfigurationOnceWhenTheImbalanceRatioIsExceeded() {
+        client.shards = weights("a/", 0, "b/", 0, "c/", 0, "d/", 0);
+        ShardMonitor monitor = monitor();
+        // Equal weights at startup: [a/, c/] and [b/, d/]
+        assertEquals(Arrays.asList(Arrays.asList("a/", "c/"), Arrays.asList("b/", "d/")), monitor.assign(2));
+
+        // 1400 against 1000 when rebalanced stays under the default ratio of 1.5
+        client.shards = weights("a/", 1000, "b/", 0, "c/", 400, "d/", 0);
+        monitor.refresh();
+        assertEquals(0, context.reconfigurations);
+
+        client.shards = weights("a/", 1000, "b/", 0, "c/", 1000, "d/", 0);
+        monitor.refresh();
+        monitor.refresh();
+        assertEquals(1, context.reconfigurations);
+        // Empty shards go to the first of equally loaded tasks
+        assertEquals(Arrays.asList(Arrays.asList("a/", "b/", "d/"), Collections.singletonList("c/")), monitor.assign(2));
+    }
+
+    @Test
+    public void doesNotRequestReconfigurationBeforeTheFirstAssignment() {
+        client.shards = weights("a/", 10);
+        ShardMonitor monitor = monitor();
+
+        client.shards.put("b/", 10L);
+        monitor.refresh();
+        assertEquals(0, context.reconfigurations);
+    }
+
+    @Test
+    public void fallsBackToASingleTaskWhenShardsCannotBeListedAtStartup() {
+        client.shards = null;
+        ShardMonitor monitor = monitor();
+        assertNull(monitor.assign(2));
+
+        // A failed measurement keeps the single task
+        monitor.refresh();
+        assertEquals(0, context.reconfigurations);
+
+        client.shards = weights("a/", 10, "b/", 10);
+        monitor.refresh();
+        monitor.refresh();
+        assertEquals(1, context.reconfigurations);
+        assertEquals(Arrays.asList(Collections.singletonList("a/"), Collections.singletonList("b/")), monitor.assign(2));
+    }
+}
@@ -0,0 +1,124 @@
+package com.kafka.connect.s3;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SmallObjectFetcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Serves every key with its own name as content, remembering the buffers it was given
+     */
+    private static class StubClient extends S3ClientWrapper {
+        final List<byte[]> buffers = Collections.synchronizedList(new ArrayList<>());
+
+        StubClient() {
+            super(TestConfigs.config());
+        }
+
+        @Override
+        public ByteBuffer getObjectContent(String key, byte[] buffer) {
+            buffers.add(buffer);
+            byte[] content = key.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(content, 0, buffer, 0, content.length);
+            return ByteBuffer.wrap(buffer, 0, content.length);
+        }
+    }
+
+    private final StubClient client = new StubClient();
+    private SmallObjectFetcher fetcher;
+
+    private SmallObjectFetcher fetcher(ObjectCache cache) {
+        fetcher = new SmallObjectFetcher(client, cache, S3SourceMetrics.unregistered(), TestConfigs.config(
+                "small.object.threshold.bytes", "64", "small.object.fetch.concurrency", "4"));
+        return fetcher;
+    }
+
+    private static S3Object object(String key, String etag) {
+        return S3Object.builder().key(key).eTag(etag).size(16L).build();
+    }
+
+    private static String read(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() {
+        fetcher.close();
+    }
+
+    @Test
+    public void reusesBuffersOnceReleased() throws Exception {
+        SmallObjectFetcher fetcher = fetcher(null);
+
+        SmallObjectFetcher.Fetch first = fetcher.submit(object("data/a", "e"));
+        assertEquals("data/a", read(first.get()));
+        first.release();
+        SmallObjectFetcher.Fetch second = fetcher.submit(object("data/b", "e"));
+        assertEquals("data/b", read(second.get()));
+        assertSame(client.buffers.get(0), client.buffers.get(1));
+
+        // The buffer of an unreleased fetch is not handed out again
+        SmallObjectFetcher.Fetch third = fetcher.submit(object("data/c", "e"));
+        assertEquals("data/c", read(third.get()));
+        assertNotSame(client.buffers.get(1), client.buffers.get(2));
+        assertEquals(64, client.buffers.get(2).length);
+    }
+
+    @Test
+    public void clampsConcurrency() {
+        SmallObjectFetcher fetcher = fetcher(null);
+        assertEquals(4, fetcher.getConcurrency());
+        assertEquals(8, fetcher.getWindow());
+
+        fetcher.setConcurrency(0);
+        assertEquals(1, fetcher.getConcurrency());
+        assertEquals(2, fetcher.getWindow());
+
+        fetcher.setConcurrency(10000);
+        assertEquals(SmallObjectFetcher.MAX_CONCURRENCY, fetcher.getConcurrency());
+        assertEquals(SmallObjectFetcher.MAX_CONCURRENCY * 2, fetcher.getWindow());
+
+        fetcher.setConcurrency(16);
+        assertEquals(16, fetcher.getConcurrency());
+    }
+
+    @Test
+    public void servesCachedObjectsWithoutFetchingThem() throws Exception {
+        ObjectCache cache = new ObjectCache(folder.getRoot().getPath(), 1024);
+        SmallObjectFetcher fetcher = fetcher(cache);
+
+        SmallObjectFetcher.Fetch miss = fetcher.submit(object("data/a", "e1"));
+        assertEquals("data/a", read(miss.get()));
+        miss.release();
+        assertEquals(1, client.buffers.size());
+        assertEquals(6, cache.getTotalBytes());
+
+        SmallObjectFetcher.Fetch hit = fetcher.submit(object("data/a", "e1"));
+        assertEquals("data/a", read(hit.get()));
+        hit.release();
+        assertEquals(1, client.buffers.size());
+
+        // A new version is fetched again
+        SmallObjectFetcher.Fetch changed = fetcher.submit(object("data/a", "e2"));
+        assertEquals("data/a", read(changed.get()));
+        assertEquals(2, client.buffers.size());
+    }
+}
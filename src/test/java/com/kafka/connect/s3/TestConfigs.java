@@ -0,0 +1,27 @@
+package com.kafka.connect.s3;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connector configurations for unit tests
+ */
+final class TestConfigs {
+    private TestConfigs() {
+    }
+
+    /**
+     * Minimal configuration plus the given {@code key, value} pairs
+     */
+    static S3SourceConnectorConfig config(String... overrides) {
+        Map<String, String> props = new HashMap<>();
+        props.put(S3SourceConnectorConfig.S3_BUCKET_NAME_CONFIG, "test-bucket");
+        props.put(S3SourceConnectorConfig.TOPIC_CONFIG, "test-topic");
+        props.put(S3SourceConnectorConfig.AWS_ACCESS_KEY_ID_CONFIG, "test");
+        props.put(S3SourceConnectorConfig.AWS_SECRET_ACCESS_KEY_CONFIG, "test");
+        for (int i = 0; i + 1 < overrides.length; i += 2) {
+            props.put(overrides[i], overrides[i + 1]);
+        }
+        return new S3SourceConnectorConfig(props);
+    }
+}
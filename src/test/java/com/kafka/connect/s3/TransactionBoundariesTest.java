@@ -0,0 +1,156 @@
+package com.kafka.connect.s3;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.TransactionContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TransactionBoundariesTest {
+
+    /**
+     * Records the transaction boundaries requested by the task; {@code null} stands for the
+     * open transaction
+     */
+    private static class RecordingContext implements TransactionContext {
+        final List<SourceRecord> commits = new ArrayList<>();
+
+        @Override
+        public void commitTransaction() {
+            commits.add(null);
+        }
+
+        @Override
+        public void commitTransaction(SourceRecord record) {
+            commits.add(record);
+        }
+
+        @Override
+        public void abortTransaction() {
+            throw new AssertionError("Unexpected abort");
+        }
+
+        @Override
+        public void abortTransaction(SourceRecord record) {
+            throw new AssertionError("Unexpected abort");
+        }
+    }
+
+    private static List<SourceRecord> objectRecords(String key, int count) {
+        List<SourceRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new SourceRecord(Collections.singletonMap("key", key), Collections.singletonMap("record", i),
+                    "test-topic", null, null, i));
+        }
+        return records;
+    }
+
+    private static SourceRecord chunk(boolean complete) {
+        Map<String, Object> offset = Collections.singletonMap("complete", complete);
+        return new SourceRecord(Collections.singletonMap("key", "binary"), offset, "test-topic", null, null, "chunk");
+    }
+
+    @Test
+    public void commitsAfterTheLastRecordOfEachObject() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config());
+        List<SourceRecord> first = objectRecords("a", 3);
+        List<SourceRecord> second = objectRecords("b", 2);
+
+        boundaries.define(first);
+        boundaries.define(second);
+        boundaries.define(Collections.emptyList());
+
+        assertEquals(2, context.commits.size());
+        assertSame(first.get(2), context.commits.get(0));
+        assertSame(second.get(1), context.commits.get(1));
+    }
+
+    @Test
+    public void commitsAnObjectSplitAcrossPollsWithItsLastPoll() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config());
+        PollBatcher batcher = new PollBatcher(4);
+        List<SourceRecord> records = objectRecords("a", 10);
+
+        boundaries.define(records);
+        List<SourceRecord> firstPoll = new ArrayList<>();
+        batcher.add(records, 1000, firstPoll, Long.MAX_VALUE);
+        batcher.nextPending(Long.MAX_VALUE);
+        List<SourceRecord> lastPoll = batcher.nextPending(Long.MAX_VALUE);
+
+        // Only the last record of the object, returned by the last poll, ends the transaction
+        assertEquals(Collections.singletonList(records.get(9)), context.commits);
+        assertSame(records.get(9), lastPoll.get(lastPoll.size() - 1));
+    }
+
+    @Test
+    public void commitsAStreamedBinaryObjectAfterItsLastChunk() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config());
+        SourceRecord last = chunk(true);
+
+        boundaries.define(Collections.singletonList(chunk(false)));
+        boundaries.define(Arrays.asList(chunk(false), last));
+
+        assertEquals(Collections.singletonList(last), context.commits);
+    }
+
+    @Test
+    public void commitsEveryNRecordsAcrossObjects() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config(
+                "transaction.commit.mode", "records", "transaction.commit.records", "4"));
+        List<SourceRecord> first = objectRecords("a", 3);
+        List<SourceRecord> second = objectRecords("b", 6);
+
+        boundaries.define(first);
+        boundaries.define(second);
+
+        assertEquals(2, context.commits.size());
+        assertSame(second.get(0), context.commits.get(0));
+        assertSame(second.get(4), context.commits.get(1));
+    }
+
+    @Test
+    public void commitsTheOpenTransactionAtTheEndOfACycle() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config(
+                "transaction.commit.mode", "records", "transaction.commit.records", "4"));
+
+        boundaries.define(objectRecords("a", 4));
+        // Nothing is left open after a boundary
+        boundaries.commitOpen();
+        assertEquals(1, context.commits.size());
+
+        boundaries.define(objectRecords("b", 2));
+        boundaries.commitOpen();
+        boundaries.commitOpen();
+        assertEquals(2, context.commits.size());
+        assertNull(context.commits.get(1));
+
+        // The count starts over after the open transaction was committed
+        List<SourceRecord> next = objectRecords("c", 4);
+        boundaries.define(next);
+        assertSame(next.get(3), context.commits.get(2));
+    }
+
+    @Test
+    public void leavesNothingOpenPerObject() {
+        RecordingContext context = new RecordingContext();
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, TestConfigs.config());
+
+        boundaries.define(objectRecords("a", 2));
+        boundaries.commitOpen();
+
+        assertEquals(1, context.commits.size());
+    }
+}